@@ -0,0 +1,144 @@
+#!/usr/bin/env bash
+# Throwaway MySQL for DAO benchmarks and load tests (DatabaseConnection profile "local").
+#
+# Runs a private mysqld on 127.0.0.1:3307 with its data under $PAHANAEDU_LOCAL_DB_DIR
+# (default /tmp/pahanaedu-mysql), root without a password. Needs only the mysqld binary -
+# no service, no shared database. Without a system install (apt-get install
+# mysql-server-core-8.0), "download" unpacks the official generic Linux build under
+# $PAHANAEDU_MYSQL_HOME (default ~/.cache/pahanaedu/mysql-$MYSQL_VERSION), which is then
+# used automatically; it needs the libaio and libnuma shared libraries. Set MYSQLD to use
+# any other binary.
+#
+# The download is pinned: its SHA-256 must be listed in scripts/mysql-downloads.sha256
+# (or given as MYSQL_SHA256 together with a different MYSQL_VERSION) and is checked
+# before anything is unpacked.
+#
+#   scripts/local-mysql.sh download download and unpack mysqld (once)
+#   scripts/local-mysql.sh start    initialize on first use and start
+#   scripts/local-mysql.sh stop
+#   scripts/local-mysql.sh reset    stop and delete all data
+#   scripts/local-mysql.sh status
+#
+# Then create the schema and seed data with com.pahanaedu.tools.LocalDatabase and run
+# the webapp or tools with -Dpahanaedu.db.profile=local.
+
+set -euo pipefail
+
+DATA_ROOT="${PAHANAEDU_LOCAL_DB_DIR:-/tmp/pahanaedu-mysql}"
+PORT="${PAHANAEDU_LOCAL_DB_PORT:-3307}"
+MYSQL_VERSION="${MYSQL_VERSION:-8.0.39}"
+MYSQL_HOME="${PAHANAEDU_MYSQL_HOME:-$HOME/.cache/pahanaedu/mysql-$MYSQL_VERSION}"
+MYSQL_ARCHIVE="mysql-$MYSQL_VERSION-linux-glibc2.28-$(uname -m)-minimal"
+MYSQL_URL="${MYSQL_URL:-https://dev.mysql.com/get/Downloads/MySQL-${MYSQL_VERSION%.*}/$MYSQL_ARCHIVE.tar.xz}"
+CHECKSUMS="$(dirname "$0")/mysql-downloads.sha256"
+
+if [[ -z "${MYSQLD:-}" ]]; then
+    if [[ -x "$MYSQL_HOME/bin/mysqld" ]]; then
+        MYSQLD="$MYSQL_HOME/bin/mysqld"
+    else
+        MYSQLD=mysqld
+    fi
+fi
+
+DATA_DIR="$DATA_ROOT/data"
+PID_FILE="$DATA_ROOT/mysqld.pid"
+SOCKET="$DATA_ROOT/mysqld.sock"
+LOG_FILE="$DATA_ROOT/mysqld.log"
+
+# SHA-256 for $MYSQL_ARCHIVE: MYSQL_SHA256, else the pinned list (empty if not listed)
+expected_sha256() {
+    if [[ -n "${MYSQL_SHA256:-}" ]]; then
+        echo "${MYSQL_SHA256,,}"
+    elif [[ -f "$CHECKSUMS" ]]; then
+        awk -v file="$MYSQL_ARCHIVE.tar.xz" '$1 !~ /^#/ && $2 == file { print tolower($1) }' "$CHECKSUMS"
+    fi
+}
+
+is_running() {
+    [[ -f "$PID_FILE" ]] && kill -0 "$(cat "$PID_FILE")" 2>/dev/null
+}
+
+download() {
+    if [[ -x "$MYSQL_HOME/bin/mysqld" ]]; then
+        echo "mysqld already in $MYSQL_HOME"
+        return
+    fi
+    local expected archive actual
+    expected="$(expected_sha256)"
+    if [[ -z "$expected" ]]; then
+        echo "No SHA-256 pinned for $MYSQL_ARCHIVE.tar.xz - add it to $CHECKSUMS or set MYSQL_SHA256" >&2
+        exit 1
+    fi
+    archive="$(mktemp)"
+    echo "Downloading $MYSQL_URL"
+    curl -fL --retry 3 -o "$archive" "$MYSQL_URL"
+    actual="$(sha256sum "$archive" | cut -d' ' -f1)"
+    if [[ "$actual" != "$expected" ]]; then
+        rm -f "$archive"
+        echo "SHA-256 mismatch for $MYSQL_URL: expected $expected, got $actual - not unpacked" >&2
+        exit 1
+    fi
+    mkdir -p "$MYSQL_HOME"
+    tar -xJf "$archive" -C "$MYSQL_HOME" --strip-components=1
+    rm -f "$archive"
+    echo "mysqld installed in $MYSQL_HOME"
+}
+
+start() {
+    if ! command -v "$MYSQLD" >/dev/null; then
+        echo "No mysqld found - run $0 download or set MYSQLD" >&2
+        exit 1
+    fi
+    if is_running; then
+        echo "Local MySQL already running on port $PORT (pid $(cat "$PID_FILE"))"
+        return
+    fi
+
+    mkdir -p "$DATA_ROOT"
+    if [[ ! -d "$DATA_DIR" ]]; then
+        echo "Initializing $DATA_DIR"
+        "$MYSQLD" --no-defaults --initialize-insecure --user="$(id -un)" \
+            --datadir="$DATA_DIR" --log-error="$LOG_FILE"
+    fi
+
+    # Durability off: the data is disposable and benchmarks should measure queries, not fsync.
+    # log_bin_trust_function_creators lets the V3 migration create its stored functions.
+    "$MYSQLD" --no-defaults --user="$(id -un)" --datadir="$DATA_DIR" \
+        --port="$PORT" --bind-address=127.0.0.1 --socket="$SOCKET" --mysqlx=OFF \
+        --pid-file="$PID_FILE" --log-error="$LOG_FILE" \
+        --innodb-flush-log-at-trx-commit=2 --sync-binlog=0 --skip-log-bin \
+        --log-bin-trust-function-creators=ON --max-connections=500 &
+
+    for _ in $(seq 1 60); do
+        if [[ -S "$SOCKET" ]] && is_running; then
+            echo "Local MySQL running on 127.0.0.1:$PORT (data in $DATA_DIR)"
+            return
+        fi
+        sleep 1
+    done
+    echo "mysqld did not start - see $LOG_FILE" >&2
+    exit 1
+}
+
+stop() {
+    if ! is_running; then
+        echo "Local MySQL is not running"
+        return
+    fi
+    local pid
+    pid="$(cat "$PID_FILE")"
+    kill "$pid"
+    while kill -0 "$pid" 2>/dev/null; do
+        sleep 1
+    done
+    echo "Local MySQL stopped"
+}
+
+case "${1:-}" in
+    download) download ;;
+    start)    start ;;
+    stop)     stop ;;
+    reset)    stop; rm -rf "$DATA_ROOT"; echo "Deleted $DATA_ROOT" ;;
+    status)   if is_running; then echo "running on port $PORT (pid $(cat "$PID_FILE"))"; else echo "stopped"; fi ;;
+    *)        echo "Usage: $0 download|start|stop|reset|status" >&2; exit 2 ;;
+esac
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Compile and run the JMH suite in src/jmh/java; results go to build/jmh/*.json.
+#
+# JMH is not shipped in WEB-INF/lib - point JMH_LIB at a directory with
+# jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3
+# (e.g. from Maven Central, org.openjdk.jmh 1.37).
+#
+#   JMH_LIB=~/jmh BENCH_RELEASE=1.4.0 scripts/run-benchmarks.sh
+#   JMH_LIB=~/jmh scripts/run-benchmarks.sh -f 1 -wi 2 -i 3 JsonBenchmark
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+if [[ -z "${JMH_LIB:-}" || ! -d "$JMH_LIB" ]]; then
+    echo "Set JMH_LIB to a directory containing the JMH jars" >&2
+    exit 2
+fi
+
+CLASSES=build/jmh-classes
+CLASSPATH="$(ls src/main/webapp/WEB-INF/lib/*.jar "$JMH_LIB"/*.jar | tr '\n' ':')"
+
+rm -rf "$CLASSES"
+mkdir -p "$CLASSES"
+# The annotation processor generates the benchmark stubs and META-INF/BenchmarkList
+javac -encoding UTF-8 -nowarn -d "$CLASSES" -cp "$CLASSPATH" \
+    $(find src/main/java src/jmh/java -name '*.java')
+
+java -Dbench.release="${BENCH_RELEASE:-snapshot}" -cp "$CLASSES:$CLASSPATH" \
+    com.pahanaedu.bench.BenchmarkRunner "$@"
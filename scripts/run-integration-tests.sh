@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Compile and run the DAO integration tests in src/it/java against the throwaway local
+# MySQL (bill allocator, batched checkout, keyset pages, migrations).
+#
+# Starts scripts/local-mysql.sh if it is not running (run "scripts/local-mysql.sh download"
+# first on a machine without mysqld); the tests migrate and seed it through LocalDatabase
+# and add their own books and bills, so use "scripts/local-mysql.sh reset" for a clean run.
+#
+#   scripts/run-integration-tests.sh
+#   scripts/run-integration-tests.sh BillNumberAllocatorIT KeysetPageIT
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+scripts/local-mysql.sh start
+
+CLASSES=build/it-classes
+CLASSPATH="$(ls src/main/webapp/WEB-INF/lib/*.jar | tr '\n' ':')"
+
+rm -rf "$CLASSES"
+mkdir -p "$CLASSES"
+javac -encoding UTF-8 -nowarn -d "$CLASSES" -cp "$CLASSPATH" \
+    $(find src/main/java src/it/java -name '*.java')
+# SchemaMigrator loads its .sql scripts from the classpath, next to the classes
+(cd src/main/java && find . -name '*.sql' -exec cp --parents {} "$OLDPWD/$CLASSES" \;)
+
+java -Dpahanaedu.db.profile=local -cp "$CLASSES:$CLASSPATH" \
+    com.pahanaedu.it.IntegrationTestRunner "$@"
@@ -0,0 +1,106 @@
+// File: src/it/java/com/pahanaedu/dao/BillCheckoutIT.java
+package com.pahanaedu.dao;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.pahanaedu.it.Check;
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Book;
+import com.pahanaedu.models.User;
+import com.pahanaedu.tools.LocalDatabase;
+
+/**
+ * BillDAO.createBill's batched checkout: one stock UPDATE per book (repeated lines
+ * merged), all items in one batch, and concurrent checkouts over the same books in
+ * opposite line order without deadlocks or lost stock updates.
+ */
+public class BillCheckoutIT {
+    
+    private final BillDAO billDAO = new BillDAO();
+    private final BookDAO bookDAO = new BookDAO();
+    
+    public void testCheckoutWritesItemsAndMergesStockPerBook() throws SQLException {
+        Book first = createBook(10);
+        Book second = createBook(10);
+        
+        Bill bill = newBill(item(first, 2), item(second, 1), item(first, 3));
+        Check.isTrue(billDAO.createBill(bill), "bill created");
+        
+        Bill saved = billDAO.getBillByBillNoWithItems(bill.getBillNo());
+        Check.isTrue(saved != null, "bill " + bill.getBillNo() + " readable");
+        Check.equal(3, saved.getItems().size(), "bill items");
+        Check.equal(0, new BigDecimal("66.00").compareTo(saved.getTotalAmount()),
+                    "total with tax, was " + saved.getTotalAmount());
+        Check.equal(5L, stock(first), "stock of the book on two lines");
+        Check.equal(9L, stock(second), "stock of the other book");
+    }
+    
+    public void testConcurrentCheckoutsKeepStockConsistent() throws Exception {
+        int checkouts = 12;
+        Book first = createBook(checkouts);
+        Book second = createBook(checkouts);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < checkouts; i++) {
+                // Half of the bills list the books in the opposite order
+                boolean reversed = i % 2 == 1;
+                results.add(executor.submit(() -> billDAO.createBill(reversed
+                        ? newBill(item(second, 1), item(first, 1))
+                        : newBill(item(first, 1), item(second, 1)))));
+            }
+            for (Future<Boolean> result : results) {
+                Check.isTrue(result.get(), "concurrent checkout committed");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        Check.equal(0L, stock(first), "stock after concurrent checkouts");
+        Check.equal(0L, stock(second), "stock after concurrent checkouts");
+    }
+    
+    private Book createBook(int stock) {
+        Book book = new Book("IT Book " + System.nanoTime(), "Integration Test", 0,
+                             new BigDecimal("10.00"), stock, "Created by BillCheckoutIT");
+        Check.isTrue(bookDAO.createBook(book, Collections.emptyList()), "book created");
+        Check.isTrue(book.getId() > 0, "book ID assigned");
+        return book;
+    }
+    
+    private static BillItem item(Book book, int quantity) {
+        return new BillItem(book.getId(), book.getTitle(), book.getReferenceNo(), book.getPrice(), quantity);
+    }
+    
+    private static Bill newBill(BillItem... items) {
+        User cashier = cashier();
+        Bill bill = new Bill();
+        bill.setCashierId(cashier.getId());
+        bill.setCashierName(cashier.getFirstName() + " " + cashier.getLastName());
+        bill.setItems(new ArrayList<>(List.of(items)));
+        return bill;
+    }
+    
+    private static User cashier() {
+        for (User user : new UserDAO().getUsersByRole(User.ROLE_CASHIER)) {
+            if (LocalDatabase.CASHIER_EMAIL.equals(user.getEmail())) {
+                return user;
+            }
+        }
+        throw new AssertionError("seeded cashier " + LocalDatabase.CASHIER_EMAIL + " missing");
+    }
+    
+    // Straight from the table - the DAO's book caches are not under test here
+    private static long stock(Book book) throws SQLException {
+        return Check.queryLong("SELECT stock FROM books WHERE id = ?", book.getId());
+    }
+}
@@ -0,0 +1,87 @@
+// File: src/it/java/com/pahanaedu/dao/BillNumberAllocatorIT.java
+package com.pahanaedu.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.pahanaedu.it.Check;
+
+/**
+ * Bill numbers from BillNumberAllocator against the bill_sequences table: unique under
+ * concurrency, dated by the database, and never inside a block another node reserved.
+ */
+public class BillNumberAllocatorIT {
+    
+    private static final int THREADS = 8;
+    private static final int NUMBERS_PER_THREAD = 200;
+    private static final int BLOCK_SIZE = 50;
+    
+    private final BillNumberAllocator allocator = BillNumberAllocator.getInstance();
+    
+    public void testConcurrentNumbersAreUnique() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> numbers = new ArrayList<>();
+                    for (int i = 0; i < NUMBERS_PER_THREAD; i++) {
+                        numbers.add(allocator.nextBillNumber());
+                    }
+                    return numbers;
+                }));
+            }
+            
+            Set<String> unique = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                unique.addAll(future.get());
+            }
+            Check.equal(THREADS * NUMBERS_PER_THREAD, unique.size(), "distinct bill numbers");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    public void testNumbersUseDatabaseDayAndStayBelowSequence() throws SQLException {
+        String prefix = "BILL" + Check.queryString("SELECT DATE_FORMAT(CURDATE(), '%Y%m%d')");
+        
+        int highest = 0;
+        for (int i = 0; i < BLOCK_SIZE + 1; i++) {
+            String billNo = allocator.nextBillNumber();
+            Check.isTrue(billNo.startsWith(prefix), billNo + " should start with " + prefix);
+            highest = Math.max(highest, suffix(billNo));
+        }
+        
+        long nextValue = Check.queryLong("SELECT next_value FROM bill_sequences WHERE seq_date = CURDATE()");
+        Check.isTrue(highest < nextValue, "issued " + highest + " but bill_sequences is at " + nextValue);
+    }
+    
+    public void testSkipsBlockReservedByAnotherNode() throws SQLException {
+        allocator.nextBillNumber(); // make sure today's row exists
+        
+        // Another node reserving a block
+        int advanced = Check.update(
+                "UPDATE bill_sequences SET next_value = next_value + ? WHERE seq_date = CURDATE()", BLOCK_SIZE);
+        Check.equal(1, advanced, "sequence rows advanced");
+        long foreignEnd = Check.queryLong("SELECT next_value FROM bill_sequences WHERE seq_date = CURDATE()");
+        long foreignStart = foreignEnd - BLOCK_SIZE;
+        
+        // Enough to use up the current block and reserve at least two more
+        for (int i = 0; i < BLOCK_SIZE * 3; i++) {
+            String billNo = allocator.nextBillNumber();
+            int value = suffix(billNo);
+            Check.isTrue(value < foreignStart || value >= foreignEnd,
+                         billNo + " falls inside the other node's block [" + foreignStart + ", " + foreignEnd + ")");
+        }
+    }
+    
+    private static int suffix(String billNo) {
+        return Integer.parseInt(billNo.substring("BILLyyyyMMdd".length()));
+    }
+}
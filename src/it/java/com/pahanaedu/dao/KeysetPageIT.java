@@ -0,0 +1,115 @@
+// File: src/it/java/com/pahanaedu/dao/KeysetPageIT.java
+package com.pahanaedu.dao;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.pahanaedu.it.Check;
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.Book;
+import com.pahanaedu.models.Page;
+import com.pahanaedu.utils.PageCursor;
+
+/**
+ * Keyset pagination (getBooksPage, getBillsPage): walking every page with the returned
+ * cursors visits each row exactly once, in sort order. Small pages so the walk crosses
+ * many page boundaries even on the seeded data.
+ */
+public class KeysetPageIT {
+    
+    private static final int PAGE_SIZE = 7;
+    
+    private final BookDAO bookDAO = new BookDAO();
+    private final BillDAO billDAO = new BillDAO();
+    
+    public void testBookPagesVisitEveryBookOnce() throws SQLException {
+        Set<Integer> seen = new HashSet<>();
+        int previousId = Integer.MAX_VALUE;
+        String cursor = null;
+        
+        do {
+            Page<Book> page = bookDAO.getBooksPage(PageCursor.decode(cursor), PAGE_SIZE, false);
+            Check.isTrue(page.getItems().size() <= PAGE_SIZE, "page size " + page.getItems().size());
+            for (Book book : page.getItems()) {
+                Check.isTrue(book.getId() < previousId, "book " + book.getId() + " after " + previousId);
+                Check.isTrue(seen.add(book.getId()), "book " + book.getId() + " on two pages");
+                previousId = book.getId();
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        Check.equal(Check.queryLong("SELECT COUNT(*) FROM books"), (long) seen.size(), "books visited");
+    }
+    
+    public void testBillPagesVisitEveryBillOnce() throws SQLException {
+        ensureBills(PAGE_SIZE * 3);
+        
+        Set<Integer> seen = new HashSet<>();
+        Bill previous = null;
+        String cursor = null;
+        
+        do {
+            Page<Bill> page = billDAO.getBillsPage(null, PageCursor.decodeTimed(cursor), PAGE_SIZE);
+            for (Bill bill : page.getItems()) {
+                if (previous != null) {
+                    int order = bill.getCreatedAt().compareTo(previous.getCreatedAt());
+                    Check.isTrue(order < 0 || (order == 0 && bill.getId() < previous.getId()),
+                                 "bill " + bill.getId() + " out of (created_at, id) order");
+                }
+                Check.isTrue(seen.add(bill.getId()), "bill " + bill.getId() + " on two pages");
+                previous = bill;
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        Check.equal(Check.queryLong("SELECT COUNT(*) FROM bills"), (long) seen.size(), "bills visited");
+    }
+    
+    public void testCashierBillPagesOnlyShowThatCashier() throws SQLException {
+        ensureBills(PAGE_SIZE * 2);
+        int cashierId = (int) Check.queryLong("SELECT cashier_id FROM bills ORDER BY id DESC LIMIT 1");
+        
+        int visited = 0;
+        String cursor = null;
+        do {
+            Page<Bill> page = billDAO.getBillsPage(cashierId, PageCursor.decodeTimed(cursor), PAGE_SIZE);
+            for (Bill bill : page.getItems()) {
+                Check.equal(cashierId, bill.getCashierId(), "cashier of bill " + bill.getId());
+                visited++;
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        Check.equal(Check.queryLong("SELECT COUNT(*) FROM bills WHERE cashier_id = ?", cashierId),
+                    (long) visited, "bills of cashier " + cashierId);
+    }
+    
+    public void testBillCursorWithoutTimestampIsRejected() {
+        // A books cursor (":id") or a hand-made one must not reach the created_at seek
+        String idOnly = new PageCursor(null, 42).encode();
+        for (String token : new String[] {idOnly, "bm90LWEtY3Vyc29y", "%%%"}) {
+            try {
+                PageCursor.decodeTimed(token);
+                throw new AssertionError("accepted bills cursor " + token);
+            } catch (IllegalArgumentException expected) {
+                // Servlets answer 400
+            }
+        }
+    }
+    
+    // Bills inserted within the same second share created_at, which exercises the id tie-break
+    private static void ensureBills(int count) throws SQLException {
+        long missing = count - Check.queryLong("SELECT COUNT(*) FROM bills");
+        if (missing <= 0) {
+            return;
+        }
+        int cashierId = (int) Check.queryLong("SELECT id FROM users WHERE role = 'CASHIER' ORDER BY id LIMIT 1");
+        for (long i = 0; i < missing; i++) {
+            Check.update("INSERT INTO bills (bill_no, cashier_id, cashier_name, subtotal, tax_amount, total_amount, " +
+                         "payment_method, payment_status, bill_date, bill_time) " +
+                         "VALUES (?, ?, 'Integration Test', 0, 0, 0, 'CASH', 'COMPLETED', CURDATE(), CURTIME())",
+                         BillNumberAllocator.getInstance().nextBillNumber(), cashierId);
+        }
+    }
+}
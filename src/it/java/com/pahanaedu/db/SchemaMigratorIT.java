@@ -0,0 +1,56 @@
+// File: src/it/java/com/pahanaedu/db/SchemaMigratorIT.java
+package com.pahanaedu.db;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.pahanaedu.it.Check;
+
+/**
+ * Migrations against a real MySQL: the runner has already migrated the database once
+ * (LocalDatabase.prepare), so these check the resulting schema and that a second run
+ * is a no-op.
+ */
+public class SchemaMigratorIT {
+    
+    private static final int LATEST_VERSION = 5;
+    
+    public void testSecondRunAppliesNothing() throws SQLException {
+        SchemaMigrator.MigrationResult result = SchemaMigrator.migrate();
+        
+        Check.isTrue(result != null, "database reachable");
+        Check.equal(0, result.applied.size(), "migrations applied on the second run " + result.applied);
+        Check.equal(LATEST_VERSION, result.currentVersion, "schema version");
+    }
+    
+    public void testHistoryRecordsEveryVersion() {
+        List<SchemaMigrator.AppliedMigration> history = SchemaMigrator.getHistory();
+        
+        Check.equal(LATEST_VERSION, history.size(), "applied migrations");
+        for (int i = 0; i < history.size(); i++) {
+            SchemaMigrator.AppliedMigration migration = history.get(i);
+            Check.equal(i + 1, migration.version, "history order");
+            // Java migrations have no script to checksum
+            if (SchemaMigrator.TYPE_SQL.equals(migration.type)) {
+                Check.isTrue(migration.checksum != null, "checksum recorded for V" + migration.version);
+            }
+        }
+    }
+    
+    public void testBillNumberFunctionDropped() throws SQLException {
+        long functions = Check.queryLong(
+                "SELECT COUNT(*) FROM information_schema.ROUTINES " +
+                "WHERE ROUTINE_SCHEMA = DATABASE() AND ROUTINE_NAME = 'generate_bill_no'");
+        
+        Check.equal(0L, functions, "generate_bill_no still defined");
+    }
+    
+    public void testSecondaryIndexesCreated() throws SQLException {
+        long indexed = Check.queryLong(
+                "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'books' " +
+                "AND SEQ_IN_INDEX = 1 AND COLUMN_NAME = 'status'");
+        
+        Check.isTrue(indexed > 0, "books has an index starting with status");
+    }
+}
@@ -0,0 +1,87 @@
+// File: src/it/java/com/pahanaedu/it/Check.java
+package com.pahanaedu.it;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+import com.pahanaedu.utils.DatabaseConnection;
+
+/**
+ * Assertions and small SQL helpers for the integration tests (no test framework
+ * ships in WEB-INF/lib, and these run as a plain main class).
+ */
+public final class Check {
+    
+    private Check() {
+    }
+    
+    public static void isTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+    
+    public static void equal(Object expected, Object actual, String message) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(message + " - expected " + expected + " but was " + actual);
+        }
+    }
+    
+    /**
+     * Run a query returning one number (COUNT, MAX, ...)
+     * @param sql Query; parameters are bound as objects
+     * @param params Parameters
+     * @return First column of the first row, or 0 when it is NULL or there is no row
+     * @throws SQLException if the query fails
+     */
+    public static long queryLong(String sql, Object... params) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+    
+    /**
+     * Run a query returning one string
+     * @param sql Query; parameters are bound as objects
+     * @param params Parameters
+     * @return First column of the first row, or null when there is no row
+     * @throws SQLException if the query fails
+     */
+    public static String queryString(String sql, Object... params) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+    
+    /**
+     * Run an INSERT, UPDATE or DELETE
+     * @param sql Statement; parameters are bound as objects
+     * @param params Parameters
+     * @return Affected rows
+     * @throws SQLException if the statement fails
+     */
+    public static int update(String sql, Object... params) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            return stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// File: src/it/java/com/pahanaedu/it/IntegrationTestRunner.java
+package com.pahanaedu.it;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.pahanaedu.dao.BillCheckoutIT;
+import com.pahanaedu.dao.BillNumberAllocatorIT;
+import com.pahanaedu.dao.KeysetPageIT;
+import com.pahanaedu.db.SchemaMigratorIT;
+import com.pahanaedu.tools.LocalDatabase;
+import com.pahanaedu.utils.DatabaseConnection;
+
+/**
+ * Runs the DAO integration tests in src/it/java against the local MySQL
+ * (scripts/local-mysql.sh), after migrating and seeding it with LocalDatabase.
+ *
+ * A test class has a public no-argument constructor and public void test* methods,
+ * run in name order on a fresh instance each; a method fails by throwing (see Check).
+ * Arguments narrow the run to the named classes. Refuses to run outside the local
+ * profile - the tests create books and bills.
+ *
+ *   scripts/run-integration-tests.sh [BillCheckoutIT KeysetPageIT]
+ */
+public class IntegrationTestRunner {
+    
+    // Add new test classes here
+    private static final Class<?>[] TESTS = {
+        SchemaMigratorIT.class,
+        BillNumberAllocatorIT.class,
+        BillCheckoutIT.class,
+        KeysetPageIT.class
+    };
+    
+    public static void main(String[] args) throws Exception {
+        if (!DatabaseConnection.PROFILE_LOCAL.equals(DatabaseConnection.getProfile())) {
+            System.err.println("❌ Integration tests only run with -Dpahanaedu.db.profile=local");
+            System.exit(2);
+        }
+        
+        int passed = 0;
+        List<String> failures = new ArrayList<>();
+        try {
+            try {
+                LocalDatabase.prepare();
+            } catch (SQLException e) {
+                System.err.println("❌ Local database not ready (scripts/local-mysql.sh start): " + e.getMessage());
+                System.exit(2);
+            }
+            
+            for (Class<?> testClass : TESTS) {
+                if (args.length > 0 && !Arrays.asList(args).contains(testClass.getSimpleName())) {
+                    continue;
+                }
+                for (Method method : testMethods(testClass)) {
+                    String name = testClass.getSimpleName() + "." + method.getName();
+                    long started = System.currentTimeMillis();
+                    try {
+                        method.invoke(testClass.getDeclaredConstructor().newInstance());
+                        passed++;
+                        System.out.println("✅ " + name + " (" + (System.currentTimeMillis() - started) + " ms)");
+                    } catch (InvocationTargetException e) {
+                        failures.add(name);
+                        System.out.println("❌ " + name + ": " + e.getCause());
+                        e.getCause().printStackTrace(System.out);
+                    }
+                }
+            }
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+        
+        System.out.println();
+        System.out.println(passed + " passed, " + failures.size() + " failed" +
+                           (failures.isEmpty() ? "" : ": " + String.join(", ", failures)));
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+    
+    private static List<Method> testMethods(Class<?> testClass) {
+        List<Method> methods = new ArrayList<>();
+        for (Method method : testClass.getMethods()) {
+            if (method.getName().startsWith("test") && method.getParameterCount() == 0
+                    && method.getReturnType() == void.class && !Modifier.isStatic(method.getModifiers())) {
+                methods.add(method);
+            }
+        }
+        methods.sort(Comparator.comparing(Method::getName));
+        return methods;
+    }
+}
@@ -0,0 +1,45 @@
+// File: src/jmh/java/com/pahanaedu/bench/BenchmarkRunner.java
+package com.pahanaedu.bench;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite and writes the results as JMH JSON to
+ * build/jmh/RELEASE-yyyyMMdd-HHmmss.json, one file per run, so results of two
+ * releases can be compared (e.g. with jmh.morethan.io or a diff of the scores).
+ * RELEASE comes from -Dbench.release (default "snapshot"); arguments are JMH options.
+ *
+ *   BENCH_RELEASE=1.4.0 scripts/run-benchmarks.sh [-f 1 -wi 2 BillTotals]
+ */
+public class BenchmarkRunner {
+    
+    private static final String RESULT_DIR = "build/jmh";
+    
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        String release = System.getProperty("bench.release", "snapshot");
+        new File(RESULT_DIR).mkdirs();
+        String resultFile = RESULT_DIR + "/" + release + "-" +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json";
+        
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+        // Benchmark name patterns on the command line narrow the run; otherwise run the whole suite
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("com\\.pahanaedu\\..*Benchmark");
+        }
+        new Runner(options.build()).run();
+        System.out.println("✅ Benchmark results written to " + resultFile);
+    }
+}
@@ -0,0 +1,123 @@
+// File: src/jmh/java/com/pahanaedu/bench/Fixtures.java
+package com.pahanaedu.bench;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Book;
+
+/**
+ * Deterministic benchmark inputs shaped like production data (prices with cents,
+ * realistic title lengths, a few images per book).
+ */
+public final class Fixtures {
+    
+    private static final long SEED = 42;
+    private static final Timestamp CREATED = Timestamp.valueOf("2025-01-15 10:30:00");
+    
+    private Fixtures() {
+    }
+    
+    public static List<Book> books(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Book book = new Book();
+            book.setId(i + 1);
+            book.setTitle("Advanced Level Mathematics Past Papers Volume " + (i % 12 + 1));
+            book.setAuthor("Dr. S. Perera");
+            book.setCategoryId(1 + i % 12);
+            book.setCategoryName("Advanced Level");
+            book.setPrice(price(random));
+            book.setStock(random.nextInt(200));
+            book.setDescription("Model papers with marking schemes and worked answers for every question.");
+            book.setStatus("active");
+            book.setReferenceNo(String.format("BK2025%06d", i + 1));
+            book.setQrCode(String.format("BK2025%06d", i + 1));
+            book.setImages(Arrays.asList("uploads/books/" + (i + 1) + "-front.jpg", "uploads/books/" + (i + 1) + "-back.jpg"));
+            book.setCreatedAt(CREATED);
+            book.setUpdatedAt(CREATED);
+            books.add(book);
+        }
+        return books;
+    }
+    
+    public static Bill bill(int itemCount) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<BillItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new BillItem(i + 1, "Physics Concepts and Applications " + i,
+                    String.format("BK2025%06d", i + 1), price(random), 1 + random.nextInt(3)));
+        }
+        
+        Bill bill = new Bill();
+        bill.setId(1);
+        bill.setBillNo("BILL202501150001");
+        bill.setCashierId(7);
+        bill.setCashierName("Nimal Perera");
+        bill.setCreatedAt(CREATED);
+        bill.setItems(items);
+        return bill;
+    }
+    
+    public static List<Bill> bills(int count, int itemsPerBill) {
+        List<Bill> bills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Bill bill = bill(itemsPerBill);
+            bill.setId(i + 1);
+            bills.add(bill);
+        }
+        return bills;
+    }
+    
+    // The cashier page's createBill "items" parameter
+    public static String itemsJson(int itemCount) {
+        StringBuilder json = new StringBuilder("[");
+        for (BillItem item : bill(itemCount).getItems()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(item.getBookId())
+                .append(",\"title\":\"").append(item.getBookTitle())
+                .append("\",\"referenceNo\":\"").append(item.getBookReference())
+                .append("\",\"price\":\"").append(item.getUnitPrice().toPlainString())
+                .append("\",\"quantity\":").append(item.getQuantity())
+                .append(",\"stock\":25}");
+        }
+        return json.append(']').toString();
+    }
+    
+    // Column label -> value of one books row as BookDAO's list queries return it
+    public static Map<String, Object> bookRow(Book book) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", book.getId());
+        row.put("title", book.getTitle());
+        row.put("author", book.getAuthor());
+        row.put("category_id", book.getCategoryId());
+        row.put("category_name", book.getCategoryName());
+        row.put("price", book.getPrice());
+        row.put("offer_price", null);
+        row.put("stock", book.getStock());
+        row.put("description", book.getDescription());
+        row.put("details", null);
+        row.put("status", book.getStatus());
+        row.put("reference_no", book.getReferenceNo());
+        row.put("qr_code", book.getQrCode());
+        row.put("created_at", book.getCreatedAt());
+        row.put("updated_at", book.getUpdatedAt());
+        return row;
+    }
+    
+    private static BigDecimal price(SplittableRandom random) {
+        // Rs. 250.00 - 4999.99
+        return BigDecimal.valueOf((250 + random.nextInt(4750)) * 100L + random.nextInt(100), 2);
+    }
+}
@@ -0,0 +1,121 @@
+// File: src/jmh/java/com/pahanaedu/dao/BookMappingBenchmark.java
+package com.pahanaedu.dao;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pahanaedu.bench.Fixtures;
+import com.pahanaedu.models.Book;
+
+/**
+ * BookDAO.extractBookFromResultSet over a page of rows.
+ *
+ * Rows come from an in-memory ResultSet (a dynamic proxy looking columns up by label),
+ * so this measures the mapping and object allocation, not the driver. The proxy's own
+ * cost is the same in every run, which is what matters for regression tracking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BookMappingBenchmark {
+    
+    // Admin list page size, catalog page size
+    @Param({"50", "500"})
+    public int rows;
+    
+    private final BookDAO bookDAO = new BookDAO();
+    private ResultSet resultSet;
+    private RowCursor cursor;
+    
+    @Setup
+    public void setUp() {
+        List<Map<String, Object>> data = new ArrayList<>(rows);
+        for (Book book : Fixtures.books(rows)) {
+            data.add(Fixtures.bookRow(book));
+        }
+        cursor = new RowCursor(data);
+        resultSet = cursor.resultSet();
+    }
+    
+    @Benchmark
+    public List<Book> mapPage() throws SQLException {
+        cursor.rewind();
+        List<Book> books = new ArrayList<>(rows);
+        while (resultSet.next()) {
+            books.add(bookDAO.extractBookFromResultSet(resultSet));
+        }
+        return books;
+    }
+    
+    // Forward-only ResultSet over prepared rows, supporting the getters the DAO uses
+    private static final class RowCursor {
+        private final List<Map<String, Object>> rows;
+        private int position = -1;
+        
+        RowCursor(List<Map<String, Object>> rows) {
+            this.rows = rows;
+        }
+        
+        void rewind() {
+            position = -1;
+        }
+        
+        ResultSet resultSet() {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "next":
+                        return ++position < rows.size();
+                    case "getInt": {
+                        Object value = column(args[0]);
+                        return value != null ? ((Number) value).intValue() : 0;
+                    }
+                    case "getString": {
+                        Object value = column(args[0]);
+                        return value != null ? value.toString() : null;
+                    }
+                    case "getBigDecimal":
+                        return (BigDecimal) column(args[0]);
+                    case "getTimestamp":
+                        return (Timestamp) column(args[0]);
+                    case "wasNull":
+                        return false;
+                    case "close":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+        
+        private Object column(Object label) throws SQLException {
+            Map<String, Object> row = rows.get(position);
+            if (!row.containsKey(label)) {
+                throw new SQLException("Column '" + label + "' not found");
+            }
+            return row.get(label);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+// File: src/jmh/java/com/pahanaedu/models/BillTotalsBenchmark.java
+package com.pahanaedu.models;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pahanaedu.bench.Fixtures;
+
+/**
+ * Money arithmetic done for every bill: BillItem line totals and Bill.calculateTotals
+ * (stream reduction over BigDecimal plus tax).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BillTotalsBenchmark {
+    
+    // Typical basket, large school-list basket
+    @Param({"5", "40"})
+    public int items;
+    
+    private Bill bill;
+    private BillItem item;
+    
+    @Setup
+    public void setUp() {
+        bill = Fixtures.bill(items);
+        item = bill.getItems().get(0);
+    }
+    
+    @Benchmark
+    public BigDecimal calculateTotals() {
+        bill.calculateTotals();
+        return bill.getTotalAmount();
+    }
+    
+    @Benchmark
+    public BigDecimal calculateTotalPrice() {
+        item.calculateTotalPrice();
+        return item.getTotalPrice();
+    }
+    
+    // setItems recalculates the totals, as BillServlet.createBill does once per request
+    @Benchmark
+    public BigDecimal setItems() {
+        List<BillItem> lines = bill.getItems();
+        bill.setItems(lines);
+        return bill.getTotalAmount();
+    }
+}
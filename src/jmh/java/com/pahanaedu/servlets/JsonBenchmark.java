@@ -0,0 +1,90 @@
+// File: src/jmh/java/com/pahanaedu/servlets/JsonBenchmark.java
+package com.pahanaedu.servlets;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.pahanaedu.bench.Fixtures;
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Book;
+
+/**
+ * JSON work per request: Gson serialization of book and bill lists (admin and cashier
+ * responses, written to a stream like sendJsonResponse) and parsing of the createBill
+ * "items" payload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonBenchmark {
+    
+    @Param({"50", "500"})
+    public int size;
+    
+    // Same configuration as the servlets
+    private final Gson gson = new Gson();
+    private List<Book> books;
+    private List<Bill> bills;
+    private String itemsJson;
+    
+    @Setup
+    public void setUp() {
+        books = Fixtures.books(size);
+        bills = Fixtures.bills(size, 5);
+        // Baskets are small; scale the payload down from the list size
+        itemsJson = Fixtures.itemsJson(Math.max(1, size / 10));
+    }
+    
+    @Benchmark
+    public int serializeBooks() {
+        StringWriter out = new StringWriter();
+        gson.toJson(books, out);
+        return out.getBuffer().length();
+    }
+    
+    // Streaming per element, as AdminServlet writes the book list
+    @Benchmark
+    public int streamBooks() throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = gson.newJsonWriter(out)) {
+            writer.beginArray();
+            for (Book book : books) {
+                gson.toJson(book, Book.class, writer);
+            }
+            writer.endArray();
+        }
+        return out.getBuffer().length();
+    }
+    
+    @Benchmark
+    public int serializeBills() {
+        StringWriter out = new StringWriter();
+        gson.toJson(bills, out);
+        return out.getBuffer().length();
+    }
+    
+    @Benchmark
+    public List<BillItem> parseBillItems() {
+        return BillServlet.parseItems(itemsJson);
+    }
+}
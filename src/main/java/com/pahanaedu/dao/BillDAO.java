@@ -1,57 +1,53 @@
 // File: src/main/java/com/pahanaedu/dao/BillDAO.java
 package com.pahanaedu.dao;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import com.pahanaedu.models.Bill;
 import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Page;
+import com.pahanaedu.search.CatalogIndexes;
 import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.Metrics;
+import com.pahanaedu.utils.PageCursor;
 
 public class BillDAO {
     
-    // Generate bill number
-    public String generateBillNumber() {
-        String sql = "SELECT generate_bill_no() as bill_no";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return rs.getString("bill_no");
-            }
-        } catch (SQLException e) {
-            System.out.println("Using fallback bill generation");
-            return generateBillNumberFallback();
-        }
-        
-        return generateBillNumberFallback();
-    }
+    private static final Logger LOG = Logger.get(BillDAO.class);
     
-    // Fallback bill number generation
-    private String generateBillNumberFallback() {
-        String sql = "SELECT COUNT(*) as count FROM bills WHERE DATE(created_at) = CURDATE()";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                int count = rs.getInt("count") + 1;
-                String billNo = String.format("BILL%s%04d", 
-                    java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd")), 
-                    count);
-                System.out.println("Generated bill number: " + billNo);
-                return billNo;
-            }
-        } catch (SQLException e) {
-            System.err.println("Error generating bill number: " + e.getMessage());
-        }
-        
-        // Final fallback
-        return "BILL" + System.currentTimeMillis();
+    // Max bill IDs bound into one bill_items lookup
+    private static final int ITEM_BATCH_SIZE = 512;
+    
+    // Hot bill queries, package-private so QueryPlanCheck explains exactly these statements.
+    // Day filters are created_at ranges (DATE(created_at) = CURDATE() cannot use an index).
+    static final String TODAY_BY_CASHIER_SQL =
+            "SELECT * FROM bills WHERE cashier_id = ? " +
+            "AND created_at >= CURDATE() AND created_at < CURDATE() + INTERVAL 1 DAY " +
+            "ORDER BY created_at DESC";
+    static final String UNITS_SOLD_SINCE_SQL =
+            "SELECT i.book_id, SUM(i.quantity) AS units " +
+            "FROM bills b JOIN bill_items i ON i.bill_id = b.id " +
+            "WHERE b.created_at >= ? AND b.payment_status <> ? " +
+            "GROUP BY i.book_id";
+    
+    // Checkout transaction (bill, stock and item statements up to the commit) and history reads
+    private static final Metrics.Timer CREATE_BILL_TIMER = Metrics.sql("create_bill");
+    private static final Metrics.Timer TODAY_BY_CASHIER_TIMER = Metrics.sql("bills_today_by_cashier");
+    private static final Metrics.Timer BILLS_PAGE_TIMER = Metrics.sql("bills_page");
+    
+    // Generate bill number (from the in-memory block reserved by BillNumberAllocator).
+    // There is deliberately no MAX/COUNT fallback: it could hand out a number inside a block
+    // another node has reserved, so a failed reservation fails the checkout instead.
+    public String generateBillNumber() throws SQLException {
+        return BillNumberAllocator.getInstance().nextBillNumber();
     }
     
     // Create bill with items
@@ -61,16 +57,20 @@ public class BillDAO {
         PreparedStatement itemStmt = null;
         PreparedStatement stockStmt = null;
         ResultSet generatedKeys = null;
+        boolean committed = false;
+        boolean failed = false;
+        long started = CREATE_BILL_TIMER.start();
         
         try {
-            conn = DatabaseConnection.getConnection();
-            conn.setAutoCommit(false);
-            
-            // Generate bill number if not provided
+            // Generate bill number if not provided (before borrowing the checkout connection -
+            // a block reservation borrows its own)
             if (bill.getBillNo() == null || bill.getBillNo().isEmpty()) {
                 bill.setBillNo(generateBillNumber());
             }
             
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            
             // Set current date and time
             bill.setBillDate(new Date(System.currentTimeMillis()));
             bill.setBillTime(new Time(System.currentTimeMillis()));
@@ -103,22 +103,45 @@ public class BillDAO {
                     int billId = generatedKeys.getInt(1);
                     bill.setId(billId);
                     
-                    // Insert bill items and update stock
+                    // Insert bill items and update stock (one batch each, not one round trip per line)
                     if (bill.getItems() != null && !bill.getItems().isEmpty()) {
+                        // Decrement stock once per book, in ID order so concurrent checkouts lock rows consistently
+                        Map<Integer, Integer> quantityByBook = new TreeMap<>();
+                        for (BillItem item : bill.getItems()) {
+                            quantityByBook.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+                        }
+                        
+                        String stockSql = "UPDATE books SET stock = stock - ? WHERE id = ? AND stock >= ?";
+                        stockStmt = conn.prepareStatement(stockSql);
+                        
+                        for (Map.Entry<Integer, Integer> entry : quantityByBook.entrySet()) {
+                            stockStmt.setInt(1, entry.getValue());
+                            stockStmt.setInt(2, entry.getKey());
+                            stockStmt.setInt(3, entry.getValue());
+                            stockStmt.addBatch();
+                        }
+                        
+                        int[] stockResults = stockStmt.executeBatch();
+                        int index = 0;
+                        for (Map.Entry<Integer, Integer> entry : quantityByBook.entrySet()) {
+                            int stockUpdated = index < stockResults.length ? stockResults[index] : Statement.EXECUTE_FAILED;
+                            if (stockUpdated == 0 || stockUpdated == Statement.EXECUTE_FAILED) {
+                                LOG.warn("⚠️ Could not update stock for book ID {} (quantity: {})",
+                                         entry.getKey(), entry.getValue());
+                            }
+                            index++;
+                        }
+                        
                         String itemSql = "INSERT INTO bill_items (bill_id, book_id, book_title, " +
                                        "book_reference, unit_price, quantity, total_price) " +
                                        "VALUES (?, ?, ?, ?, ?, ?, ?)";
                         
                         itemStmt = conn.prepareStatement(itemSql);
                         
-                        String stockSql = "UPDATE books SET stock = stock - ? WHERE id = ? AND stock >= ?";
-                        stockStmt = conn.prepareStatement(stockSql);
-                        
                         for (BillItem item : bill.getItems()) {
                             // Calculate total price for item
                             item.calculateTotalPrice();
                             
-                            // Insert bill item
                             itemStmt.setInt(1, billId);
                             itemStmt.setInt(2, item.getBookId());
                             itemStmt.setString(3, item.getBookTitle());
@@ -126,22 +149,16 @@ public class BillDAO {
                             itemStmt.setBigDecimal(5, item.getUnitPrice());
                             itemStmt.setInt(6, item.getQuantity());
                             itemStmt.setBigDecimal(7, item.getTotalPrice());
-                            itemStmt.executeUpdate();
-                            
-                            // Update book stock
-                            stockStmt.setInt(1, item.getQuantity());
-                            stockStmt.setInt(2, item.getBookId());
-                            stockStmt.setInt(3, item.getQuantity());
-                            int stockUpdated = stockStmt.executeUpdate();
-                            
-                            if (stockUpdated == 0) {
-                                System.err.println("Warning: Could not update stock for book ID " + item.getBookId());
-                            }
+                            itemStmt.addBatch();
                         }
+                        
+                        // Sent as a single multi-row INSERT (rewriteBatchedStatements)
+                        itemStmt.executeBatch();
                     }
                     
                     conn.commit();
-                    System.out.println("✅ Bill created successfully: " + bill.getBillNo());
+                    committed = true;
+                    LOG.info("✅ Bill created successfully: {}", bill.getBillNo());
                     return true;
                 }
             }
@@ -150,13 +167,13 @@ public class BillDAO {
             return false;
             
         } catch (SQLException e) {
-            System.err.println("❌ Error creating bill: " + e.getMessage());
-            e.printStackTrace();
+            failed = true;
+            LOG.error("❌ Error creating bill", e);
             if (conn != null) {
                 try {
                     conn.rollback();
                 } catch (SQLException rollbackEx) {
-                    rollbackEx.printStackTrace();
+                    LOG.error("❌ Rollback failed", rollbackEx);
                 }
             }
             return false;
@@ -171,7 +188,22 @@ public class BillDAO {
                     conn.close();
                 }
             } catch (SQLException e) {
-                e.printStackTrace();
+                LOG.warn("⚠️ Error closing connection", e);
+            }
+            if (failed) {
+                CREATE_BILL_TIMER.fail(started);
+            } else {
+                CREATE_BILL_TIMER.stop(started);
+            }
+            
+            // Refresh stock in the scan and search indexes once the connection is back in the pool
+            if (committed && bill.getItems() != null && !bill.getItems().isEmpty()) {
+                Map<Integer, Integer> unitsSold = new LinkedHashMap<>();
+                for (BillItem item : bill.getItems()) {
+                    unitsSold.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+                }
+                BookReferenceIndex.getInstance().refreshAll(unitsSold.keySet());
+                CatalogIndexes.booksSold(unitsSold);
             }
         }
     }
@@ -187,13 +219,12 @@ public class BillDAO {
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     Bill bill = extractBillFromResultSet(rs);
-                    bill.setItems(getBillItems(id));
+                    bill.setItems(loadItems(conn, id));
                     return bill;
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching bill by ID: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching bill by ID", e);
         }
         
         return null;
@@ -210,13 +241,12 @@ public class BillDAO {
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     Bill bill = extractBillFromResultSet(rs);
-                    bill.setItems(getBillItems(bill.getId()));
+                    bill.setItems(loadItems(conn, bill.getId()));
                     return bill;
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching bill by number: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching bill by number", e);
         }
         
         return null;
@@ -224,33 +254,141 @@ public class BillDAO {
     
     // Get bill by bill number with items (alias method for servlet compatibility)
     public Bill getBillByBillNoWithItems(String billNo) {
-        // This method is the same as getBillByBillNo since it already includes items
+        // Same as getBillByBillNo, which loads the items on the same connection
         return getBillByBillNo(billNo);
     }
     
     // Get bill items
     public List<BillItem> getBillItems(int billId) {
-        List<BillItem> items = new ArrayList<>();
-        String sql = "SELECT * FROM bill_items WHERE bill_id = ? ORDER BY id";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return loadItems(conn, billId);
+        } catch (SQLException e) {
+            LOG.error("Error fetching bill items", e);
+        }
+        
+        return new ArrayList<>();
+    }
+    
+    // Stream the newest bills with their items from one join, handing over each bill as soon
+    // as its last item row is read (only one bill is held in memory at a time)
+    public boolean streamBillsWithItems(Integer cashierId, int limit, RowHandler<Bill> handler) throws IOException {
+        String sql = "SELECT b.*, i.id as item_id, i.book_id, i.book_title, i.book_reference, " +
+                    "i.unit_price, i.quantity, i.total_price, i.created_at as item_created_at " +
+                    "FROM (SELECT * FROM bills" +
+                    (cashierId != null ? " WHERE cashier_id = ?" : "") +
+                    " ORDER BY created_at DESC, id DESC LIMIT ?) b " +
+                    "LEFT JOIN bill_items i ON i.bill_id = b.id " +
+                    "ORDER BY b.created_at DESC, b.id DESC, i.id";
         
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            // Stream rows instead of buffering the whole result set
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            
+            int index = 1;
+            if (cashierId != null) {
+                stmt.setInt(index++, cashierId);
+            }
+            stmt.setInt(index, limit);
             
-            stmt.setInt(1, billId);
             try (ResultSet rs = stmt.executeQuery()) {
+                Bill current = null;
                 while (rs.next()) {
-                    BillItem item = extractBillItemFromResultSet(rs);
-                    items.add(item);
+                    int billId = rs.getInt("id");
+                    if (current == null || current.getId() != billId) {
+                        if (current != null) {
+                            handler.handle(current);
+                        }
+                        current = extractBillFromResultSet(rs);
+                        current.setItems(new ArrayList<>());
+                    }
+                    
+                    rs.getInt("item_id");
+                    if (!rs.wasNull()) {
+                        current.getItems().add(extractJoinedBillItem(rs, billId));
+                    }
+                }
+                if (current != null) {
+                    handler.handle(current);
                 }
             }
+            return true;
         } catch (SQLException e) {
-            System.err.println("Error fetching bill items: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error streaming bills", e);
+            return false;
+        }
+    }
+    
+    // Load the items of one bill on an existing connection
+    private List<BillItem> loadItems(Connection conn, int billId) throws SQLException {
+        List<BillItem> items = new ArrayList<>();
+        String sql = "SELECT * FROM bill_items WHERE bill_id = ? ORDER BY id";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, billId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(extractBillItemFromResultSet(rs));
+                }
+            }
         }
         
         return items;
     }
     
+    // Load items for a list of bills with one IN (...) query per ITEM_BATCH_SIZE bills
+    private void attachItems(Connection conn, List<Bill> bills) throws SQLException {
+        if (bills.isEmpty()) {
+            return;
+        }
+        
+        Map<Integer, List<BillItem>> itemsByBill = new HashMap<>();
+        for (Bill bill : bills) {
+            List<BillItem> items = new ArrayList<>();
+            bill.setItems(items);
+            itemsByBill.put(bill.getId(), items);
+        }
+        
+        for (int start = 0; start < bills.size(); start += ITEM_BATCH_SIZE) {
+            int end = Math.min(start + ITEM_BATCH_SIZE, bills.size());
+            int placeholders = paddedBatchSize(end - start);
+            
+            StringBuilder sql = new StringBuilder("SELECT * FROM bill_items WHERE bill_id IN (");
+            for (int i = 0; i < placeholders; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(") ORDER BY bill_id, id");
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < placeholders; i++) {
+                    // Pad with the last ID of the batch - duplicates in IN (...) are harmless
+                    int index = Math.min(start + i, end - 1);
+                    stmt.setInt(i + 1, bills.get(index).getId());
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        BillItem item = extractBillItemFromResultSet(rs);
+                        List<BillItem> items = itemsByBill.get(item.getBillId());
+                        if (items != null) {
+                            items.add(item);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    // Round an IN list size up to 1, 4, 16, 64, 256 or ITEM_BATCH_SIZE (keeps the statement cache small)
+    private int paddedBatchSize(int size) {
+        int padded = 1;
+        while (padded < size) {
+            padded *= 4;
+        }
+        return Math.min(padded, ITEM_BATCH_SIZE);
+    }
+    
     // Get all bills (optimized for history - loads items efficiently)
     public List<Bill> getAllBills() {
         List<Bill> bills = new ArrayList<>();
@@ -261,20 +399,13 @@ public class BillDAO {
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                Bill bill = extractBillFromResultSet(rs);
-                
-                // Load items for each bill
-                List<BillItem> items = getBillItems(bill.getId());
-                bill.setItems(items);
-                
-                System.out.println("Loaded bill " + bill.getBillNo() + " with " + 
-                    (items != null ? items.size() : 0) + " items");
-                
-                bills.add(bill);
+                bills.add(extractBillFromResultSet(rs));
             }
+            
+            // Load items for all bills in one query
+            attachItems(conn, bills);
         } catch (SQLException e) {
-            System.err.println("Error fetching all bills: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching all bills", e);
         }
         
         return bills;
@@ -293,19 +424,76 @@ public class BillDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = extractBillFromResultSet(rs);
-                    bill.setItems(getBillItems(bill.getId()));
-                    bills.add(bill);
+                    bills.add(extractBillFromResultSet(rs));
                 }
             }
+            attachItems(conn, bills);
         } catch (SQLException e) {
-            System.err.println("Error fetching all bills with pagination: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching all bills with pagination", e);
         }
         
         return bills;
     }
     
+    // Keyset page, newest first; parameters: [cashier ID], [cursor created_at twice, cursor id], limit
+    static String billsPageSql(boolean byCashier, boolean afterCursor) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM bills WHERE 1 = 1");
+        if (byCashier) {
+            sql.append(" AND cashier_id = ?");
+        }
+        if (afterCursor) {
+            sql.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        return sql.toString();
+    }
+    
+    // Get one page of bills (newest first) using a (created_at, id) seek instead of OFFSET,
+    // so deep pages cost the same as the first; cashierId null means all cashiers
+    public Page<Bill> getBillsPage(Integer cashierId, PageCursor after, int limit) {
+        if (after != null && after.getCreatedAt() == null) {
+            // Would bind NULL and match nothing; servlets decode with PageCursor.decodeTimed
+            throw new IllegalArgumentException("Bills page cursor has no created_at");
+        }
+        List<Bill> bills = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(billsPageSql(cashierId != null, after != null))) {
+            
+            int index = 1;
+            if (cashierId != null) {
+                stmt.setInt(index++, cashierId);
+            }
+            if (after != null) {
+                stmt.setTimestamp(index++, after.getCreatedAt());
+                stmt.setTimestamp(index++, after.getCreatedAt());
+                stmt.setInt(index++, after.getId());
+            }
+            // One extra row tells us whether there is a next page
+            stmt.setInt(index, limit + 1);
+            
+            try (ResultSet rs = BILLS_PAGE_TIMER.executeQuery(stmt)) {
+                while (rs.next()) {
+                    bills.add(extractBillFromResultSet(rs));
+                }
+            }
+            
+            String nextCursor = null;
+            if (bills.size() > limit) {
+                bills.remove(limit);
+                Bill last = bills.get(limit - 1);
+                nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+            
+            attachItems(conn, bills);
+            return new Page<>(bills, nextCursor, limit);
+        } catch (SQLException e) {
+            LOG.error("Error fetching bills page", e);
+        }
+        
+        return new Page<>(bills, null, limit);
+    }
+    
     // Get bills by cashier
     public List<Bill> getBillsByCashier(int cashierId) {
         List<Bill> bills = new ArrayList<>();
@@ -317,21 +505,14 @@ public class BillDAO {
             stmt.setInt(1, cashierId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = extractBillFromResultSet(rs);
-                    
-                    // Load items for each bill
-                    List<BillItem> items = getBillItems(bill.getId());
-                    bill.setItems(items);
-                    
-                    System.out.println("Loaded cashier bill " + bill.getBillNo() + " with " + 
-                        (items != null ? items.size() : 0) + " items");
-                    
-                    bills.add(bill);
+                    bills.add(extractBillFromResultSet(rs));
                 }
             }
+            
+            // Load items for all bills in one query
+            attachItems(conn, bills);
         } catch (SQLException e) {
-            System.err.println("Error fetching bills by cashier: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching bills by cashier", e);
         }
         
         return bills;
@@ -351,14 +532,12 @@ public class BillDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = extractBillFromResultSet(rs);
-                    bill.setItems(getBillItems(bill.getId()));
-                    bills.add(bill);
+                    bills.add(extractBillFromResultSet(rs));
                 }
             }
+            attachItems(conn, bills);
         } catch (SQLException e) {
-            System.err.println("Error fetching bills by cashier with pagination: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching bills by cashier with pagination", e);
         }
         
         return bills;
@@ -376,14 +555,12 @@ public class BillDAO {
             stmt.setDate(2, endDate);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = extractBillFromResultSet(rs);
-                    bill.setItems(getBillItems(bill.getId()));
-                    bills.add(bill);
+                    bills.add(extractBillFromResultSet(rs));
                 }
             }
+            attachItems(conn, bills);
         } catch (SQLException e) {
-            System.err.println("Error fetching bills by date range: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching bills by date range", e);
         }
         
         return bills;
@@ -401,13 +578,32 @@ public class BillDAO {
                 return rs.getInt("count");
             }
         } catch (SQLException e) {
-            System.err.println("Error getting bills count: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error getting bills count", e);
         }
         
         return 0;
     }
     
+    // Units sold per book since a point in time (cancelled bills excluded)
+    public Map<Integer, Integer> getUnitsSoldByBookSince(Timestamp since) {
+        Map<Integer, Integer> unitsByBook = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UNITS_SOLD_SINCE_SQL)) {
+            
+            stmt.setTimestamp(1, since);
+            stmt.setString(2, Bill.STATUS_CANCELLED);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    unitsByBook.put(rs.getInt("book_id"), rs.getInt("units"));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting units sold by book", e);
+        }
+        
+        return unitsByBook;
+    }
+    
     // Get bills count by cashier
     public int getBillsCountByCashier(int cashierId) {
         String sql = "SELECT COUNT(*) as count FROM bills WHERE cashier_id = ?";
@@ -422,8 +618,7 @@ public class BillDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting bills count by cashier: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error getting bills count by cashier", e);
         }
         
         return 0;
@@ -432,22 +627,18 @@ public class BillDAO {
     // Get today's bills for cashier
     public List<Bill> getTodayBillsByCashier(int cashierId) {
         List<Bill> bills = new ArrayList<>();
-        String sql = "SELECT * FROM bills WHERE cashier_id = ? AND DATE(created_at) = CURDATE() ORDER BY created_at DESC";
-        
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(TODAY_BY_CASHIER_SQL)) {
             
             stmt.setInt(1, cashierId);
-            try (ResultSet rs = stmt.executeQuery()) {
+            try (ResultSet rs = TODAY_BY_CASHIER_TIMER.executeQuery(stmt)) {
                 while (rs.next()) {
-                    Bill bill = extractBillFromResultSet(rs);
-                    bill.setItems(getBillItems(bill.getId()));
-                    bills.add(bill);
+                    bills.add(extractBillFromResultSet(rs));
                 }
             }
+            attachItems(conn, bills);
         } catch (SQLException e) {
-            System.err.println("Error fetching today's bills by cashier: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching today's bills by cashier", e);
         }
         
         return bills;
@@ -464,15 +655,13 @@ public class BillDAO {
             stmt.setInt(1, limit);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = extractBillFromResultSet(rs);
-                    // For recent bills list, load items too
-                    bill.setItems(getBillItems(bill.getId()));
-                    bills.add(bill);
+                    bills.add(extractBillFromResultSet(rs));
                 }
             }
+            // For recent bills list, load items too
+            attachItems(conn, bills);
         } catch (SQLException e) {
-            System.err.println("Error fetching recent bills: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching recent bills", e);
         }
         
         return bills;
@@ -490,14 +679,12 @@ public class BillDAO {
             stmt.setInt(2, limit);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = extractBillFromResultSet(rs);
-                    bill.setItems(getBillItems(bill.getId()));
-                    bills.add(bill);
+                    bills.add(extractBillFromResultSet(rs));
                 }
             }
+            attachItems(conn, bills);
         } catch (SQLException e) {
-            System.err.println("Error fetching recent bills by cashier: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching recent bills by cashier", e);
         }
         
         return bills;
@@ -517,8 +704,7 @@ public class BillDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            System.err.println("Error updating bill status: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error updating bill status", e);
         }
         
         return false;
@@ -548,6 +734,21 @@ public class BillDAO {
         return bill;
     }
     
+    // Extract a bill item from a bills/bill_items join (item columns are aliased)
+    private BillItem extractJoinedBillItem(ResultSet rs, int billId) throws SQLException {
+        BillItem item = new BillItem();
+        item.setId(rs.getInt("item_id"));
+        item.setBillId(billId);
+        item.setBookId(rs.getInt("book_id"));
+        item.setBookTitle(rs.getString("book_title"));
+        item.setBookReference(rs.getString("book_reference"));
+        item.setUnitPrice(rs.getBigDecimal("unit_price"));
+        item.setQuantity(rs.getInt("quantity"));
+        item.setTotalPrice(rs.getBigDecimal("total_price"));
+        item.setCreatedAt(rs.getTimestamp("item_created_at"));
+        return item;
+    }
+    
     // Extract bill item from result set
     private BillItem extractBillItemFromResultSet(ResultSet rs) throws SQLException {
         BillItem item = new BillItem();
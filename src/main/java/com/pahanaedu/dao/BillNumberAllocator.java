@@ -0,0 +1,220 @@
+// File: src/main/java/com/pahanaedu/dao/BillNumberAllocator.java
+package com.pahanaedu.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Hi/lo bill number allocator: BILLyyyyMMddNNNN.
+ *
+ * Each node reserves a block of sequence numbers for the current day from the
+ * bill_sequences table (created by schema migration V1) and then hands them out from
+ * memory with an atomic counter, so bill creation only touches the database once per
+ * block. A reservation is a single
+ * atomic statement (UPDATE, or INSERT ... ON DUPLICATE KEY UPDATE for the day's first
+ * block) that returns the new high-water mark through LAST_INSERT_ID(expr), so blocks
+ * never overlap between nodes and two nodes seeding the same day cannot deadlock.
+ * The day comes from the database (CURDATE()), so numbers roll over at MySQL's
+ * midnight. Numbers left in a block when a node restarts or the day rolls over are
+ * simply skipped.
+ */
+public class BillNumberAllocator {
+    
+    private static final Logger LOG = Logger.get(BillNumberAllocator.class);
+    
+    private static final BillNumberAllocator INSTANCE = new BillNumberAllocator();
+    
+    private static final int BLOCK_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    
+    // The database's day and the seconds left until its midnight
+    private static final String TODAY_SQL =
+            "SELECT DATE_FORMAT(CURDATE(), '%Y-%m-%d'), " +
+            "TIMESTAMPDIFF(SECOND, NOW(), CURDATE() + INTERVAL 1 DAY)";
+    private static final String ADVANCE_SQL =
+            "UPDATE bill_sequences SET next_value = LAST_INSERT_ID(next_value + ?) WHERE seq_date = ?";
+    // First block of the day; a node that lost the race for the row advances it instead
+    private static final String SEED_SQL =
+            "INSERT INTO bill_sequences (seq_date, next_value) VALUES (?, LAST_INSERT_ID(? + ?)) " +
+            "ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + ?)";
+    // Bills numbered today before the day's row existed (e.g. by generate_bill_no())
+    private static final String HIGHEST_TODAY_SQL =
+            "SELECT MAX(CAST(SUBSTRING(bill_no, ?) AS UNSIGNED)) FROM bills WHERE bill_no LIKE ?";
+    
+    private final AtomicReference<Block> current = new AtomicReference<>();
+    private final Object reserveLock = new Object();
+    
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder reservations = new LongAdder();
+    
+    private BillNumberAllocator() {
+    }
+    
+    public static BillNumberAllocator getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Get the next bill number for today
+     * @return Bill number, unique across all nodes sharing the database
+     * @throws SQLException if a new block could not be reserved (the checkout must fail)
+     */
+    public String nextBillNumber() throws SQLException {
+        while (true) {
+            Block block = current.get();
+            
+            if (block != null && System.nanoTime() - block.expiresAt < 0) {
+                int value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    issued.increment();
+                    return format(block, value);
+                }
+            }
+            
+            // Block exhausted or past the database's midnight - only one thread goes to the database
+            synchronized (reserveLock) {
+                if (current.get() == block) {
+                    current.set(reserveBlock());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Get allocator counters for monitoring
+     * @return AllocatorStats snapshot
+     */
+    public AllocatorStats getStats() {
+        AllocatorStats stats = new AllocatorStats();
+        stats.blockSize = BLOCK_SIZE;
+        stats.numbersIssued = issued.sum();
+        stats.blocksReserved = reservations.sum();
+        
+        Block block = current.get();
+        if (block != null) {
+            stats.blockPrefix = block.prefix;
+            stats.remainingInBlock = Math.max(0, block.end - block.next.get());
+        }
+        return stats;
+    }
+    
+    private String format(Block block, int value) {
+        return block.prefix + String.format("%04d", value);
+    }
+    
+    // Deadlocks and lock wait timeouts are retried; anything else fails the checkout
+    private Block reserveBlock() throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tryReserveBlock();
+            } catch (SQLException e) {
+                boolean retryable = e instanceof SQLTransactionRollbackException
+                        || e.getErrorCode() == ER_LOCK_WAIT_TIMEOUT;
+                if (!retryable || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                LOG.warn("⚠️ Bill number reservation attempt {} failed, retrying: {}", attempt, e.getMessage());
+            }
+        }
+    }
+    
+    // Runs in autocommit mode: each statement is its own atomic transaction
+    private Block tryReserveBlock() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("No database connection available for bill number reservation");
+            }
+            String day;
+            long secondsLeft;
+            try (PreparedStatement stmt = conn.prepareStatement(TODAY_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                day = rs.getString(1);
+                secondsLeft = rs.getLong(2);
+            }
+            long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(secondsLeft);
+            java.sql.Date seqDate = java.sql.Date.valueOf(day);
+            String prefix = "BILL" + day.replace("-", "");
+            
+            int advanced;
+            try (PreparedStatement stmt = conn.prepareStatement(ADVANCE_SQL)) {
+                stmt.setInt(1, BLOCK_SIZE);
+                stmt.setDate(2, seqDate);
+                advanced = stmt.executeUpdate();
+            }
+            if (advanced == 0) {
+                seedDay(conn, seqDate, prefix);
+            }
+            
+            int end;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT LAST_INSERT_ID()");
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                end = rs.getInt(1);
+            }
+            int start = end - BLOCK_SIZE;
+            
+            reservations.increment();
+            LOG.info("🧾 Reserved bill numbers {}{} - {}{}", prefix, String.format("%04d", start),
+                     prefix, String.format("%04d", end - 1));
+            return new Block(prefix, start, end, expiresAt);
+        }
+    }
+    
+    // First reservation of the day starts after any bills already numbered today
+    private void seedDay(Connection conn, java.sql.Date seqDate, String prefix) throws SQLException {
+        int firstValue = 1;
+        try (PreparedStatement stmt = conn.prepareStatement(HIGHEST_TODAY_SQL)) {
+            stmt.setInt(1, prefix.length() + 1);
+            stmt.setString(2, prefix + "%");
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    firstValue = rs.getInt(1) + 1;
+                }
+            }
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(SEED_SQL)) {
+            stmt.setDate(1, seqDate);
+            stmt.setInt(2, firstValue);
+            stmt.setInt(3, BLOCK_SIZE);
+            stmt.setInt(4, BLOCK_SIZE);
+            stmt.executeUpdate();
+        }
+    }
+    
+    // Reserved range [next, end) of one database day, usable until that day's midnight
+    private static final class Block {
+        final String prefix;
+        final AtomicInteger next;
+        final int end;
+        final long expiresAt;   // System.nanoTime() at the database's midnight
+        
+        Block(String prefix, int start, int end, long expiresAt) {
+            this.prefix = prefix;
+            this.next = new AtomicInteger(start);
+            this.end = end;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    // Allocator counters for the admin endpoint
+    public static class AllocatorStats {
+        public int blockSize;
+        public long numbersIssued;
+        public long blocksReserved;
+        public String blockPrefix;
+        public int remainingInBlock;
+    }
+}
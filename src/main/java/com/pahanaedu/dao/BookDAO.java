@@ -2,18 +2,72 @@
 // Complete Updated BookDAO with Reference Number, QR Code Support and Enhanced Search
 package com.pahanaedu.dao;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.pahanaedu.models.Book;
+import com.pahanaedu.models.Page;
+import com.pahanaedu.search.BookSearchIndex;
+import com.pahanaedu.search.CatalogIndexes;
 import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.Metrics;
+import com.pahanaedu.utils.PageCursor;
 
 public class BookDAO {
     
+    private static final Logger LOG = Logger.get(BookDAO.class);
+    
+    // Max keys bound into one IN (...) lookup (images, scan codes); lists are padded to a few fixed sizes
+    // so the statement cache sees a handful of SQL strings instead of one per page size
+    private static final int IMAGE_BATCH_SIZE = 512;
+    
+    // Scan lookups compare the stored UPPER(TRIM()) key columns (schema migration V2),
+    // so they are index lookups; parameters must be normalized the same way.
+    // Package-private so QueryPlanCheck explains exactly these statements.
+    static final String REFERENCE_LOOKUP_SQL =
+            "SELECT b.*, c.name as category_name FROM books b " +
+            "LEFT JOIN categories c ON b.category_id = c.id " +
+            "WHERE b.reference_key = ?";
+    static final String QR_LOOKUP_SQL =
+            "SELECT b.*, c.name as category_name FROM books b " +
+            "LEFT JOIN categories c ON b.category_id = c.id " +
+            "WHERE b.qr_key = ? OR b.reference_key = ?";
+    
+    // Scan lookups that miss BookReferenceIndex (see Metrics)
+    private static final Metrics.Timer REFERENCE_LOOKUP_TIMER = Metrics.sql("book_by_reference");
+    private static final Metrics.Timer QR_LOOKUP_TIMER = Metrics.sql("book_by_qr_code");
+    private static final Metrics.Timer SCAN_BATCH_TIMER = Metrics.sql("books_by_scan_codes");
+    
     // Get all books with category names and reference data
     public List<Book> getAllBooks() {
+        return getAllBooks(true);
+    }
+    
+    // Get all books, optionally without images (for list views that don't show them);
+    // served from the catalog cache with stock re-read from the database
+    public List<Book> getAllBooks(boolean includeImages) {
+        List<Book> cached = CatalogCache.BOOK_LISTS.get(includeImages, this::loadAllBooks);
+        List<Book> books = cached != null ? withCurrentStock(cached) : null;
+        return books != null ? books : new ArrayList<>();
+    }
+    
+    // Full catalog read straight from the database, bypassing the catalog cache; null on error, so
+    // the in-memory indexes keep their previous snapshot. Their periodic reload exists to pick up
+    // other nodes' writes, and the cache is only invalidated on the node that wrote.
+    public List<Book> getAllBooksFromDatabase(boolean includeImages) {
+        return loadAllBooks(includeImages);
+    }
+    
+    private List<Book> loadAllBooks(boolean includeImages) {
         List<Book> books = new ArrayList<>();
         String sql = "SELECT b.*, c.name as category_name FROM books b " +
                     "LEFT JOIN categories c ON b.category_id = c.id " +
@@ -27,16 +81,162 @@ public class BookDAO {
                 Book book = extractBookFromResultSet(rs);
                 books.add(book);
             }
+            
+            if (includeImages) {
+                loadImagesForBooks(conn, books);
+            }
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching all books: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error fetching all books", e);
+            return null; // Not cached
         }
         
-        return books;
+        return Collections.unmodifiableList(books);
     }
     
-    // Get book by ID with all reference data
+    // Copy cached books, overlaying stock and status so stock is never stale (null if the stock
+    // query failed). Both the cached list and the stock rows are in id DESC order, so the stock
+    // rows are streamed and merged in step instead of being collected into a map first.
+    private List<Book> withCurrentStock(List<Book> cached) {
+        List<Book> books = new ArrayList<>(cached.size());
+        String sql = "SELECT id, stock, status FROM books ORDER BY id DESC";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                int next = 0;
+                while (next < cached.size() && rs.next()) {
+                    int id = rs.getInt("id");
+                    // Cached books with a higher id were deleted since they were cached
+                    while (next < cached.size() && cached.get(next).getId() > id) {
+                        next++;
+                    }
+                    // Books created since the list was cached are not in it (the TTL bounds that)
+                    if (next < cached.size() && cached.get(next).getId() == id) {
+                        Book book = new Book(cached.get(next++));
+                        book.setStock(rs.getInt("stock"));
+                        book.setStatus(rs.getString("status"));
+                        books.add(book);
+                    }
+                }
+            }
+            return books;
+        } catch (SQLException e) {
+            LOG.error("❌ Error reading current stock", e);
+            return null;
+        }
+    }
+    
+    // Stream all books (newest first) row by row without building a list; images come from
+    // GROUP_CONCAT because a streaming result set blocks other queries on its connection
+    public boolean streamAllBooks(boolean includeImages, RowHandler<Book> handler) throws IOException {
+        String sql = "SELECT b.*, c.name as category_name" +
+                    (includeImages
+                        ? ", (SELECT GROUP_CONCAT(bi.image_url ORDER BY bi.is_primary DESC, bi.id SEPARATOR '\\n') " +
+                          "FROM book_images bi WHERE bi.book_id = b.id) as image_list"
+                        : "") +
+                    " FROM books b LEFT JOIN categories c ON b.category_id = c.id ORDER BY b.id DESC";
+        
+        // group_concat_max_len is raised for every pooled connection (DatabaseConnection)
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // Forward-only + MIN_VALUE fetch size makes Connector/J stream rows instead of buffering them
+            try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(Integer.MIN_VALUE);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Book book = extractBookFromResultSet(rs);
+                        if (includeImages) {
+                            String imageList = rs.getString("image_list");
+                            book.setImages(imageList != null
+                                    ? new ArrayList<>(Arrays.asList(imageList.split("\n")))
+                                    : new ArrayList<>());
+                        }
+                        handler.handle(book);
+                    }
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            LOG.error("❌ Error streaming books", e);
+            return false;
+        }
+    }
+    
+    // Get one page of books (newest first) using an id seek instead of OFFSET
+    public Page<Book> getBooksPage(PageCursor after, int limit, boolean includeImages) {
+        List<Book> books = new ArrayList<>();
+        String sql = "SELECT b.*, c.name as category_name FROM books b " +
+                    "LEFT JOIN categories c ON b.category_id = c.id " +
+                    (after != null ? "WHERE b.id < ? " : "") +
+                    "ORDER BY b.id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            if (after != null) {
+                stmt.setInt(index++, after.getId());
+            }
+            // One extra row tells us whether there is a next page
+            stmt.setInt(index, limit + 1);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    books.add(extractBookFromResultSet(rs));
+                }
+            }
+            
+            String nextCursor = null;
+            if (books.size() > limit) {
+                books.remove(limit);
+                nextCursor = new PageCursor(null, books.get(limit - 1).getId()).encode();
+            }
+            
+            if (includeImages) {
+                loadImagesForBooks(conn, books);
+            }
+            return new Page<>(books, nextCursor, limit);
+        } catch (SQLException e) {
+            LOG.error("❌ Error fetching books page", e);
+        }
+        
+        return new Page<>(books, null, limit);
+    }
+    
+    // Get book by ID with all reference data (descriptive fields cached, stock always current)
     public Book getBookById(int id) {
+        Book cached = CatalogCache.BOOKS_BY_ID.get(id, this::loadBookById);
+        if (cached == null) {
+            return null;
+        }
+        
+        String sql = "SELECT stock, status FROM books WHERE id = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Book book = new Book(cached);
+                    book.setStock(rs.getInt("stock"));
+                    book.setStatus(rs.getString("status"));
+                    return book;
+                }
+            }
+            
+            // Deleted since it was cached
+            CatalogCache.BOOKS_BY_ID.invalidate(id);
+        } catch (SQLException e) {
+            LOG.error("❌ Error reading stock for book ID {}", id, e);
+        }
+        
+        return null;
+    }
+    
+    private Book loadBookById(int id) {
         String sql = "SELECT b.*, c.name as category_name FROM books b " +
                     "LEFT JOIN categories c ON b.category_id = c.id " +
                     "WHERE b.id = ?";
@@ -48,138 +248,208 @@ public class BookDAO {
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     Book book = extractBookFromResultSet(rs);
-                    System.out.println("✅ Found book by ID: " + book.getTitle());
+                    loadImagesForBook(conn, book);
+                    LOG.debug("✅ Found book by ID: {}", book.getTitle());
                     return book;
                 }
             }
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching book by ID " + id + ": " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error fetching book by ID {}", id, e);
         }
         
         return null;
     }
     
-    // Search book by reference number (Enhanced with better error handling)
+    // Search book by reference number (served from the in-memory reference index, DB on a miss)
     public Book getBookByReferenceNo(String referenceNo) {
         if (referenceNo == null || referenceNo.trim().isEmpty()) {
-            System.out.println("❌ Empty reference number provided");
+            LOG.debug("❌ Empty reference number provided");
             return null;
         }
         
-        String sql = "SELECT b.*, c.name as category_name FROM books b " +
-                    "LEFT JOIN categories c ON b.category_id = c.id " +
-                    "WHERE UPPER(TRIM(b.reference_no)) = UPPER(TRIM(?))";
+        Book indexed = BookReferenceIndex.getInstance().findByReference(referenceNo);
+        if (indexed != null) {
+            return indexed;
+        }
         
+        // Not indexed yet (e.g. created on another node since the last reload)
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(REFERENCE_LOOKUP_SQL)) {
             
             String cleanRef = referenceNo.trim();
-            stmt.setString(1, cleanRef);
+            stmt.setString(1, BookReferenceIndex.normalize(cleanRef));
             
-            System.out.println("🔍 Searching for reference: '" + cleanRef + "'");
+            LOG.debug("🔍 Searching for reference: '{}'", cleanRef);
             
-            try (ResultSet rs = stmt.executeQuery()) {
+            try (ResultSet rs = REFERENCE_LOOKUP_TIMER.executeQuery(stmt)) {
                 if (rs.next()) {
                     Book book = extractBookFromResultSet(rs);
-                    System.out.println("✅ Found book: " + book.getTitle() + " (ID: " + book.getId() + ")");
+                    loadImagesForBook(conn, book);
+                    BookReferenceIndex.getInstance().put(book);
+                    LOG.debug("✅ Found book: {} (ID: {})", book.getTitle(), book.getId());
                     return book;
                 } else {
-                    System.out.println("❌ No book found with reference: '" + cleanRef + "'");
-                    
-                    // Debug: Check if any books exist with similar reference
-                    checkSimilarReferences(cleanRef);
+                    LOG.debug("❌ No book found with reference: '{}'", cleanRef);
                     return null;
                 }
             }
         } catch (SQLException e) {
-            System.err.println("❌ Database error searching for reference '" + referenceNo + "': " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Database error searching for reference '{}'", referenceNo, e);
             return null;
         }
     }
     
-    // Search book by QR code (Enhanced)
+    // Search book by QR code (served from the in-memory reference index, DB on a miss)
     public Book getBookByQrCode(String qrCode) {
         if (qrCode == null || qrCode.trim().isEmpty()) {
-            System.out.println("❌ Empty QR code provided");
+            LOG.debug("❌ Empty QR code provided");
             return null;
         }
         
-        String sql = "SELECT b.*, c.name as category_name FROM books b " +
-                    "LEFT JOIN categories c ON b.category_id = c.id " +
-                    "WHERE UPPER(TRIM(b.qr_code)) = UPPER(TRIM(?)) OR UPPER(TRIM(b.reference_no)) = UPPER(TRIM(?))";
+        Book indexed = BookReferenceIndex.getInstance().findByQrCode(qrCode);
+        if (indexed != null) {
+            return indexed;
+        }
         
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(QR_LOOKUP_SQL)) {
             
             String cleanQr = qrCode.trim();
-            stmt.setString(1, cleanQr);
-            stmt.setString(2, cleanQr); // Also search reference_no field
+            String key = BookReferenceIndex.normalize(cleanQr);
+            stmt.setString(1, key);
+            stmt.setString(2, key); // Also search reference_no field
             
-            System.out.println("🔍 Searching for QR/Reference: '" + cleanQr + "'");
+            LOG.debug("🔍 Searching for QR/Reference: '{}'", cleanQr);
             
-            try (ResultSet rs = stmt.executeQuery()) {
+            try (ResultSet rs = QR_LOOKUP_TIMER.executeQuery(stmt)) {
                 if (rs.next()) {
                     Book book = extractBookFromResultSet(rs);
-                    System.out.println("✅ Found book via QR: " + book.getTitle() + " (ID: " + book.getId() + ")");
+                    loadImagesForBook(conn, book);
+                    BookReferenceIndex.getInstance().put(book);
+                    LOG.debug("✅ Found book via QR: {} (ID: {})", book.getTitle(), book.getId());
                     return book;
                 } else {
-                    System.out.println("❌ No book found with QR code: '" + cleanQr + "'");
+                    LOG.debug("❌ No book found with QR code: '{}'", cleanQr);
                     return null;
                 }
             }
         } catch (SQLException e) {
-            System.err.println("❌ Database error searching for QR code '" + qrCode + "': " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Database error searching for QR code '{}'", qrCode, e);
             return null;
         }
     }
     
-    // Debug method to check similar references
-    private void checkSimilarReferences(String searchRef) {
-        String sql = "SELECT reference_no FROM books WHERE reference_no IS NOT NULL AND reference_no != '' LIMIT 10";
+    // Batch lookup by scan code: size keys matched against reference_key and the same size against qr_key
+    static String scanCodesSql(int size) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        return "SELECT b.*, c.name as category_name FROM books b " +
+               "LEFT JOIN categories c ON b.category_id = c.id " +
+               "WHERE b.reference_key IN (" + placeholders + ") " +
+               "OR b.qr_key IN (" + placeholders + ")";
+    }
+    
+    // Resolve a whole basket of scanned codes: reference index first, then one IN (...) query
+    // on the normalized key columns for the codes it does not know (reference number wins over QR code)
+    public Map<String, Book> getBooksByScanCodes(Collection<String> codes) {
+        Map<String, Book> found = BookReferenceIndex.getInstance().findAll(codes);
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            System.out.println("📋 Sample reference numbers in database:");
-            int count = 0;
-            while (rs.next() && count < 5) {
-                String ref = rs.getString("reference_no");
-                System.out.println("   - " + ref);
-                count++;
+        List<String> missing = new ArrayList<>();
+        for (String code : codes) {
+            String key = BookReferenceIndex.normalize(code);
+            if (key != null && !found.containsKey(key) && !missing.contains(key)) {
+                missing.add(key);
             }
-            
-            // Check for case-insensitive partial matches
-            checkPartialMatches(searchRef);
-            
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (int start = 0; start < missing.size(); start += IMAGE_BATCH_SIZE) {
+                int end = Math.min(start + IMAGE_BATCH_SIZE, missing.size());
+                int size = paddedBatchSize(end - start);
+                
+                List<Book> books = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(scanCodesSql(size))) {
+                    for (int i = 0; i < size; i++) {
+                        // Codes are already trimmed and upper-cased; pad with the last one
+                        String key = missing.get(Math.min(start + i, end - 1));
+                        stmt.setString(i + 1, key);
+                        stmt.setString(size + i + 1, key);
+                    }
+                    try (ResultSet rs = SCAN_BATCH_TIMER.executeQuery(stmt)) {
+                        while (rs.next()) {
+                            books.add(extractBookFromResultSet(rs));
+                        }
+                    }
+                }
+                loadImagesForBooks(conn, books);
+                
+                for (Book book : books) {
+                    String referenceKey = BookReferenceIndex.normalize(book.getReferenceNo());
+                    if (referenceKey != null) {
+                        found.put(referenceKey, book);
+                    }
+                    BookReferenceIndex.getInstance().put(book);
+                }
+                for (Book book : books) {
+                    String qrKey = BookReferenceIndex.normalize(book.getQrCode());
+                    if (qrKey != null) {
+                        found.putIfAbsent(qrKey, book);
+                    }
+                }
+            }
+            LOG.debug("🔍 Resolved {} scan code(s), {} from the database", found.size(), missing.size());
         } catch (SQLException e) {
-            System.err.println("Error checking similar references: " + e.getMessage());
+            LOG.error("❌ Error resolving scan codes", e);
         }
+        
+        return found;
     }
     
-    // Check for partial matches
-    private void checkPartialMatches(String searchRef) {
-        String sql = "SELECT reference_no, title FROM books WHERE reference_no LIKE ? LIMIT 5";
+    // Get several books by ID in one query (used to refresh the reference index after writes)
+    public List<Book> getBooksByIds(Collection<Integer> ids) {
+        return getBooksByIds(ids, true);
+    }
+    
+    // Get several books by ID in one query, optionally without images
+    public List<Book> getBooksByIds(Collection<Integer> ids, boolean includeImages) {
+        List<Book> books = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            return books;
+        }
+        
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+        String sql = "SELECT b.*, c.name as category_name FROM books b " +
+                    "LEFT JOIN categories c ON b.category_id = c.id " +
+                    "WHERE b.id IN (" + placeholders + ")";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, "%" + searchRef + "%");
-            
+            int index = 1;
+            for (Integer id : ids) {
+                stmt.setInt(index++, id);
+            }
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    System.out.println("🔍 Similar references found:");
-                    do {
-                        System.out.println("   - " + rs.getString("reference_no") + " (" + rs.getString("title") + ")");
-                    } while (rs.next());
+                while (rs.next()) {
+                    books.add(extractBookFromResultSet(rs));
                 }
             }
+            if (includeImages) {
+                loadImagesForBooks(conn, books);
+            }
         } catch (SQLException e) {
-            System.err.println("Error checking partial matches: " + e.getMessage());
+            LOG.error("❌ Error fetching books by IDs", e);
         }
+        
+        return books;
     }
     
     // Generate next reference number
@@ -194,7 +464,7 @@ public class BookDAO {
                 return rs.getString("ref_no");
             }
         } catch (SQLException e) {
-            System.out.println("📝 Using fallback reference generation (stored function not available)");
+            LOG.info("📝 Using fallback reference generation (stored function not available)");
             // Fallback to manual generation if function doesn't exist
             return generateReferenceNumberFallback();
         }
@@ -214,17 +484,16 @@ public class BookDAO {
                 int count = rs.getInt("count") + 1;
                 String refNo = String.format("BK%d%06d", 
                     java.time.Year.now().getValue(), count);
-                System.out.println("📝 Generated reference number: " + refNo);
+                LOG.info("📝 Generated reference number: {}", refNo);
                 return refNo;
             }
         } catch (SQLException e) {
-            System.err.println("Error generating reference number: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error generating reference number", e);
         }
         
         // Final fallback
         String finalRef = "BK" + System.currentTimeMillis();
-        System.out.println("📝 Using timestamp-based reference: " + finalRef);
+        LOG.info("📝 Using timestamp-based reference: {}", finalRef);
         return finalRef;
     }
     
@@ -306,23 +575,25 @@ public class BookDAO {
                     }
                     
                     conn.commit();
-                    System.out.println("✅ Successfully created book: " + book.getTitle() + " (Ref: " + book.getReferenceNo() + ")");
+                    CatalogCache.invalidateBook(bookId);
+                    BookReferenceIndex.getInstance().refresh(bookId);
+                    CatalogIndexes.bookChanged(bookId);
+                    LOG.info("✅ Successfully created book: {} (Ref: {})", book.getTitle(), book.getReferenceNo());
                     return true;
                 }
             }
             
             conn.rollback();
-            System.out.println("❌ Failed to create book: " + book.getTitle());
+            LOG.warn("❌ Failed to create book: {}", book.getTitle());
             return false;
             
         } catch (SQLException e) {
-            System.err.println("❌ Error creating book: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error creating book", e);
             if (conn != null) {
                 try {
                     conn.rollback();
                 } catch (SQLException rollbackEx) {
-                    rollbackEx.printStackTrace();
+                    LOG.error("❌ Rollback failed", rollbackEx);
                 }
             }
             return false;
@@ -336,7 +607,7 @@ public class BookDAO {
                     conn.close();
                 }
             } catch (SQLException e) {
-                e.printStackTrace();
+                LOG.warn("⚠️ Error closing connection", e);
             }
         }
     }
@@ -412,22 +683,24 @@ public class BookDAO {
                 }
                 
                 conn.commit();
-                System.out.println("✅ Successfully updated book: " + book.getTitle());
+                CatalogCache.invalidateBook(book.getId());
+                BookReferenceIndex.getInstance().refresh(book.getId());
+                CatalogIndexes.bookChanged(book.getId());
+                LOG.info("✅ Successfully updated book: {}", book.getTitle());
                 return true;
             }
             
             conn.rollback();
-            System.out.println("❌ Failed to update book: " + book.getTitle());
+            LOG.warn("❌ Failed to update book: {}", book.getTitle());
             return false;
             
         } catch (SQLException e) {
-            System.err.println("❌ Error updating book: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error updating book", e);
             if (conn != null) {
                 try {
                     conn.rollback();
                 } catch (SQLException rollbackEx) {
-                    rollbackEx.printStackTrace();
+                    LOG.error("❌ Rollback failed", rollbackEx);
                 }
             }
             return false;
@@ -441,13 +714,28 @@ public class BookDAO {
                     conn.close();
                 }
             } catch (SQLException e) {
-                e.printStackTrace();
+                LOG.warn("⚠️ Error closing connection", e);
             }
         }
     }
     
     // Search books by multiple criteria
     public List<Book> searchBooks(String searchTerm, String category, String status) {
+        return searchBooks(searchTerm, category, status, true);
+    }
+    
+    // Search books by multiple criteria, optionally without images
+    public List<Book> searchBooks(String searchTerm, String category, String status, boolean includeImages) {
+        return searchBooks(searchTerm, category, status, includeImages, Integer.MAX_VALUE);
+    }
+    
+    // Search books by multiple criteria, returning at most limit books.
+    // Text searches are answered by the in-memory search index (ranked by relevance).
+    public List<Book> searchBooks(String searchTerm, String category, String status, boolean includeImages, int limit) {
+        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+            return searchIndexed(searchTerm, category, status, includeImages, limit);
+        }
+        
         List<Book> books = new ArrayList<>();
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT b.*, c.name as category_name FROM books b ");
@@ -455,14 +743,6 @@ public class BookDAO {
         
         List<Object> params = new ArrayList<>();
         
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            sql.append("AND (b.title LIKE ? OR b.author LIKE ? OR b.reference_no LIKE ?) ");
-            String searchPattern = "%" + searchTerm.trim() + "%";
-            params.add(searchPattern);
-            params.add(searchPattern);
-            params.add(searchPattern);
-        }
-        
         if (category != null && !category.trim().isEmpty() && !"all".equals(category)) {
             sql.append("AND c.name = ? ");
             params.add(category);
@@ -474,6 +754,10 @@ public class BookDAO {
         }
         
         sql.append("ORDER BY b.title");
+        if (limit < Integer.MAX_VALUE) {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        }
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
@@ -487,14 +771,39 @@ public class BookDAO {
                     books.add(extractBookFromResultSet(rs));
                 }
             }
+            
+            if (includeImages) {
+                loadImagesForBooks(conn, books);
+            }
         } catch (SQLException e) {
-            System.err.println("❌ Error searching books: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error searching books", e);
         }
         
         return books;
     }
     
+    // The index ranks and cuts the page in memory; only the books returned get images,
+    // loaded in padded batches like every other list
+    private List<Book> searchIndexed(String searchTerm, String category, String status, boolean includeImages, int limit) {
+        BookSearchIndex.SearchResults results =
+                BookSearchIndex.getInstance().search(searchTerm, category, status, limit);
+        if (!includeImages || results.books.isEmpty()) {
+            return new ArrayList<>(results.books);
+        }
+        
+        // Indexed books are shared - attach images to copies
+        List<Book> books = new ArrayList<>(results.books.size());
+        for (Book indexed : results.books) {
+            books.add(new Book(indexed));
+        }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            loadImagesForBooks(conn, books);
+        } catch (SQLException e) {
+            LOG.error("❌ Error loading images for search results", e);
+        }
+        return books;
+    }
+    
     // Delete book with all related data
     public boolean deleteBook(int id) {
         Connection conn = null;
@@ -517,22 +826,24 @@ public class BookDAO {
             
             if (affectedRows > 0) {
                 conn.commit();
-                System.out.println("✅ Successfully deleted book with ID: " + id);
+                CatalogCache.invalidateBook(id);
+                BookReferenceIndex.getInstance().remove(id);
+                CatalogIndexes.bookDeleted(id);
+                LOG.info("✅ Successfully deleted book with ID: {}", id);
                 return true;
             }
             
             conn.rollback();
-            System.out.println("❌ Failed to delete book with ID: " + id);
+            LOG.warn("❌ Failed to delete book with ID: {}", id);
             return false;
             
         } catch (SQLException e) {
-            System.err.println("❌ Error deleting book: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error deleting book", e);
             if (conn != null) {
                 try {
                     conn.rollback();
                 } catch (SQLException rollbackEx) {
-                    rollbackEx.printStackTrace();
+                    LOG.error("❌ Rollback failed", rollbackEx);
                 }
             }
             return false;
@@ -545,7 +856,7 @@ public class BookDAO {
                     conn.close();
                 }
             } catch (SQLException e) {
-                e.printStackTrace();
+                LOG.warn("⚠️ Error closing connection", e);
             }
         }
     }
@@ -562,8 +873,7 @@ public class BookDAO {
                 return rs.getInt(1);
             }
         } catch (SQLException e) {
-            System.err.println("❌ Error getting total books count: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error getting total books count", e);
         }
         
         return 0;
@@ -571,6 +881,11 @@ public class BookDAO {
     
     // Get out of stock books
     public List<Book> getOutOfStockBooks() {
+        return getOutOfStockBooks(true);
+    }
+    
+    // Get out of stock books, optionally without images
+    public List<Book> getOutOfStockBooks(boolean includeImages) {
         List<Book> books = new ArrayList<>();
         String sql = "SELECT b.*, c.name as category_name FROM books b " +
                     "LEFT JOIN categories c ON b.category_id = c.id " +
@@ -584,9 +899,12 @@ public class BookDAO {
             while (rs.next()) {
                 books.add(extractBookFromResultSet(rs));
             }
+            
+            if (includeImages) {
+                loadImagesForBooks(conn, books);
+            }
         } catch (SQLException e) {
-            System.err.println("❌ Error getting out of stock books: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error getting out of stock books", e);
         }
         
         return books;
@@ -594,6 +912,11 @@ public class BookDAO {
     
     // Get low stock books
     public List<Book> getLowStockBooks(int threshold) {
+        return getLowStockBooks(threshold, true);
+    }
+    
+    // Get low stock books, optionally without images
+    public List<Book> getLowStockBooks(int threshold, boolean includeImages) {
         List<Book> books = new ArrayList<>();
         String sql = "SELECT b.*, c.name as category_name FROM books b " +
                     "LEFT JOIN categories c ON b.category_id = c.id " +
@@ -609,9 +932,12 @@ public class BookDAO {
                     books.add(extractBookFromResultSet(rs));
                 }
             }
+            
+            if (includeImages) {
+                loadImagesForBooks(conn, books);
+            }
         } catch (SQLException e) {
-            System.err.println("❌ Error getting low stock books: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error getting low stock books", e);
         }
         
         return books;
@@ -632,13 +958,72 @@ public class BookDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("❌ Error getting book images: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error getting book images", e);
         }
         
         return images;
     }
     
+    // Load images for a single book on an already open connection
+    private void loadImagesForBook(Connection conn, Book book) throws SQLException {
+        List<Book> single = new ArrayList<>(1);
+        single.add(book);
+        loadImagesForBooks(conn, single);
+    }
+    
+    // Load images for a whole result page with one IN (...) query per batch instead of one query per book
+    private void loadImagesForBooks(Connection conn, List<Book> books) throws SQLException {
+        if (books.isEmpty()) {
+            return;
+        }
+        
+        Map<Integer, List<String>> imagesByBookId = new HashMap<>();
+        for (Book book : books) {
+            imagesByBookId.put(book.getId(), new ArrayList<>());
+        }
+        
+        for (int start = 0; start < books.size(); start += IMAGE_BATCH_SIZE) {
+            int end = Math.min(start + IMAGE_BATCH_SIZE, books.size());
+            int placeholders = paddedBatchSize(end - start);
+            
+            StringBuilder sql = new StringBuilder("SELECT book_id, image_url FROM book_images WHERE book_id IN (");
+            for (int i = 0; i < placeholders; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(") ORDER BY book_id, is_primary DESC, id");
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < placeholders; i++) {
+                    // Pad with the last ID of the batch - duplicates in IN (...) are harmless
+                    int index = Math.min(start + i, end - 1);
+                    stmt.setInt(i + 1, books.get(index).getId());
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        List<String> images = imagesByBookId.get(rs.getInt("book_id"));
+                        if (images != null) {
+                            images.add(rs.getString("image_url"));
+                        }
+                    }
+                }
+            }
+        }
+        
+        for (Book book : books) {
+            book.setImages(imagesByBookId.get(book.getId()));
+        }
+    }
+    
+    // Round an IN list size up to 1, 4, 16, 64, 256 or IMAGE_BATCH_SIZE
+    private int paddedBatchSize(int size) {
+        int padded = 1;
+        while (padded < size) {
+            padded *= 4;
+        }
+        return Math.min(padded, IMAGE_BATCH_SIZE);
+    }
+    
     // Update book reference only
     public boolean updateBookReference(Book book) {
         String sql = "UPDATE books SET reference_no = ?, qr_code = ? WHERE id = ?";
@@ -652,17 +1037,19 @@ public class BookDAO {
             
             boolean success = stmt.executeUpdate() > 0;
             if (success) {
-                System.out.println("✅ Updated reference for book ID " + book.getId() + " to: " + book.getReferenceNo());
+                CatalogCache.invalidateBook(book.getId());
+                BookReferenceIndex.getInstance().refresh(book.getId());
+                CatalogIndexes.bookChanged(book.getId());
+                LOG.info("✅ Updated reference for book ID {} to: {}", book.getId(), book.getReferenceNo());
             }
             return success;
         } catch (SQLException e) {
-            System.err.println("❌ Error updating book reference: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error updating book reference", e);
             return false;
         }
     }
     
-    // Get books without reference numbers
+    // Get books without reference numbers (images are not loaded - only used for reference generation)
     public List<Book> getBooksWithoutReferences() {
         List<Book> books = new ArrayList<>();
         String sql = "SELECT b.*, c.name as category_name FROM books b " +
@@ -677,10 +1064,9 @@ public class BookDAO {
             while (rs.next()) {
                 books.add(extractBookFromResultSet(rs));
             }
-            System.out.println("📊 Found " + books.size() + " books without reference numbers");
+            LOG.info("📊 Found {} books without reference numbers", books.size());
         } catch (SQLException e) {
-            System.err.println("❌ Error getting books without references: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error getting books without references", e);
         }
         
         return books;
@@ -700,8 +1086,7 @@ public class BookDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("❌ Error checking reference number existence: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error checking reference number existence", e);
         }
         
         return false;
@@ -723,16 +1108,17 @@ public class BookDAO {
             if (affected > 0) {
                 // Check if book is now out of stock and update status
                 updateBookStatusBasedOnStock(bookId);
-                System.out.println("✅ Updated stock for book ID " + bookId + " (sold: " + quantitySold + ")");
+                BookReferenceIndex.getInstance().refresh(bookId);
+                CatalogIndexes.bookChanged(bookId);
+                LOG.debug("✅ Updated stock for book ID {} (sold: {})", bookId, quantitySold);
                 return true;
             } else {
-                System.out.println("❌ Could not update stock - insufficient quantity or book not found");
+                LOG.debug("❌ Could not update stock - insufficient quantity or book not found");
                 return false;
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Error updating book stock: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error updating book stock", e);
             return false;
         }
     }
@@ -752,7 +1138,7 @@ public class BookDAO {
             stmt.executeUpdate();
             
         } catch (SQLException e) {
-            System.err.println("❌ Error updating book status: " + e.getMessage());
+            LOG.error("❌ Error updating book status: {}", e.getMessage());
         }
     }
     
@@ -771,9 +1157,10 @@ public class BookDAO {
             while (rs.next()) {
                 books.add(extractBookFromResultSet(rs));
             }
+            
+            loadImagesForBooks(conn, books);
         } catch (SQLException e) {
-            System.err.println("❌ Error getting books with offers: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error getting books with offers", e);
         }
         
         return books;
@@ -792,11 +1179,10 @@ public class BookDAO {
                 references.add(rs.getString("reference_no"));
             }
             
-            System.out.println("📊 Total reference numbers in database: " + references.size());
+            LOG.info("📊 Total reference numbers in database: {}", references.size());
             
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching reference numbers: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error fetching reference numbers", e);
         }
         
         return references;
@@ -832,15 +1218,14 @@ public class BookDAO {
                 book.setQrCode(refNo);
                 
                 if (createBook(book, new ArrayList<>())) {
-                    System.out.println("✅ Created sample book: " + book.getTitle() + " (Ref: " + refNo + ")");
+                    LOG.info("✅ Created sample book: {} (Ref: {})", book.getTitle(), refNo);
                 } else {
-                    System.out.println("❌ Failed to create sample book: " + book.getTitle());
+                    LOG.warn("❌ Failed to create sample book: {}", book.getTitle());
                 }
             }
             return true;
         } catch (Exception e) {
-            System.err.println("❌ Error creating sample books: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error creating sample books", e);
             return false;
         }
     }
@@ -850,7 +1235,7 @@ public class BookDAO {
         List<Book> booksWithoutRefs = getBooksWithoutReferences();
         int updated = 0;
         
-        System.out.println("🔄 Generating references for " + booksWithoutRefs.size() + " books...");
+        LOG.info("🔄 Generating references for {} books...", booksWithoutRefs.size());
         
         for (Book book : booksWithoutRefs) {
             String newRef = generateReferenceNumber();
@@ -859,13 +1244,13 @@ public class BookDAO {
             
             if (updateBookReference(book)) {
                 updated++;
-                System.out.println("✅ Generated reference " + newRef + " for: " + book.getTitle());
+                LOG.info("✅ Generated reference {} for: {}", newRef, book.getTitle());
             } else {
-                System.out.println("❌ Failed to generate reference for: " + book.getTitle());
+                LOG.warn("❌ Failed to generate reference for: {}", book.getTitle());
             }
         }
         
-        System.out.println("📊 Successfully generated " + updated + " reference numbers");
+        LOG.info("📊 Successfully generated {} reference numbers", updated);
         return updated;
     }
     
@@ -896,15 +1281,14 @@ public class BookDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Error getting book statistics: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error getting book statistics", e);
         }
         
         return stats;
     }
     
-    // Extract book from result set with reference data (Enhanced)
-    private Book extractBookFromResultSet(ResultSet rs) throws SQLException {
+    // Extract book from result set with reference data (package-private for the mapping benchmark)
+    Book extractBookFromResultSet(ResultSet rs) throws SQLException {
         Book book = new Book();
         book.setId(rs.getInt("id"));
         book.setTitle(rs.getString("title"));
@@ -928,9 +1312,7 @@ public class BookDAO {
             // Ignore if columns don't exist
         }
         
-        // Load images for this book
-        book.setImages(getBookImages(book.getId()));
-        
+        // Images are attached afterwards by loadImagesForBooks (one query per page, not per row)
         return book;
     }
     
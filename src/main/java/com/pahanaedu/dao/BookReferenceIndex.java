@@ -0,0 +1,343 @@
+// File: src/main/java/com/pahanaedu/dao/BookReferenceIndex.java
+package com.pahanaedu.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pahanaedu.models.Book;
+import com.pahanaedu.utils.BackgroundReloader;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * In-memory index from normalized reference number / QR code to Book, used by cashier scans.
+ *
+ * Keys are trimmed and upper-cased the same way the SQL lookups do, so a scan resolves
+ * with a hash lookup instead of a full table scan. BookDAO and BillDAO refresh entries
+ * after every write, and the whole index is reloaded in the background every MAX_AGE_MS to
+ * pick up changes made by other application nodes; scans keep using the previous snapshot
+ * meanwhile, and keep it if the reload fails. Returned Book objects are shared - treat them
+ * as read-only.
+ */
+public class BookReferenceIndex {
+    
+    private static final Logger LOG = Logger.get(BookReferenceIndex.class);
+    
+    private static final BookReferenceIndex INSTANCE = new BookReferenceIndex();
+    
+    // Full reload interval (catches writes from other nodes)
+    private static final long MAX_AGE_MS = 5 * 60 * 1000;
+    
+    private final BookDAO bookDAO = new BookDAO();
+    
+    private volatile Snapshot snapshot;
+    private volatile long loadedAt;
+    private final BackgroundReloader reloader = new BackgroundReloader("pahanaedu-reference-index", this::reload);
+    
+    // Book IDs written while a full reload is reading the table, re-applied after the swap
+    private volatile Set<Integer> changedDuringLoad;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    
+    private BookReferenceIndex() {
+    }
+    
+    public static BookReferenceIndex getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Normalize a reference number or QR code the same way as the reference_key / qr_key
+     * columns (UPPER(TRIM(x)) in SQL)
+     * @param value Raw reference or QR code
+     * @return Normalized key, or null for blank input
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed.toUpperCase(Locale.ROOT);
+    }
+    
+    /**
+     * Find a book by reference number
+     * @param referenceNo Reference number as scanned or typed
+     * @return Book or null if not indexed
+     */
+    public Book findByReference(String referenceNo) {
+        String key = normalize(referenceNo);
+        if (key == null) {
+            return null;
+        }
+        Book book = currentSnapshot().byReference.get(key);
+        record(book);
+        return book;
+    }
+    
+    /**
+     * Find a book by QR code, falling back to reference number (same as BookDAO.getBookByQrCode)
+     * @param qrCode QR code data as scanned
+     * @return Book or null if not indexed
+     */
+    public Book findByQrCode(String qrCode) {
+        String key = normalize(qrCode);
+        if (key == null) {
+            return null;
+        }
+        Snapshot current = currentSnapshot();
+        Book book = current.byQrCode.get(key);
+        if (book == null) {
+            book = current.byReference.get(key);
+        }
+        record(book);
+        return book;
+    }
+    
+    /**
+     * Resolve a whole basket against one snapshot (reference number first, then QR code,
+     * the same order as a single scan)
+     * @param codes Reference numbers or QR codes as scanned
+     * @return Books by normalized code; codes that are not indexed are absent
+     */
+    public Map<String, Book> findAll(Collection<String> codes) {
+        Map<String, Book> found = new HashMap<>();
+        Snapshot current = currentSnapshot();
+        for (String code : codes) {
+            String key = normalize(code);
+            if (key == null || found.containsKey(key)) {
+                continue;
+            }
+            Book book = current.byReference.get(key);
+            if (book == null) {
+                book = current.byQrCode.get(key);
+            }
+            record(book);
+            if (book != null) {
+                found.put(key, book);
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Add or replace a book loaded from the database (e.g. after a DB fallback lookup)
+     * @param book Book with reference data
+     */
+    public void put(Book book) {
+        Snapshot current = snapshot;
+        if (current != null && book != null) {
+            current.put(book);
+        }
+    }
+    
+    /**
+     * Reload one book from the database after it was created or changed
+     * @param bookId Book ID
+     */
+    public void refresh(int bookId) {
+        refreshAll(Collections.singletonList(bookId));
+    }
+    
+    /**
+     * Reload several books from the database with a single query
+     * @param bookIds Book IDs that changed
+     */
+    public void refreshAll(Collection<Integer> bookIds) {
+        Set<Integer> pending = changedDuringLoad;
+        if (pending != null) {
+            pending.addAll(bookIds);
+        }
+        
+        Snapshot current = snapshot;
+        if (current == null || bookIds.isEmpty()) {
+            return; // Not loaded yet - the first lookup will load everything
+        }
+        
+        List<Book> books = bookDAO.getBooksByIds(bookIds);
+        Set<Integer> found = ConcurrentHashMap.newKeySet();
+        for (Book book : books) {
+            current.put(book);
+            found.add(book.getId());
+        }
+        for (Integer bookId : bookIds) {
+            if (!found.contains(bookId)) {
+                current.remove(bookId);
+            }
+        }
+    }
+    
+    /**
+     * Drop a deleted book from the index
+     * @param bookId Book ID
+     */
+    public void remove(int bookId) {
+        Set<Integer> pending = changedDuringLoad;
+        if (pending != null) {
+            pending.add(bookId);
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.remove(bookId);
+        }
+    }
+    
+    /**
+     * Load the index now if it is not loaded, or start a background reload if it is due
+     */
+    public void warmUp() {
+        currentSnapshot();
+    }
+    
+    /**
+     * Stop the background reload thread (called when the webapp stops)
+     */
+    public void shutdown() {
+        reloader.shutdown();
+    }
+    
+    /**
+     * Start a full reload on the next lookup (served from the current snapshot until it is done)
+     */
+    public void invalidate() {
+        loadedAt = 0;
+    }
+    
+    /**
+     * Get index size and hit ratio for the admin dashboard
+     * @return IndexStats snapshot
+     */
+    public IndexStats getStats() {
+        IndexStats stats = new IndexStats();
+        Snapshot current = snapshot;
+        if (current != null) {
+            stats.books = current.byId.size();
+            stats.referenceKeys = current.byReference.size();
+            stats.qrCodeKeys = current.byQrCode.size();
+        }
+        stats.hits = hits.sum();
+        stats.misses = misses.sum();
+        long lookups = stats.hits + stats.misses;
+        stats.hitRatio = lookups > 0 ? stats.hits / (double) lookups : 0.0;
+        stats.reloads = reloads.sum();
+        stats.loadedAt = loadedAt;
+        return stats;
+    }
+    
+    private void record(Book book) {
+        if (book != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+    }
+    
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            if (System.currentTimeMillis() - loadedAt >= MAX_AGE_MS) {
+                reloader.trigger(); // Stale but usable - never make a scan wait for a full load
+            }
+            return current;
+        }
+        
+        // First use: nothing to serve yet, so wait for the load
+        reloader.reloadAndWait();
+        current = snapshot;
+        return current != null ? current : new Snapshot(); // Load failed - every lookup misses and falls back to SQL
+    }
+    
+    // Runs on the reloader thread; keeps the previous snapshot if the catalog cannot be read.
+    // Reads the database, not the catalog cache, so codes added on other nodes show up, and
+    // skips images - scans only need the book's fields and stock.
+    private boolean reload() {
+        Set<Integer> pending = ConcurrentHashMap.newKeySet();
+        changedDuringLoad = pending;
+        
+        Snapshot fresh = new Snapshot();
+        try {
+            List<Book> books = bookDAO.getAllBooksFromDatabase(false);
+            if (books == null) {
+                LOG.warn("⚠️ Reference index reload failed - keeping the previous snapshot");
+                return false;
+            }
+            for (Book book : books) {
+                fresh.put(book);
+            }
+            
+            snapshot = fresh;
+            loadedAt = System.currentTimeMillis();
+            reloads.increment();
+        } finally {
+            changedDuringLoad = null;
+        }
+        
+        if (!pending.isEmpty()) {
+            refreshAll(new ArrayList<>(pending));
+        }
+        
+        LOG.info("📇 Reference index loaded: {} books", fresh.byId.size());
+        return true;
+    }
+    
+    // One generation of the index; replaced wholesale on reload, updated in place by writes
+    private static final class Snapshot {
+        final Map<Integer, Book> byId = new ConcurrentHashMap<>();
+        final Map<String, Book> byReference = new ConcurrentHashMap<>();
+        final Map<String, Book> byQrCode = new ConcurrentHashMap<>();
+        
+        synchronized void put(Book book) {
+            Book previous = byId.put(book.getId(), book);
+            if (previous != null) {
+                removeKeys(previous);
+            }
+            String referenceKey = normalize(book.getReferenceNo());
+            if (referenceKey != null) {
+                byReference.put(referenceKey, book);
+            }
+            String qrKey = normalize(book.getQrCode());
+            if (qrKey != null) {
+                byQrCode.put(qrKey, book);
+            }
+        }
+        
+        synchronized void remove(int bookId) {
+            Book previous = byId.remove(bookId);
+            if (previous != null) {
+                removeKeys(previous);
+            }
+        }
+        
+        private void removeKeys(Book previous) {
+            String referenceKey = normalize(previous.getReferenceNo());
+            if (referenceKey != null) {
+                byReference.remove(referenceKey, previous);
+            }
+            String qrKey = normalize(previous.getQrCode());
+            if (qrKey != null) {
+                byQrCode.remove(qrKey, previous);
+            }
+        }
+    }
+    
+    // Index statistics for the admin endpoint
+    public static class IndexStats {
+        public int books;
+        public int referenceKeys;
+        public int qrCodeKeys;
+        public long hits;
+        public long misses;
+        public double hitRatio;
+        public long reloads;
+        public long loadedAt;
+    }
+}
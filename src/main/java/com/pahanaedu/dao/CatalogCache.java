@@ -0,0 +1,66 @@
+// File: src/main/java/com/pahanaedu/dao/CatalogCache.java
+package com.pahanaedu.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.pahanaedu.models.Book;
+import com.pahanaedu.models.Category;
+import com.pahanaedu.utils.TtlCache;
+
+/**
+ * Read-through caches for catalog reads in BookDAO and CategoryDAO.
+ *
+ * Only descriptive data is trusted from the cache: BookDAO re-reads stock and
+ * status on every hit, so stock stays strongly consistent. Writes invalidate
+ * explicitly; the TTL bounds staleness for writes made by other nodes.
+ */
+public final class CatalogCache {
+    
+    private static final long TTL_MS = 5 * 60 * 1000;
+    
+    // Keyed by book ID
+    static final TtlCache<Integer, Book> BOOKS_BY_ID = new TtlCache<>("booksById", 2000, TTL_MS);
+    
+    // Full book list, keyed by "with images"
+    static final TtlCache<Boolean, List<Book>> BOOK_LISTS = new TtlCache<>("bookLists", 2, TTL_MS);
+    
+    // Category lists, keyed by query name
+    static final TtlCache<String, List<Category>> CATEGORY_LISTS = new TtlCache<>("categoryLists", 4, TTL_MS);
+    
+    private CatalogCache() {
+    }
+    
+    // A book was created, changed or deleted (category book counts change too)
+    static void invalidateBook(int bookId) {
+        BOOKS_BY_ID.invalidate(bookId);
+        BOOK_LISTS.invalidateAll();
+        CATEGORY_LISTS.invalidateAll();
+    }
+    
+    // A category changed - cached books carry the category name
+    static void invalidateCategories() {
+        CATEGORY_LISTS.invalidateAll();
+        BOOK_LISTS.invalidateAll();
+        BOOKS_BY_ID.invalidateAll();
+    }
+    
+    /**
+     * Drop everything (e.g. after bulk data changes)
+     */
+    public static void invalidateAll() {
+        invalidateCategories();
+    }
+    
+    /**
+     * Get hit/miss/eviction counters of every catalog cache
+     * @return One CacheStats per cache
+     */
+    public static List<TtlCache.CacheStats> getStats() {
+        List<TtlCache.CacheStats> stats = new ArrayList<>();
+        stats.add(BOOKS_BY_ID.getStats());
+        stats.add(BOOK_LISTS.getStats());
+        stats.add(CATEGORY_LISTS.getStats());
+        return stats;
+    }
+}
@@ -3,15 +3,25 @@ package com.pahanaedu.dao;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.pahanaedu.models.Category;
+import com.pahanaedu.search.CatalogIndexes;
 import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
 
 public class CategoryDAO {
     
-    // Get all categories
+    private static final Logger LOG = Logger.get(CategoryDAO.class);
+    
+    // Get all categories (cached; invalidated by category writes)
     public List<Category> getAllCategories() {
+        List<Category> cached = CatalogCache.CATEGORY_LISTS.get("all", key -> loadAllCategories());
+        return cached != null ? new ArrayList<>(cached) : new ArrayList<>();
+    }
+    
+    private List<Category> loadAllCategories() {
         List<Category> categories = new ArrayList<>();
         String sql = "SELECT * FROM categories ORDER BY name";
         
@@ -23,14 +33,20 @@ public class CategoryDAO {
                 categories.add(extractCategoryFromResultSet(rs));
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error fetching categories", e);
+            return null; // Not cached
         }
         
-        return categories;
+        return Collections.unmodifiableList(categories);
     }
     
-    // Get categories with book count
+    // Get categories with book count (cached; invalidated by category and book writes)
     public List<Category> getCategoriesWithBookCount() {
+        List<Category> cached = CatalogCache.CATEGORY_LISTS.get("withBookCount", key -> loadCategoriesWithBookCount());
+        return cached != null ? new ArrayList<>(cached) : new ArrayList<>();
+    }
+    
+    private List<Category> loadCategoriesWithBookCount() {
         List<Category> categories = new ArrayList<>();
         String sql = "SELECT c.*, COUNT(b.id) as book_count " +
                     "FROM categories c " +
@@ -49,10 +65,11 @@ public class CategoryDAO {
                 categories.add(category);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error fetching categories with book counts", e);
+            return null; // Not cached
         }
         
-        return categories;
+        return Collections.unmodifiableList(categories);
     }
     
     // Get category by ID
@@ -69,7 +86,7 @@ public class CategoryDAO {
                 }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error fetching category by ID {}", id, e);
         }
         
         return null;
@@ -86,9 +103,13 @@ public class CategoryDAO {
             stmt.setString(2, category.getDescription());
             stmt.setString(3, category.getStatus());
             
-            return stmt.executeUpdate() > 0;
+            boolean created = stmt.executeUpdate() > 0;
+            if (created) {
+                CatalogCache.invalidateCategories();
+            }
+            return created;
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error creating category", e);
             return false;
         }
     }
@@ -105,9 +126,14 @@ public class CategoryDAO {
             stmt.setString(3, category.getStatus());
             stmt.setInt(4, category.getId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                CatalogCache.invalidateCategories();
+                CatalogIndexes.categoriesChanged(); // Books are indexed under the category name
+            }
+            return updated;
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error updating category", e);
             return false;
         }
     }
@@ -131,10 +157,14 @@ public class CategoryDAO {
             String deleteSql = "DELETE FROM categories WHERE id = ?";
             try (PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
                 deleteStmt.setInt(1, id);
-                return deleteStmt.executeUpdate() > 0;
+                boolean deleted = deleteStmt.executeUpdate() > 0;
+                if (deleted) {
+                    CatalogCache.invalidateCategories();
+                }
+                return deleted;
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error deleting category {}", id, e);
             return false;
         }
     }
@@ -153,7 +183,7 @@ public class CategoryDAO {
                 }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error checking category name", e);
         }
         
         return false;
@@ -174,7 +204,7 @@ public class CategoryDAO {
                 }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error checking category name", e);
         }
         
         return false;
@@ -194,7 +224,7 @@ public class CategoryDAO {
                 }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error fetching category by name", e);
         }
         
         return null;
@@ -215,12 +245,13 @@ public class CategoryDAO {
             if (affectedRows > 0) {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
+                        CatalogCache.invalidateCategories();
                         return generatedKeys.getInt(1);
                     }
                 }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("❌ Error creating category", e);
         }
         
         return -1;
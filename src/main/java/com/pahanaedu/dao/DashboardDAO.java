@@ -0,0 +1,100 @@
+// File: src/main/java/com/pahanaedu/dao/DashboardDAO.java
+package com.pahanaedu.dao;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.User;
+import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.Metrics;
+
+// Admin dashboard counters, computed by one aggregate query
+public class DashboardDAO {
+    
+    private static final Logger LOG = Logger.get(DashboardDAO.class);
+    
+    // Same threshold the low-stock list uses
+    public static final int LOW_STOCK_THRESHOLD = 5;
+    
+    private static final Metrics.Timer STATS_TIMER = Metrics.sql("dashboard_stats");
+    
+    // Each derived table returns exactly one row, so the cross join is one row too.
+    // Sales only scan bills since the start of the week or month (whichever is earlier),
+    // using range predicates on created_at so its index can be used (QueryPlanCheck verifies it).
+    static final String STATS_SQL =
+        "SELECT u.total_customers, u.total_cashiers, " +
+        "bk.total_books, bk.out_of_stock_books, bk.low_stock_books, " +
+        "s.today_sales, s.today_bills, s.week_sales, s.week_bills, s.month_sales, s.month_bills " +
+        "FROM " +
+        "(SELECT COALESCE(SUM(role = ?), 0) AS total_customers, " +
+        "        COALESCE(SUM(role = ?), 0) AS total_cashiers " +
+        " FROM users) u, " +
+        "(SELECT COALESCE(SUM(status <> 'out_of_stock'), 0) AS total_books, " +
+        "        COALESCE(SUM(stock = 0 OR status = 'out_of_stock'), 0) AS out_of_stock_books, " +
+        "        COALESCE(SUM(stock > 0 AND stock <= ? AND status = 'active'), 0) AS low_stock_books " +
+        " FROM books) bk, " +
+        "(SELECT COALESCE(SUM(CASE WHEN created_at >= CURDATE() THEN total_amount END), 0) AS today_sales, " +
+        "        COALESCE(SUM(created_at >= CURDATE()), 0) AS today_bills, " +
+        "        COALESCE(SUM(CASE WHEN created_at >= CURDATE() - INTERVAL WEEKDAY(CURDATE()) DAY THEN total_amount END), 0) AS week_sales, " +
+        "        COALESCE(SUM(created_at >= CURDATE() - INTERVAL WEEKDAY(CURDATE()) DAY), 0) AS week_bills, " +
+        "        COALESCE(SUM(CASE WHEN created_at >= CURDATE() - INTERVAL (DAYOFMONTH(CURDATE()) - 1) DAY THEN total_amount END), 0) AS month_sales, " +
+        "        COALESCE(SUM(created_at >= CURDATE() - INTERVAL (DAYOFMONTH(CURDATE()) - 1) DAY), 0) AS month_bills " +
+        " FROM bills " +
+        " WHERE created_at >= LEAST(CURDATE() - INTERVAL WEEKDAY(CURDATE()) DAY, " +
+        "                           CURDATE() - INTERVAL (DAYOFMONTH(CURDATE()) - 1) DAY) " +
+        "   AND payment_status <> ?) s";
+    
+    // Get all dashboard counters and sales totals (week starts on Monday)
+    public DashboardStats getDashboardStats() {
+        DashboardStats stats = new DashboardStats();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(STATS_SQL)) {
+            
+            stmt.setString(1, User.ROLE_CUSTOMER);
+            stmt.setString(2, User.ROLE_CASHIER);
+            stmt.setInt(3, LOW_STOCK_THRESHOLD);
+            stmt.setString(4, Bill.STATUS_CANCELLED);
+            
+            try (ResultSet rs = STATS_TIMER.executeQuery(stmt)) {
+                if (rs.next()) {
+                    stats.totalCustomers = rs.getInt("total_customers");
+                    stats.totalCashiers = rs.getInt("total_cashiers");
+                    stats.totalBooks = rs.getInt("total_books");
+                    stats.outOfStockBooks = rs.getInt("out_of_stock_books");
+                    stats.lowStockBooks = rs.getInt("low_stock_books");
+                    stats.todaySales = rs.getBigDecimal("today_sales");
+                    stats.todayBills = rs.getInt("today_bills");
+                    stats.weekSales = rs.getBigDecimal("week_sales");
+                    stats.weekBills = rs.getInt("week_bills");
+                    stats.monthSales = rs.getBigDecimal("month_sales");
+                    stats.monthBills = rs.getInt("month_bills");
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("❌ Error getting dashboard stats", e);
+        }
+        
+        return stats;
+    }
+    
+    // Inner class for dashboard statistics
+    public static class DashboardStats {
+        public int totalCustomers;
+        public int totalCashiers;
+        public int totalBooks;
+        public int outOfStockBooks;
+        public int lowStockBooks;
+        public BigDecimal todaySales = BigDecimal.ZERO;
+        public int todayBills;
+        public BigDecimal weekSales = BigDecimal.ZERO;
+        public int weekBills;
+        public BigDecimal monthSales = BigDecimal.ZERO;
+        public int monthBills;
+    }
+}
@@ -0,0 +1,180 @@
+// File: src/main/java/com/pahanaedu/dao/QueryPlanCheck.java
+package com.pahanaedu.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.User;
+import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * EXPLAIN-based guard for the hot DAO queries.
+ *
+ * Runs EXPLAIN on the exact SQL the DAOs execute and fails when a table that should be
+ * reached through an index is read with a full scan (type ALL) and no index is even
+ * applicable - the signature of a predicate that wraps an indexed column in a function
+ * again, or of a dropped index. A full scan the optimizer picks although an index would
+ * apply (common on tiny development tables) is reported as a warning only.
+ *
+ * Runs after the schema migrations at startup (logged only, unless
+ * -Dpahanaedu.planCheck.failStartup=true makes a regression stop the deployment), from
+ * admin?action=checkQueryPlans, and standalone (exit code 1 on failure) for deployment scripts:
+ * java -cp ... com.pahanaedu.dao.QueryPlanCheck
+ */
+public class QueryPlanCheck {
+    
+    private static final Logger LOG = Logger.get(QueryPlanCheck.class);
+    
+    public static final String STATUS_OK = "ok";
+    public static final String STATUS_WARNING = "scan-chosen";
+    public static final String STATUS_FAILED = "full-scan";
+    
+    private static final Timestamp SAMPLE_SINCE = new Timestamp(System.currentTimeMillis() - 30L * 24 * 60 * 60 * 1000);
+    
+    // Hot queries with representative parameters; fullScanAllowed lists tables read in full by design
+    private static final HotQuery[] HOT_QUERIES = {
+        new HotQuery("bookByReference", BookDAO.REFERENCE_LOOKUP_SQL, tables("c"),
+                     "BKREF-0001"),
+        new HotQuery("bookByQrCode", BookDAO.QR_LOOKUP_SQL, tables("c"),
+                     "BKREF-0001", "BKREF-0001"),
+        new HotQuery("booksByScanCodes", BookDAO.scanCodesSql(2), tables("c"),
+                     "BKREF-0001", "BKREF-0002", "BKREF-0001", "BKREF-0002"),
+        new HotQuery("todayBillsByCashier", BillDAO.TODAY_BY_CASHIER_SQL, tables(),
+                     1),
+        new HotQuery("billsPage", BillDAO.billsPageSql(false, true), tables(),
+                     SAMPLE_SINCE, SAMPLE_SINCE, Integer.MAX_VALUE, 50),
+        new HotQuery("billsPageByCashier", BillDAO.billsPageSql(true, true), tables(),
+                     1, SAMPLE_SINCE, SAMPLE_SINCE, Integer.MAX_VALUE, 50),
+        new HotQuery("unitsSoldSince", BillDAO.UNITS_SOLD_SINCE_SQL, tables(),
+                     SAMPLE_SINCE, Bill.STATUS_CANCELLED),
+        new HotQuery("dashboardStats", DashboardDAO.STATS_SQL, tables("users", "books"),
+                     User.ROLE_CUSTOMER, User.ROLE_CASHIER, DashboardDAO.LOW_STOCK_THRESHOLD, Bill.STATUS_CANCELLED)
+    };
+    
+    private QueryPlanCheck() {
+    }
+    
+    /**
+     * Explain every hot query
+     * @return PlanReport (passed is false if any query regressed to a full scan)
+     * @throws SQLException if the database is not reachable or a query no longer parses
+     */
+    public static PlanReport run() throws SQLException {
+        PlanReport report = new PlanReport();
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("No database connection available for the query plan check");
+            }
+            
+            for (HotQuery query : HOT_QUERIES) {
+                try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + query.sql)) {
+                    for (int i = 0; i < query.parameters.length; i++) {
+                        stmt.setObject(i + 1, query.parameters[i]);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            PlanRow row = new PlanRow();
+                            row.query = query.name;
+                            row.table = rs.getString("table");
+                            row.type = rs.getString("type");
+                            row.possibleKeys = rs.getString("possible_keys");
+                            row.key = rs.getString("key");
+                            row.rows = rs.getLong("rows");
+                            row.status = classify(query, row);
+                            
+                            if (STATUS_FAILED.equals(row.status)) {
+                                report.passed = false;
+                            }
+                            report.rows.add(row);
+                        }
+                    }
+                }
+            }
+        }
+        
+        return report;
+    }
+    
+    public static void main(String[] args) {
+        int exitCode;
+        try {
+            PlanReport report = run();
+            for (PlanRow row : report.rows) {
+                LOG.info("{}", row);
+            }
+            if (report.passed) {
+                LOG.info("✅ All hot queries use indexes");
+            } else {
+                LOG.error("❌ Hot query regressed to a full scan");
+            }
+            exitCode = report.passed ? 0 : 1;
+        } catch (SQLException e) {
+            LOG.error("❌ Query plan check failed: {}", e.getMessage());
+            exitCode = 2;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+        System.exit(exitCode);
+    }
+    
+    private static String classify(HotQuery query, PlanRow row) {
+        boolean fullScan = "ALL".equals(row.type);
+        // Derived tables (<derivedN>) and tables scanned by design are not index candidates
+        if (!fullScan || row.table == null || row.table.startsWith("<") || query.fullScanAllowed.contains(row.table)) {
+            return STATUS_OK;
+        }
+        return row.possibleKeys != null ? STATUS_WARNING : STATUS_FAILED;
+    }
+    
+    private static Set<String> tables(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+    
+    private static final class HotQuery {
+        final String name;
+        final String sql;
+        final Set<String> fullScanAllowed;
+        final Object[] parameters;
+        
+        HotQuery(String name, String sql, Set<String> fullScanAllowed, Object... parameters) {
+            this.name = name;
+            this.sql = sql;
+            this.fullScanAllowed = fullScanAllowed;
+            this.parameters = parameters;
+        }
+    }
+    
+    // Result of one check run
+    public static class PlanReport {
+        public boolean passed = true;
+        public List<PlanRow> rows = new ArrayList<>();
+    }
+    
+    // One EXPLAIN row of a hot query
+    public static class PlanRow {
+        public String query;
+        public String table;
+        public String type;
+        public String possibleKeys;
+        public String key;
+        public long rows;
+        public String status;
+        
+        @Override
+        public String toString() {
+            return String.format("%-20s %-12s type=%-8s key=%-28s rows=%-8d %s",
+                    query, table, type, key, rows, status);
+        }
+    }
+}
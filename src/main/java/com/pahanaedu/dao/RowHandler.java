@@ -0,0 +1,15 @@
+// File: src/main/java/com/pahanaedu/dao/RowHandler.java
+package com.pahanaedu.dao;
+
+import java.io.IOException;
+
+/**
+ * Callback for DAO methods that stream rows instead of returning a list.
+ * Each row is handed over as soon as it is read, so callers can write it
+ * straight to the response and memory use does not grow with the row count.
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+    
+    void handle(T row) throws IOException;
+}
@@ -6,18 +6,25 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-
-import org.mindrot.jbcrypt.BCrypt;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.pahanaedu.models.User;
 import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.Metrics;
+import com.pahanaedu.utils.PasswordHasher;
 
 public class UserDAO {
     
+    private static final Logger LOG = Logger.get(UserDAO.class);
+    
+    private static final Metrics.Timer LOGIN_LOOKUP_TIMER = Metrics.sql("user_by_email");
+    
     /**
      * Create new user account with hashed password (CUSTOMER role only)
      * @param user User object with user details
      * @return true if user created successfully, false otherwise
+     * @throws RejectedExecutionException when the password hashing pool is saturated
      */
     public boolean createUser(User user) {
         // Only customers can signup through the website
@@ -25,12 +32,12 @@ public class UserDAO {
         
         String query = "INSERT INTO users (first_name, last_name, email, password, role, phone, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
         
+        // Hash the password before storing (and before taking a pooled connection)
+        String hashedPassword = hashPassword(user.getPassword());
+        
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             
-            // Hash the password before storing
-            String hashedPassword = hashPassword(user.getPassword());
-            
             statement.setString(1, user.getFirstName());
             statement.setString(2, user.getLastName());
             statement.setString(3, user.getEmail());
@@ -41,11 +48,11 @@ public class UserDAO {
             
             int rowsAffected = statement.executeUpdate();
             
-            System.out.println("Customer created: " + user.getEmail() + " (Role: " + user.getRole() + ")");
+            LOG.info("Customer created: {} (Role: {})", user.getEmail(), user.getRole());
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            System.err.println("Error creating user: " + e.getMessage());
+            LOG.error("Error creating user: {}", e.getMessage());
             return false;
         }
     }
@@ -56,16 +63,17 @@ public class UserDAO {
      * Create new user by admin (can be CUSTOMER or CASHIER)
      * @param user User object with user details
      * @return true if user created successfully, false otherwise
+     * @throws RejectedExecutionException when the password hashing pool is saturated
      */
     public boolean createUserByAdmin(User user) {
         String query = "INSERT INTO users (first_name, last_name, email, password, role, phone, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
         
+        // Hash the password before storing (and before taking a pooled connection)
+        String hashedPassword = hashPassword(user.getPassword());
+        
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             
-            // Hash the password before storing
-            String hashedPassword = hashPassword(user.getPassword());
-            
             statement.setString(1, user.getFirstName());
             statement.setString(2, user.getLastName());
             statement.setString(3, user.getEmail());
@@ -76,13 +84,12 @@ public class UserDAO {
             
             int rowsAffected = statement.executeUpdate();
             
-            System.out.println("User created by admin: " + user.getEmail() + 
-                               " (Role: " + user.getRole() + 
-                               ", Status: " + user.getStatus() + ")");
+            LOG.info("User created by admin: {} (Role: {}, Status: {})",
+                     user.getEmail(), user.getRole(), user.getStatus());
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            System.err.println("Error creating user by admin: " + e.getMessage());
+            LOG.error("Error creating user by admin: {}", e.getMessage());
             return false;
         }
     }
@@ -108,7 +115,7 @@ public class UserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error getting users by role: " + e.getMessage());
+            LOG.error("Error getting users by role: {}", e.getMessage());
         }
         
         return users;
@@ -133,7 +140,7 @@ public class UserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error getting user by ID: " + e.getMessage());
+            LOG.error("Error getting user by ID: {}", e.getMessage());
         }
         
         return null;
@@ -159,13 +166,11 @@ public class UserDAO {
             
             int rowsAffected = statement.executeUpdate();
             
-            System.out.println("User updated: " + user.getEmail() + 
-                              " (Phone: " + user.getPhone() + 
-                              ", Status: " + user.getStatus() + ")");
+            LOG.info("User updated: {} (Phone: {}, Status: {})", user.getEmail(), user.getPhone(), user.getStatus());
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            System.err.println("Error updating user: " + e.getMessage());
+            LOG.error("Error updating user: {}", e.getMessage());
             return false;
         }
     }
@@ -184,11 +189,11 @@ public class UserDAO {
             statement.setInt(1, id);
             int rowsAffected = statement.executeUpdate();
             
-            System.out.println("User deleted with ID: " + id);
+            LOG.info("User deleted with ID: {}", id);
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            System.err.println("Error deleting user: " + e.getMessage());
+            LOG.error("Error deleting user: {}", e.getMessage());
             return false;
         }
     }
@@ -212,7 +217,7 @@ public class UserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error getting user count: " + e.getMessage());
+            LOG.error("Error getting user count: {}", e.getMessage());
         }
         
         return 0;
@@ -245,6 +250,7 @@ public class UserDAO {
      * @param email User email
      * @param password Plain text password
      * @return User object if credentials are valid, null otherwise
+     * @throws RejectedExecutionException when the password hashing pool is saturated
      */
     public User validateLogin(String email, String password) {
         String query = "SELECT * FROM users WHERE email = ?";
@@ -253,7 +259,7 @@ public class UserDAO {
              PreparedStatement statement = connection.prepareStatement(query)) {
             
             statement.setString(1, email);
-            ResultSet resultSet = statement.executeQuery();
+            ResultSet resultSet = LOGIN_LOOKUP_TIMER.executeQuery(statement);
             
             if (resultSet.next()) {
                 String storedHashedPassword = resultSet.getString("password");
@@ -275,19 +281,18 @@ public class UserDAO {
                 if (passwordValid) {
                     User user = extractUserFromResultSet(resultSet);
                     
-                    System.out.println("Login successful for: " + email + 
-                                      " (Role: " + user.getRole() + 
-                                      ", Status: " + user.getStatus() + ")");
+                    LOG.debug("Login successful for: {} (Role: {}, Status: {})",
+                              email, user.getRole(), user.getStatus());
                     return user;
                 } else {
-                    System.out.println("Password verification failed for: " + email);
+                    LOG.debug("Password verification failed for: {}", email);
                 }
             } else {
-                System.out.println("User not found: " + email);
+                LOG.debug("User not found: {}", email);
             }
             
         } catch (SQLException e) {
-            System.err.println("Error validating login: " + e.getMessage());
+            LOG.error("Error validating login: {}", e.getMessage());
         }
         
         return null; // Invalid credentials
@@ -300,19 +305,19 @@ public class UserDAO {
      */
     private void updatePasswordHash(int userId, String plainTextPassword) {
         String query = "UPDATE users SET password = ? WHERE id = ?";
+        String hashedPassword = hashPassword(plainTextPassword);
         
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             
-            String hashedPassword = hashPassword(plainTextPassword);
             statement.setString(1, hashedPassword);
             statement.setInt(2, userId);
             
             statement.executeUpdate();
-            System.out.println("Password updated to hashed version for user ID: " + userId);
+            LOG.info("Password updated to hashed version for user ID: {}", userId);
             
         } catch (SQLException e) {
-            System.err.println("Error updating password hash: " + e.getMessage());
+            LOG.error("Error updating password hash: {}", e.getMessage());
         }
     }
     
@@ -335,7 +340,7 @@ public class UserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error checking email existence: " + e.getMessage());
+            LOG.error("Error checking email existence: {}", e.getMessage());
         }
         
         return false;
@@ -362,7 +367,7 @@ public class UserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error checking email existence: " + e.getMessage());
+            LOG.error("Error checking email existence: {}", e.getMessage());
         }
         
         return false;
@@ -389,7 +394,7 @@ public class UserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error checking user role: " + e.getMessage());
+            LOG.error("Error checking user role: {}", e.getMessage());
         }
         
         return false;
@@ -402,32 +407,32 @@ public class UserDAO {
      * @param email User's email address
      * @param newPassword New password (will be hashed)
      * @return true if password updated successfully, false otherwise
+     * @throws RejectedExecutionException when the password hashing pool is saturated
      */
     public boolean updatePassword(String email, String newPassword) {
         String query = "UPDATE users SET password = ?, updated_at = CURRENT_TIMESTAMP WHERE email = ?";
         
+        // Hash the new password before taking a pooled connection
+        String hashedPassword = hashPassword(newPassword);
+        
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             
-            // Hash the new password using existing method
-            String hashedPassword = hashPassword(newPassword);
-            
             statement.setString(1, hashedPassword);
             statement.setString(2, email.toLowerCase().trim());
             
             int rowsAffected = statement.executeUpdate();
             
             if (rowsAffected > 0) {
-                System.out.println("UserDAO: Password updated successfully for - " + email);
+                LOG.info("Password updated successfully for - {}", email);
                 return true;
             } else {
-                System.out.println("UserDAO: No user found to update password - " + email);
+                LOG.info("No user found to update password - {}", email);
                 return false;
             }
             
         } catch (SQLException e) {
-            System.err.println("UserDAO: Error updating password - " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error updating password", e);
             return false;
         }
     }
@@ -435,14 +440,12 @@ public class UserDAO {
     // ========== PASSWORD HASHING METHODS ==========
     
     /**
-     * Hash password using BCrypt
+     * Hash password using BCrypt (on the PasswordHasher pool)
      * @param plainTextPassword Plain text password
      * @return Hashed password
      */
     private String hashPassword(String plainTextPassword) {
-        // Generate salt and hash password
-        // Cost factor 12 is recommended for production
-        return BCrypt.hashpw(plainTextPassword, BCrypt.gensalt(12));
+        return PasswordHasher.hash(plainTextPassword);
     }
     
     /**
@@ -453,9 +456,11 @@ public class UserDAO {
      */
     private boolean verifyPassword(String plainTextPassword, String hashedPassword) {
         try {
-            return BCrypt.checkpw(plainTextPassword, hashedPassword);
+            return PasswordHasher.verify(plainTextPassword, hashedPassword);
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Error verifying password: " + e.getMessage());
+            LOG.error("Error verifying password: {}", e.getMessage());
             return false;
         }
     }
@@ -0,0 +1,23 @@
+// File: src/main/java/com/pahanaedu/db/JavaMigration.java
+package com.pahanaedu.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A schema migration written in Java, for changes a plain script cannot make safely
+ * (only-if-missing checks, statements that contain ';' such as function bodies).
+ *
+ * Runs on the migrator's connection while it holds the migration lock. Java migrations
+ * are not checksummed - once one has been applied, add a new migration instead of
+ * changing it.
+ */
+public interface JavaMigration {
+    
+    /**
+     * Apply the change
+     * @param conn Connection holding the migration lock (auto-commit on)
+     * @throws SQLException to abort the run; the migration is not recorded
+     */
+    void migrate(Connection conn) throws SQLException;
+}
@@ -0,0 +1,396 @@
+// File: src/main/java/com/pahanaedu/db/SchemaMigrator.java
+package com.pahanaedu.db;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import com.pahanaedu.db.migration.DropBillNumberFunctionMigration;
+import com.pahanaedu.db.migration.SecondaryIndexesMigration;
+import com.pahanaedu.db.migration.StoredFunctionsMigration;
+import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Versioned schema migrations, applied in order when the webapp starts.
+ *
+ * A migration is either a SQL script in the migration/ folder next to this class or a
+ * JavaMigration; all are listed in MIGRATIONS in version order. Applied versions are
+ * recorded in schema_version together with a CRC32 checksum of the script, and startup
+ * fails if an applied script has been edited since. The whole run holds a MySQL named
+ * lock, so when several nodes start together one applies the migrations while the
+ * others wait and then find nothing left to do. MySQL commits DDL immediately, so a
+ * migration that fails halfway is not recorded and stops startup until the schema is
+ * repaired by hand.
+ */
+public class SchemaMigrator {
+    
+    private static final Logger LOG = Logger.get(SchemaMigrator.class);
+    
+    // Must be initialized before MIGRATIONS, which parses script names with it
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    
+    // Append new migrations at the end - never renumber or edit one that has been applied
+    private static final Step[] MIGRATIONS = {
+        Step.sql("V1__baseline.sql"),
+        Step.sql("V2__normalized_scan_keys.sql"),
+        Step.java(3, "stored functions", new StoredFunctionsMigration()),
+        Step.java(4, "secondary indexes", new SecondaryIndexesMigration()),
+        Step.java(5, "drop generate_bill_no", new DropBillNumberFunctionMigration())
+    };
+    
+    public static final String TYPE_SQL = "SQL";
+    public static final String TYPE_JAVA = "JAVA";
+    
+    // Named lock serializing migration runs across nodes (held by the migrating session)
+    private static final String LOCK_NAME = "pahanaedu.schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 300;
+    
+    private static final String CREATE_HISTORY_SQL =
+            "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT NOT NULL PRIMARY KEY, " +
+            "description VARCHAR(200) NOT NULL, " +
+            "script VARCHAR(200) NOT NULL, " +
+            "type VARCHAR(10) NOT NULL DEFAULT 'SQL', " +
+            "checksum BIGINT NULL, " +
+            "execution_ms INT NOT NULL, " +
+            "installed_by VARCHAR(100) NULL, " +
+            "installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+    
+    // schema_version as first created, before checksums were recorded
+    private static final String UPGRADE_HISTORY_SQL =
+            "ALTER TABLE schema_version " +
+            "ADD COLUMN type VARCHAR(10) NOT NULL DEFAULT 'SQL' AFTER script, " +
+            "ADD COLUMN checksum BIGINT NULL AFTER type, " +
+            "ADD COLUMN installed_by VARCHAR(100) NULL AFTER execution_ms";
+    
+    private SchemaMigrator() {
+    }
+    
+    /**
+     * Apply all pending migrations
+     * @return MigrationResult, or null if the database is not reachable
+     * @throws SQLException if validation or a migration fails (startup should not continue)
+     */
+    public static MigrationResult migrate() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                LOG.warn("⚠️ Database not reachable - schema migrations skipped");
+                return null;
+            }
+            
+            long started = System.currentTimeMillis();
+            acquireLock(conn);
+            try {
+                ensureHistoryTable(conn);
+                Map<Integer, Long> applied = appliedChecksums(conn);
+                validate(conn, applied);
+                
+                MigrationResult result = new MigrationResult();
+                for (Step step : MIGRATIONS) {
+                    if (!applied.containsKey(step.version)) {
+                        apply(conn, step);
+                        result.applied.add(step.script);
+                    }
+                    result.currentVersion = Math.max(result.currentVersion, step.version);
+                }
+                result.tookMs = System.currentTimeMillis() - started;
+                return result;
+            } finally {
+                releaseLock(conn);
+            }
+        }
+    }
+    
+    /**
+     * Get the applied migrations for the admin dashboard
+     * @return Applied migrations in version order (empty if none or on error)
+     */
+    public static List<AppliedMigration> getHistory() {
+        List<AppliedMigration> history = new ArrayList<>();
+        String sql = "SELECT version, description, script, type, checksum, execution_ms, installed_by, installed_at " +
+                    "FROM schema_version ORDER BY version";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                AppliedMigration migration = new AppliedMigration();
+                migration.version = rs.getInt("version");
+                migration.description = rs.getString("description");
+                migration.script = rs.getString("script");
+                migration.type = rs.getString("type");
+                long checksum = rs.getLong("checksum");
+                migration.checksum = rs.wasNull() ? null : checksum;
+                migration.executionMs = rs.getInt("execution_ms");
+                migration.installedBy = rs.getString("installed_by");
+                migration.installedAt = rs.getTimestamp("installed_at").getTime();
+                history.add(migration);
+            }
+        } catch (SQLException e) {
+            LOG.error("❌ Error reading schema history", e);
+        }
+        
+        return history;
+    }
+    
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out after " + LOCK_TIMEOUT_SECONDS +
+                                           " s waiting for another node's schema migration");
+                }
+            }
+        }
+    }
+    
+    private static void releaseLock(Connection conn) {
+        // The pool keeps the session open, so the lock must be released explicitly
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            LOG.warn("⚠️ Could not release the schema migration lock: {}", e.getMessage());
+        }
+    }
+    
+    private static void ensureHistoryTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_HISTORY_SQL);
+        }
+        
+        String sql = "SELECT 1 FROM information_schema.COLUMNS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'schema_version' AND COLUMN_NAME = 'checksum'";
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return;
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(UPGRADE_HISTORY_SQL);
+        }
+        LOG.info("🛠️ Upgraded schema_version to record checksums");
+    }
+    
+    // Applied version -> recorded checksum (null for Java migrations and rows from before checksums)
+    private static Map<Integer, Long> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT version, checksum FROM schema_version");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                long checksum = rs.getLong("checksum");
+                applied.put(rs.getInt("version"), rs.wasNull() ? null : checksum);
+            }
+        }
+        return applied;
+    }
+    
+    // Refuse to run when an applied script was edited; adopt checksums for rows recorded without one
+    private static void validate(Connection conn, Map<Integer, Long> applied) throws SQLException {
+        Map<Integer, Step> known = new HashMap<>();
+        for (Step step : MIGRATIONS) {
+            known.put(step.version, step);
+        }
+        
+        for (Map.Entry<Integer, Long> entry : applied.entrySet()) {
+            Step step = known.get(entry.getKey());
+            if (step == null) {
+                LOG.warn("⚠️ Database has migration V{}, which this build does not know (applied by a newer version?)",
+                         entry.getKey());
+                continue;
+            }
+            
+            Long current = step.checksum();
+            if (current == null) {
+                continue;
+            }
+            if (entry.getValue() == null) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE schema_version SET checksum = ? WHERE version = ?")) {
+                    stmt.setLong(1, current);
+                    stmt.setInt(2, step.version);
+                    stmt.executeUpdate();
+                }
+            } else if (!entry.getValue().equals(current)) {
+                throw new SQLException("Migration " + step.script + " was changed after it was applied " +
+                                       "(checksum " + entry.getValue() + ", now " + current + ") - " +
+                                       "add a new migration instead of editing an applied one");
+            }
+        }
+    }
+    
+    private static void apply(Connection conn, Step step) throws SQLException {
+        LOG.info("🛠️ Applying schema migration {}", step.script);
+        long started = System.currentTimeMillis();
+        
+        if (step.javaMigration != null) {
+            try {
+                step.javaMigration.migrate(conn);
+            } catch (SQLException e) {
+                throw new SQLException("Migration " + step.script + " failed: " + e.getMessage(),
+                                       e.getSQLState(), e.getErrorCode(), e);
+            }
+        } else {
+            for (String sql : statements(step.sql())) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    throw new SQLException("Migration " + step.script + " failed: " + e.getMessage() +
+                                           "\nStatement: " + sql, e.getSQLState(), e.getErrorCode(), e);
+                }
+            }
+        }
+        
+        int executionMs = (int) (System.currentTimeMillis() - started);
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description, script, type, checksum, execution_ms, installed_by) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            Long checksum = step.checksum();
+            stmt.setInt(1, step.version);
+            stmt.setString(2, step.description);
+            stmt.setString(3, step.script);
+            stmt.setString(4, step.type());
+            if (checksum != null) {
+                stmt.setLong(5, checksum);
+            } else {
+                stmt.setNull(5, Types.BIGINT);
+            }
+            stmt.setInt(6, executionMs);
+            stmt.setString(7, nodeName());
+            stmt.executeUpdate();
+        }
+        LOG.info("✅ Schema migration {} applied in {} ms", step.script, executionMs);
+    }
+    
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+    
+    private static String readScript(String script) throws SQLException {
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream("migration/" + script)) {
+            if (in == null) {
+                throw new SQLException("Migration script not found on the classpath: " + script);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            // Checkouts with CRLF line endings must not change the checksum
+            return new String(out.toByteArray(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new SQLException("Could not read migration script " + script, e);
+        }
+    }
+    
+    // Split a script into statements on ';' (scripts must not use ';' inside literals)
+    private static List<String> statements(String script) {
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+        
+        List<String> statements = new ArrayList<>();
+        for (String statement : withoutComments.toString().split(";")) {
+            if (!statement.trim().isEmpty()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+    
+    // One registered migration: a SQL script or a JavaMigration
+    private static final class Step {
+        final int version;
+        final String description;
+        final String script;
+        final JavaMigration javaMigration;
+        private String sql;
+        
+        private Step(int version, String description, String script, JavaMigration javaMigration) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+            this.javaMigration = javaMigration;
+        }
+        
+        static Step sql(String script) {
+            Matcher name = SCRIPT_NAME.matcher(script);
+            if (!name.matches()) {
+                throw new IllegalArgumentException("Invalid migration script name: " + script);
+            }
+            return new Step(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '), script, null);
+        }
+        
+        static Step java(int version, String description, JavaMigration migration) {
+            return new Step(version, description, migration.getClass().getSimpleName(), migration);
+        }
+        
+        String type() {
+            return javaMigration != null ? TYPE_JAVA : TYPE_SQL;
+        }
+        
+        String sql() throws SQLException {
+            if (sql == null) {
+                sql = readScript(script);
+            }
+            return sql;
+        }
+        
+        // CRC32 of the script; null for Java migrations
+        Long checksum() throws SQLException {
+            if (javaMigration != null) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(sql().getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+    }
+    
+    // Outcome of one startup run
+    public static class MigrationResult {
+        public List<String> applied = new ArrayList<>();
+        public int currentVersion;
+        public long tookMs;
+    }
+    
+    // One row of schema_version
+    public static class AppliedMigration {
+        public int version;
+        public String description;
+        public String script;
+        public String type;
+        public Long checksum;
+        public int executionMs;
+        public String installedBy;
+        public long installedAt;
+    }
+}
@@ -0,0 +1,29 @@
+// File: src/main/java/com/pahanaedu/db/migration/DropBillNumberFunctionMigration.java
+package com.pahanaedu.db.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.pahanaedu.db.JavaMigration;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Drops generate_bill_no() (created by StoredFunctionsMigration or by hand).
+ *
+ * It numbered bills with MAX+1 over today's bill numbers, which can hand out a number
+ * inside a block another node has reserved in bill_sequences. Bill numbers now only
+ * come from BillNumberAllocator, so nothing may keep calling the function.
+ */
+public class DropBillNumberFunctionMigration implements JavaMigration {
+    
+    private static final Logger LOG = Logger.get(DropBillNumberFunctionMigration.class);
+    
+    @Override
+    public void migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP FUNCTION IF EXISTS generate_bill_no");
+        }
+        LOG.info("✅ Dropped stored function generate_bill_no() - bill numbers come from bill_sequences");
+    }
+}
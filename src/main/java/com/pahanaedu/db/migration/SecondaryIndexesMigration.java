@@ -0,0 +1,91 @@
+// File: src/main/java/com/pahanaedu/db/migration/SecondaryIndexesMigration.java
+package com.pahanaedu.db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.pahanaedu.db.JavaMigration;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Secondary indexes for the list and report queries.
+ *
+ * Many installations added some of these by hand under other names, so an index is
+ * only created when no existing index of the table starts with the same columns.
+ */
+public class SecondaryIndexesMigration implements JavaMigration {
+    
+    private static final Logger LOG = Logger.get(SecondaryIndexesMigration.class);
+    
+    // table, index name, columns
+    private static final String[][] INDEXES = {
+        {"books", "idx_books_category", "category_id"},
+        {"books", "idx_books_status_stock", "status, stock"},      // low-stock list
+        {"users", "idx_users_role_created", "role, created_at"},   // users by role, newest first
+        {"bills", "idx_bills_bill_date", "bill_date"},             // bills by date range
+        {"password_reset_tokens", "idx_password_reset_tokens_email", "email"}
+    };
+    
+    @Override
+    public void migrate(Connection conn) throws SQLException {
+        for (String[] index : INDEXES) {
+            String table = index[0];
+            String name = index[1];
+            String columns = index[2];
+            
+            if (hasIndexStartingWith(conn, table, columns)) {
+                LOG.info("ℹ️ {} already has an index on ({}) - {} skipped", table, columns, name);
+                continue;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ALTER TABLE " + table + " ADD INDEX " + name + " (" + columns + ")");
+            }
+            LOG.info("✅ Created index {} on {} ({})", name, table, columns);
+        }
+    }
+    
+    private boolean hasIndexStartingWith(Connection conn, String table, String columns) throws SQLException {
+        String wanted = columns.replace(" ", "").toLowerCase(Locale.ROOT);
+        String sql = "SELECT INDEX_NAME, COLUMN_NAME FROM information_schema.STATISTICS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? " +
+                    "ORDER BY INDEX_NAME, SEQ_IN_INDEX";
+        
+        List<String> indexColumns = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                String currentIndex = null;
+                StringBuilder current = new StringBuilder();
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    if (!indexName.equals(currentIndex)) {
+                        if (currentIndex != null) {
+                            indexColumns.add(current.toString());
+                        }
+                        currentIndex = indexName;
+                        current.setLength(0);
+                    } else {
+                        current.append(',');
+                    }
+                    current.append(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+                if (currentIndex != null) {
+                    indexColumns.add(current.toString());
+                }
+            }
+        }
+        
+        for (String existing : indexColumns) {
+            if (existing.equals(wanted) || existing.startsWith(wanted + ",")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,68 @@
+// File: src/main/java/com/pahanaedu/db/migration/StoredFunctionsMigration.java
+package com.pahanaedu.db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.pahanaedu.db.JavaMigration;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Creates generate_reference_no(), which BookDAO calls before its Java fallback, unless
+ * the database already has its own version.
+ * This step used to create generate_bill_no() as well; bill numbers now only come from
+ * BillNumberAllocator, and DropBillNumberFunctionMigration (V5) drops any copy left by
+ * earlier runs of this step or created by hand.
+ *
+ * Bodies are single RETURN expressions so each CREATE FUNCTION is one JDBC statement.
+ * Servers with binary logging refuse to create functions for users without SUPER
+ * (error 1419); the DAOs then keep using their fallbacks, so that is only logged.
+ */
+public class StoredFunctionsMigration implements JavaMigration {
+    
+    private static final Logger LOG = Logger.get(StoredFunctionsMigration.class);
+    
+    private static final int ERROR_FUNCTION_CREATION_NOT_TRUSTED = 1419;
+    
+    // BKyyyyNNNNNN, same format as BookDAO's fallback
+    private static final String GENERATE_REFERENCE_NO_SQL =
+            "CREATE FUNCTION generate_reference_no() RETURNS VARCHAR(50) NOT DETERMINISTIC READS SQL DATA " +
+            "RETURN CONCAT('BK', YEAR(CURDATE()), LPAD((SELECT COALESCE(MAX(id), 0) + 1 FROM books), 6, '0'))";
+    
+    @Override
+    public void migrate(Connection conn) throws SQLException {
+        createIfMissing(conn, "generate_reference_no", GENERATE_REFERENCE_NO_SQL);
+    }
+    
+    private void createIfMissing(Connection conn, String name, String sql) throws SQLException {
+        if (functionExists(conn, name)) {
+            LOG.info("ℹ️ Stored function {}() already exists - kept", name);
+            return;
+        }
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+            LOG.info("✅ Created stored function {}()", name);
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ERROR_FUNCTION_CREATION_NOT_TRUSTED) {
+                throw e;
+            }
+            LOG.warn("⚠️ Not allowed to create {}() (binary logging without SUPER) - the Java fallback will be used: {}",
+                     name, e.getMessage());
+        }
+    }
+    
+    private boolean functionExists(Connection conn, String name) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.ROUTINES " +
+                    "WHERE ROUTINE_SCHEMA = DATABASE() AND ROUTINE_TYPE = 'FUNCTION' AND ROUTINE_NAME = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
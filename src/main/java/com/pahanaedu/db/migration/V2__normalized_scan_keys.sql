@@ -0,0 +1,16 @@
+-- Normalized lookup keys for scans. The DAOs used to compare UPPER(TRIM(column)),
+-- which no index can serve; they now compare these stored columns instead.
+ALTER TABLE books
+    ADD COLUMN reference_key VARCHAR(100) GENERATED ALWAYS AS (UPPER(TRIM(reference_no))) STORED,
+    ADD COLUMN qr_key VARCHAR(100) GENERATED ALWAYS AS (UPPER(TRIM(qr_code))) STORED,
+    ADD INDEX idx_books_reference_key (reference_key),
+    ADD INDEX idx_books_qr_key (qr_key);
+
+-- Bill queries filter on created_at ranges instead of DATE(created_at):
+-- (created_at) orders the history pages (InnoDB appends id),
+-- (created_at, total_amount, payment_status) covers the dashboard sales totals,
+-- (cashier_id, created_at) serves a cashier's bills for the day.
+ALTER TABLE bills
+    ADD INDEX idx_bills_created (created_at),
+    ADD INDEX idx_bills_created_totals (created_at, total_amount, payment_status),
+    ADD INDEX idx_bills_cashier_created (cashier_id, created_at);
@@ -0,0 +1,108 @@
+// File: src/main/java/com/pahanaedu/filters/MetricsFilter.java
+package com.pahanaedu.filters;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.pahanaedu.utils.Metrics;
+
+/**
+ * Times every request to the action servlets per servlet path and action parameter,
+ * async requests until they complete.
+ * A request counts as an error when the servlet throws or answers with a 5xx status;
+ * the servlets' JSON "success": false answers (400) are normal outcomes.
+ */
+@WebFilter(urlPatterns = {"/admin", "/bills", "/productSearch", "/login", "/signup",
+                          "/forgot-password", "/reset-password"}, asyncSupported = true)
+public class MetricsFilter implements Filter {
+    
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+    
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        Metrics.Timer timer = Metrics.request(httpRequest.getServletPath(), httpRequest.getParameter("action"));
+        long started = timer.start();
+        
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            timer.fail(started);
+            throw e;
+        }
+        
+        if (request.isAsyncStarted()) {
+            // The servlet handed the request to another thread (LoginServlet); time it until completion
+            request.getAsyncContext().addListener(new CompletionListener(timer, started));
+        } else {
+            record(timer, started, response);
+        }
+    }
+    
+    private static void record(Metrics.Timer timer, long started, ServletResponse response) {
+        if (((HttpServletResponse) response).getStatus() >= 500) {
+            timer.fail(started);
+        } else {
+            timer.stop(started);
+        }
+    }
+    
+    @Override
+    public void destroy() {
+    }
+    
+    // Records an async request once, when it completes, times out or fails
+    private static final class CompletionListener implements AsyncListener {
+        private final Metrics.Timer timer;
+        private final long started;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        
+        CompletionListener(Metrics.Timer timer, long started) {
+            this.timer = timer;
+            this.started = started;
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (recorded.compareAndSet(false, true)) {
+                record(timer, started, event.getSuppliedResponse());
+            }
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (recorded.compareAndSet(false, true)) {
+                timer.fail(started);
+            }
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            if (recorded.compareAndSet(false, true)) {
+                timer.fail(started);
+            }
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the new async cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
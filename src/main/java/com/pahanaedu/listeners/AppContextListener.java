@@ -0,0 +1,84 @@
+// File: src/main/java/com/pahanaedu/listeners/AppContextListener.java
+package com.pahanaedu.listeners;
+
+import java.sql.SQLException;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+import com.pahanaedu.dao.BookReferenceIndex;
+import com.pahanaedu.dao.QueryPlanCheck;
+import com.pahanaedu.db.SchemaMigrator;
+import com.pahanaedu.search.CatalogIndexes;
+import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.PasswordHasher;
+import com.pahanaedu.utils.Settings;
+
+@WebListener
+public class AppContextListener implements ServletContextListener {
+    
+    private static final Logger LOG = Logger.get(AppContextListener.class);
+    
+    // -Dpahanaedu.planCheck.failStartup=true: a hot query regressed to a full scan stops the
+    // deployment, as QueryPlanCheck.main exits non-zero (default: log it and keep serving)
+    private static final boolean FAIL_ON_PLAN_REGRESSION =
+            Settings.booleanSetting("pahanaedu.planCheck.failStartup", false);
+    
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        LOG.info("✅ Pahana Edu application starting");
+        migrateSchema();
+    }
+    
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        // Close pooled connections so redeploys do not leak sockets or threads
+        BookReferenceIndex.getInstance().shutdown();
+        CatalogIndexes.shutdown();
+        PasswordHasher.shutdown();
+        DatabaseConnection.shutdown();
+        LOG.info("✅ Database connection pool shut down");
+        // Last: write out whatever is still buffered and stop the writer thread
+        Logger.shutdown();
+    }
+    
+    // Bring the schema up to date before any request is served; a failed migration stops the deployment
+    private void migrateSchema() {
+        SchemaMigrator.MigrationResult result;
+        try {
+            result = SchemaMigrator.migrate();
+        } catch (SQLException e) {
+            LOG.error("❌ Schema migration failed: {}", e.getMessage());
+            throw new IllegalStateException("Schema migration failed", e);
+        }
+        if (result == null) {
+            return;
+        }
+        LOG.info("✅ Schema at version {} ({} migration(s) applied in {} ms)",
+                 result.currentVersion, result.applied.size(), result.tookMs);
+        
+        try {
+            QueryPlanCheck.PlanReport report = QueryPlanCheck.run();
+            for (QueryPlanCheck.PlanRow row : report.rows) {
+                if (QueryPlanCheck.STATUS_FAILED.equals(row.status)) {
+                    LOG.error("❌ {}", row);
+                } else if (!QueryPlanCheck.STATUS_OK.equals(row.status)) {
+                    LOG.warn("⚠️ {}", row);
+                }
+            }
+            if (report.passed) {
+                LOG.info("✅ Hot queries use their indexes");
+            } else if (FAIL_ON_PLAN_REGRESSION) {
+                throw new IllegalStateException("Hot query regressed to a full scan - see the query plan check above");
+            }
+        } catch (SQLException e) {
+            if (FAIL_ON_PLAN_REGRESSION) {
+                LOG.error("❌ Query plan check failed: {}", e.getMessage());
+                throw new IllegalStateException("Query plan check failed", e);
+            }
+            LOG.warn("⚠️ Query plan check skipped: {}", e.getMessage());
+        }
+    }
+}
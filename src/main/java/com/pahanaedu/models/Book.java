@@ -4,6 +4,7 @@ package com.pahanaedu.models;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 
 public class Book {
@@ -47,6 +48,27 @@ public class Book {
         this.description = description;
     }
     
+    // Copy constructor (used to hand out cached books without sharing mutable state)
+    public Book(Book other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.author = other.author;
+        this.categoryId = other.categoryId;
+        this.categoryName = other.categoryName;
+        this.price = other.price;
+        this.offerPrice = other.offerPrice;
+        this.stock = other.stock;
+        this.description = other.description;
+        this.details = other.details;
+        this.imageUrls = other.imageUrls;
+        this.status = other.status;
+        this.images = other.images != null ? new ArrayList<>(other.images) : null;
+        this.referenceNo = other.referenceNo;
+        this.qrCode = other.qrCode;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+    
     // Auto-update status based on stock
     public void updateStatusBasedOnStock() {
         if (this.stock <= 0) {
@@ -0,0 +1,55 @@
+// File: src/main/java/com/pahanaedu/models/Page.java
+package com.pahanaedu.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One page of a keyset-paginated list; nextCursor is null on the last page
+public class Page<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+    
+    // Constructors
+    public Page() {
+        this.items = new ArrayList<>();
+    }
+    
+    public Page(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.limit = limit;
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,359 @@
+// File: src/main/java/com/pahanaedu/search/AutocompleteIndex.java
+package com.pahanaedu.search;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pahanaedu.dao.BillDAO;
+import com.pahanaedu.models.Book;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Type-ahead suggestions over reference numbers, titles and authors.
+ *
+ * Suggestions live in a CompletionTrie scored by sales velocity (units sold per day
+ * over the last SALES_WINDOW_DAYS days), so the best sellers come first. Titles and
+ * authors can be completed from any of their first words ("potter" finds "Harry Potter").
+ * Book writes update entries through CatalogIndexes and new bills bump velocities
+ * immediately; the periodic full reload (see CatalogIndex) recomputes velocities.
+ */
+public class AutocompleteIndex extends CatalogIndex<AutocompleteIndex.Snapshot> {
+    
+    private static final Logger LOG = Logger.get(AutocompleteIndex.class);
+    
+    private static final AutocompleteIndex INSTANCE = new AutocompleteIndex();
+    
+    public static final String TYPE_REFERENCE = "reference";
+    public static final String TYPE_TITLE = "title";
+    public static final String TYPE_AUTHOR = "author";
+    
+    // Upper bound for the "limit" parameter; also the top-k kept per trie node
+    public static final int MAX_SUGGESTIONS = 10;
+    
+    private static final int SALES_WINDOW_DAYS = 30;
+    
+    // Titles and authors are completable from each of their first few words
+    private static final int MAX_WORD_STARTS = 6;
+    
+    private final BillDAO billDAO = new BillDAO();
+    
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+    
+    private AutocompleteIndex() {
+    }
+    
+    public static AutocompleteIndex getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Complete a partially typed reference number, title or author
+     * @param prefix Text typed so far
+     * @param limit Maximum number of suggestions (capped at MAX_SUGGESTIONS)
+     * @return Suggestions, fastest sellers first
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        long started = System.nanoTime();
+        List<Suggestion> suggestions = Collections.emptyList();
+        
+        String key = Tokenizer.phrase(prefix);
+        if (!key.isEmpty()) {
+            int max = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+            CompletionTrie<Suggestion> trie = currentSnapshot().trie;
+            suggestions = trie.complete(key, max);
+            
+            // Reference numbers are also keyed without separators ("bkref12" for "BKREF-12-...")
+            String compactKey = Tokenizer.compact(prefix);
+            if (compactKey != null && !compactKey.equals(key)) {
+                suggestions = merge(suggestions, trie.complete(compactKey, max), max);
+            }
+        }
+        
+        queries.increment();
+        queryNanos.add(System.nanoTime() - started);
+        return suggestions;
+    }
+    
+    /**
+     * Add just-sold quantities to the sales velocity of the books
+     * @param unitsByBook Quantity sold per book ID
+     */
+    public void recordSales(Map<Integer, Integer> unitsByBook) {
+        Snapshot current = loadedSnapshot();
+        if (current != null) {
+            for (Map.Entry<Integer, Integer> entry : unitsByBook.entrySet()) {
+                current.addSales(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Get index size and query timings for the admin dashboard
+     * @return AutocompleteStats snapshot
+     */
+    public AutocompleteStats getStats() {
+        AutocompleteStats stats = new AutocompleteStats();
+        Snapshot current = loadedSnapshot();
+        if (current != null) {
+            stats.books = current.books.size();
+            stats.authors = current.authors.size();
+            stats.keys = current.trie.getKeyCount();
+            stats.trieNodes = current.trie.getNodeCount();
+        }
+        stats.salesWindowDays = SALES_WINDOW_DAYS;
+        stats.queries = queries.sum();
+        stats.averageQueryMicros = stats.queries > 0 ? queryNanos.sum() / (double) stats.queries / 1000.0 : 0.0;
+        stats.reloads = getReloadCount();
+        stats.loadedAt = getLoadedAt();
+        return stats;
+    }
+    
+    private static List<Suggestion> merge(List<Suggestion> first, List<Suggestion> second, int limit) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        
+        Map<Suggestion, Boolean> seen = new IdentityHashMap<>();
+        List<Suggestion> merged = new ArrayList<>(first.size() + second.size());
+        for (Suggestion suggestion : first) {
+            if (seen.put(suggestion, Boolean.TRUE) == null) {
+                merged.add(suggestion);
+            }
+        }
+        for (Suggestion suggestion : second) {
+            if (seen.put(suggestion, Boolean.TRUE) == null) {
+                merged.add(suggestion);
+            }
+        }
+        merged.sort((a, b) -> Double.compare(b.salesVelocity, a.salesVelocity));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+    
+    @Override
+    protected Snapshot newSnapshot() {
+        return new Snapshot();
+    }
+    
+    // Sales are read first so books are inserted with their final score
+    @Override
+    protected Snapshot build(List<Book> books) {
+        Snapshot fresh = new Snapshot();
+        Timestamp since = new Timestamp(System.currentTimeMillis() - SALES_WINDOW_DAYS * 24L * 60 * 60 * 1000);
+        fresh.unitsByBook.putAll(billDAO.getUnitsSoldByBookSince(since));
+        
+        for (Book book : books) {
+            fresh.put(book);
+        }
+        return fresh;
+    }
+    
+    @Override
+    protected void loaded(Snapshot fresh) {
+        LOG.info("🔤 Autocomplete index loaded: {} books, {} keys", fresh.books.size(),
+                 fresh.trie.getKeyCount());
+    }
+    
+    // Keys for a title or author: the phrase starting at each of its first words
+    private static List<String> wordStartKeys(String phrase) {
+        List<String> keys = new ArrayList<>();
+        if (phrase.isEmpty()) {
+            return keys;
+        }
+        
+        keys.add(phrase);
+        int start = 0;
+        for (int i = 1; i < MAX_WORD_STARTS; i++) {
+            start = phrase.indexOf(' ', start) + 1;
+            if (start == 0) {
+                break;
+            }
+            keys.add(phrase.substring(start));
+        }
+        return keys;
+    }
+    
+    // Suggestions a book is stored under
+    private static final class BookEntry {
+        final Book book;
+        final Suggestion title;
+        final List<String> titleKeys;
+        final Suggestion reference;
+        final List<String> referenceKeys;
+        final String authorKey;
+        
+        BookEntry(Book book, Suggestion title, List<String> titleKeys,
+                  Suggestion reference, List<String> referenceKeys, String authorKey) {
+            this.book = book;
+            this.title = title;
+            this.titleKeys = titleKeys;
+            this.reference = reference;
+            this.referenceKeys = referenceKeys;
+            this.authorKey = authorKey;
+        }
+    }
+    
+    // One suggestion per author, scored by the combined velocity of their books
+    private static final class AuthorEntry {
+        final String name;
+        final List<String> keys;
+        final Set<Integer> bookIds = new HashSet<>();
+        Suggestion suggestion;
+        
+        AuthorEntry(String name, List<String> keys) {
+            this.name = name;
+            this.keys = keys;
+        }
+    }
+    
+    static final class Snapshot implements CatalogIndex.Snapshot {
+        final CompletionTrie<Suggestion> trie = new CompletionTrie<>(MAX_SUGGESTIONS);
+        final Map<Integer, BookEntry> books = new HashMap<>();
+        final Map<String, AuthorEntry> authors = new HashMap<>();
+        final Map<Integer, Integer> unitsByBook = new HashMap<>();
+        
+        @Override
+        public synchronized void put(Book book) {
+            remove(book.getId());
+            
+            int bookId = book.getId();
+            double velocity = velocity(bookId);
+            
+            Suggestion title = null;
+            List<String> titleKeys = wordStartKeys(Tokenizer.phrase(book.getTitle()));
+            if (!titleKeys.isEmpty()) {
+                title = new Suggestion(book.getTitle(), TYPE_TITLE, book, velocity);
+                for (String key : titleKeys) {
+                    trie.put(key, title, velocity);
+                }
+            }
+            
+            Suggestion reference = null;
+            Set<String> referenceKeys = new LinkedHashSet<>();
+            String referencePhrase = Tokenizer.phrase(book.getReferenceNo());
+            if (!referencePhrase.isEmpty()) {
+                referenceKeys.add(referencePhrase);
+                referenceKeys.add(Tokenizer.compact(book.getReferenceNo()));
+                reference = new Suggestion(book.getReferenceNo(), TYPE_REFERENCE, book, velocity);
+                for (String key : referenceKeys) {
+                    trie.put(key, reference, velocity);
+                }
+            }
+            
+            String authorKey = Tokenizer.phrase(book.getAuthor());
+            if (!authorKey.isEmpty()) {
+                AuthorEntry author = authors.computeIfAbsent(authorKey,
+                        key -> new AuthorEntry(book.getAuthor().trim(), wordStartKeys(key)));
+                author.bookIds.add(bookId);
+                rescore(author);
+            } else {
+                authorKey = null;
+            }
+            
+            books.put(bookId, new BookEntry(book, title, titleKeys, reference,
+                                            new ArrayList<>(referenceKeys), authorKey));
+        }
+        
+        @Override
+        public synchronized void remove(int bookId) {
+            BookEntry previous = books.remove(bookId);
+            if (previous == null) {
+                return;
+            }
+            
+            if (previous.title != null) {
+                for (String key : previous.titleKeys) {
+                    trie.remove(key, previous.title);
+                }
+            }
+            if (previous.reference != null) {
+                for (String key : previous.referenceKeys) {
+                    trie.remove(key, previous.reference);
+                }
+            }
+            if (previous.authorKey != null) {
+                AuthorEntry author = authors.get(previous.authorKey);
+                if (author != null) {
+                    author.bookIds.remove(bookId);
+                    rescore(author);
+                }
+            }
+        }
+        
+        synchronized void addSales(int bookId, int units) {
+            unitsByBook.merge(bookId, units, Integer::sum);
+            BookEntry entry = books.get(bookId);
+            if (entry != null) {
+                put(entry.book); // Re-insert with the new score
+            }
+        }
+        
+        private double velocity(int bookId) {
+            return unitsByBook.getOrDefault(bookId, 0) / (double) SALES_WINDOW_DAYS;
+        }
+        
+        // Re-insert an author's suggestion after its set of books or their sales changed
+        private void rescore(AuthorEntry author) {
+            if (author.suggestion != null) {
+                for (String key : author.keys) {
+                    trie.remove(key, author.suggestion);
+                }
+                author.suggestion = null;
+            }
+            if (author.bookIds.isEmpty()) {
+                authors.remove(author.keys.get(0));
+                return;
+            }
+            
+            double velocity = 0;
+            for (Integer bookId : author.bookIds) {
+                velocity += velocity(bookId);
+            }
+            author.suggestion = new Suggestion(author.name, TYPE_AUTHOR, null, velocity);
+            for (String key : author.keys) {
+                trie.put(key, author.suggestion, velocity);
+            }
+        }
+    }
+    
+    // One completion; bookId and referenceNo are empty for author suggestions
+    public static class Suggestion {
+        public String text;
+        public String type;
+        public int bookId;
+        public String referenceNo;
+        public double salesVelocity;
+        
+        Suggestion(String text, String type, Book book, double salesVelocity) {
+            this.text = text;
+            this.type = type;
+            if (book != null) {
+                this.bookId = book.getId();
+                this.referenceNo = book.getReferenceNo();
+            }
+            this.salesVelocity = salesVelocity;
+        }
+    }
+    
+    // Index statistics for the admin endpoint
+    public static class AutocompleteStats {
+        public int books;
+        public int authors;
+        public int keys;
+        public int trieNodes;
+        public int salesWindowDays;
+        public long queries;
+        public double averageQueryMicros;
+        public long reloads;
+        public long loadedAt;
+    }
+}
@@ -0,0 +1,363 @@
+// File: src/main/java/com/pahanaedu/search/BookSearchIndex.java
+package com.pahanaedu.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pahanaedu.dao.DashboardDAO;
+import com.pahanaedu.models.Book;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * In-memory inverted index over book title, author, reference number and category name.
+ *
+ * Every query term is matched as a prefix of an indexed term (so results update on
+ * each keystroke), all query terms must match, and hits are ranked by which fields
+ * matched: reference > title > author > category, exact terms before prefixes.
+ * Reference numbers also match anywhere inside (e.g. "2543" finds BKREF-12-254321),
+ * ignoring punctuation, like the LIKE '%x%' search this replaced.
+ * Book writes update entries through CatalogIndexes (see CatalogIndex for the reload
+ * cycle). Returned Book objects are shared - treat them as read-only.
+ */
+public class BookSearchIndex extends CatalogIndex<BookSearchIndex.Snapshot> {
+    
+    private static final Logger LOG = Logger.get(BookSearchIndex.class);
+    
+    private static final BookSearchIndex INSTANCE = new BookSearchIndex();
+    
+    // Field bits stored in the postings
+    private static final int FIELD_TITLE = 1;
+    private static final int FIELD_AUTHOR = 2;
+    private static final int FIELD_REFERENCE = 4;
+    private static final int FIELD_CATEGORY = 8;
+    
+    // Shorter text would match inside most reference numbers
+    private static final int MIN_INFIX_LENGTH = 3;
+    
+    // Stock level filters (as on the book references page)
+    public static final String STOCK_NORMAL = "normal";
+    public static final String STOCK_LOW = "low";
+    public static final String STOCK_OUT = "out";
+    
+    private static final Comparator<Hit> RANKING = (a, b) -> {
+        if (a.score != b.score) {
+            return Integer.compare(b.score, a.score);
+        }
+        int byTitle = String.CASE_INSENSITIVE_ORDER.compare(nullToEmpty(a.book.getTitle()), nullToEmpty(b.book.getTitle()));
+        return byTitle != 0 ? byTitle : Integer.compare(a.book.getId(), b.book.getId());
+    };
+    
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    
+    private BookSearchIndex() {
+    }
+    
+    public static BookSearchIndex getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Search the catalog
+     * @param query Free text typed by the user
+     * @param category Category name filter (null, empty or "all" for any)
+     * @param status Book status filter (null, empty or "all" for any)
+     * @param limit Maximum number of books to return
+     * @return Ranked results; empty for a blank query
+     */
+    public SearchResults search(String query, String category, String status, int limit) {
+        return search(query, category, status, null, null, limit);
+    }
+    
+    /**
+     * Search the catalog; filters are applied before the limit, so the total counts
+     * only books that pass them
+     * @param query Free text typed by the user
+     * @param category Category name filter (null, empty or "all" for any)
+     * @param status Book status filter (null, empty or "all" for any)
+     * @param categoryId Category ID filter (null for any)
+     * @param stockLevel STOCK_NORMAL, STOCK_LOW or STOCK_OUT (null, empty or "all" for any)
+     * @param limit Maximum number of books to return
+     * @return Ranked results; empty for a blank query
+     */
+    public SearchResults search(String query, String category, String status,
+                                Integer categoryId, String stockLevel, int limit) {
+        long started = System.nanoTime();
+        SearchResults results = new SearchResults();
+        results.query = query;
+        
+        List<String> terms = Tokenizer.tokenize(query);
+        if (!terms.isEmpty()) {
+            Snapshot current = currentSnapshot();
+            List<Hit> hits = match(current, terms, Tokenizer.compact(query));
+            
+            String categoryFilter = isAll(category) ? null : category.trim();
+            String statusFilter = isAll(status) ? null : status.trim();
+            String stockFilter = isAll(stockLevel) ? null : stockLevel.trim();
+            List<Hit> filtered = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                if (categoryFilter != null && !categoryFilter.equalsIgnoreCase(hit.book.getCategoryName())) {
+                    continue;
+                }
+                if (statusFilter != null && !statusFilter.equals(hit.book.getStatus())) {
+                    continue;
+                }
+                if (categoryId != null && categoryId != hit.book.getCategoryId()) {
+                    continue;
+                }
+                if (stockFilter != null && !stockFilter.equals(stockLevel(hit.book.getStock()))) {
+                    continue;
+                }
+                filtered.add(hit);
+            }
+            
+            filtered.sort(RANKING);
+            results.total = filtered.size();
+            int count = Math.min(Math.max(limit, 0), filtered.size());
+            for (int i = 0; i < count; i++) {
+                results.books.add(filtered.get(i).book);
+            }
+        }
+        
+        long elapsed = System.nanoTime() - started;
+        searches.increment();
+        searchNanos.add(elapsed);
+        results.tookMs = elapsed / 1_000_000.0;
+        return results;
+    }
+    
+    /**
+     * Stock level of a book for the stock filter
+     * @param stock Units in stock
+     * @return STOCK_OUT, STOCK_LOW (up to DashboardDAO.LOW_STOCK_THRESHOLD) or STOCK_NORMAL
+     */
+    public static String stockLevel(int stock) {
+        if (stock <= 0) {
+            return STOCK_OUT;
+        }
+        return stock <= DashboardDAO.LOW_STOCK_THRESHOLD ? STOCK_LOW : STOCK_NORMAL;
+    }
+    
+    /**
+     * Check a stock level filter value
+     * @param stockLevel Value from a request
+     * @return true for a known level or "any" (null, empty or "all")
+     */
+    public static boolean isStockLevel(String stockLevel) {
+        if (isAll(stockLevel)) {
+            return true;
+        }
+        String level = stockLevel.trim();
+        return STOCK_NORMAL.equals(level) || STOCK_LOW.equals(level) || STOCK_OUT.equals(level);
+    }
+    
+    /**
+     * Get index size and search timings for the admin dashboard
+     * @return SearchIndexStats snapshot
+     */
+    public SearchIndexStats getStats() {
+        SearchIndexStats stats = new SearchIndexStats();
+        Snapshot current = loadedSnapshot();
+        if (current != null) {
+            stats.books = current.documents.size();
+            stats.terms = current.postings.size();
+        }
+        stats.searches = searches.sum();
+        stats.averageSearchMs = stats.searches > 0 ? searchNanos.sum() / (double) stats.searches / 1_000_000.0 : 0.0;
+        stats.reloads = getReloadCount();
+        stats.loadedAt = getLoadedAt();
+        return stats;
+    }
+    
+    // Books matching every term, scored by the best-matching indexed term for each query term,
+    // plus books whose reference number contains the whole query (compacted)
+    private List<Hit> match(Snapshot current, List<String> terms, String compactQuery) {
+        Map<Integer, Integer> scores = null;
+        
+        for (String term : terms) {
+            Map<Integer, Integer> termScores = new HashMap<>();
+            NavigableMap<String, Map<Integer, Integer>> matches =
+                    current.postings.subMap(term, true, term + Character.MAX_VALUE, false);
+            
+            for (Map.Entry<String, Map<Integer, Integer>> entry : matches.entrySet()) {
+                boolean exact = entry.getKey().length() == term.length();
+                for (Map.Entry<Integer, Integer> posting : entry.getValue().entrySet()) {
+                    Integer bookId = posting.getKey();
+                    if (scores != null && !scores.containsKey(bookId)) {
+                        continue; // Already ruled out by an earlier term
+                    }
+                    int score = fieldWeight(posting.getValue()) * (exact ? 2 : 1);
+                    termScores.merge(bookId, score, Math::max);
+                }
+            }
+            
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Integer, Integer> combined = new HashMap<>();
+                for (Map.Entry<Integer, Integer> entry : termScores.entrySet()) {
+                    combined.put(entry.getKey(), scores.get(entry.getKey()) + entry.getValue());
+                }
+                scores = combined;
+            }
+            
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        
+        // Infix references need a scan: one String.contains per book, well under a
+        // millisecond for catalogs of tens of thousands
+        if (compactQuery != null && compactQuery.length() >= MIN_INFIX_LENGTH) {
+            int referenceScore = fieldWeight(FIELD_REFERENCE);
+            for (Document document : current.documents.values()) {
+                if (document.compactReference != null && document.compactReference.contains(compactQuery)) {
+                    scores.merge(document.book.getId(), referenceScore, Math::max);
+                }
+            }
+        }
+        
+        List<Hit> hits = new ArrayList<>(scores.size());
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            Document document = current.documents.get(entry.getKey());
+            if (document != null) {
+                hits.add(new Hit(document.book, entry.getValue()));
+            }
+        }
+        return hits;
+    }
+    
+    private static int fieldWeight(int fields) {
+        int weight = 0;
+        if ((fields & FIELD_REFERENCE) != 0) {
+            weight += 8;
+        }
+        if ((fields & FIELD_TITLE) != 0) {
+            weight += 4;
+        }
+        if ((fields & FIELD_AUTHOR) != 0) {
+            weight += 3;
+        }
+        if ((fields & FIELD_CATEGORY) != 0) {
+            weight += 1;
+        }
+        return weight;
+    }
+    
+    private static boolean isAll(String filter) {
+        return filter == null || filter.trim().isEmpty() || "all".equals(filter.trim());
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+    
+    @Override
+    protected Snapshot newSnapshot() {
+        return new Snapshot();
+    }
+    
+    @Override
+    protected void loaded(Snapshot fresh) {
+        LOG.info("🔎 Search index loaded: {} books, {} terms", fresh.documents.size(), fresh.postings.size());
+    }
+    
+    // Indexed book and the terms it was posted under (needed to unpost it)
+    private static final class Document {
+        final Book book;
+        final Map<String, Integer> fieldsByTerm;
+        final String compactReference;
+        
+        Document(Book book, Map<String, Integer> fieldsByTerm, String compactReference) {
+            this.book = book;
+            this.fieldsByTerm = fieldsByTerm;
+            this.compactReference = compactReference;
+        }
+    }
+    
+    private static final class Hit {
+        final Book book;
+        final int score;
+        
+        Hit(Book book, int score) {
+            this.book = book;
+            this.score = score;
+        }
+    }
+    
+    static final class Snapshot implements CatalogIndex.Snapshot {
+        final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+        // term -> (book ID -> field bits); sorted so prefixes are a range scan
+        final ConcurrentSkipListMap<String, Map<Integer, Integer>> postings = new ConcurrentSkipListMap<>();
+        
+        @Override
+        public synchronized void put(Book book) {
+            remove(book.getId());
+            
+            Map<String, Integer> fieldsByTerm = new HashMap<>();
+            addTerms(fieldsByTerm, Tokenizer.tokenize(book.getTitle()), FIELD_TITLE);
+            addTerms(fieldsByTerm, Tokenizer.tokenize(book.getAuthor()), FIELD_AUTHOR);
+            addTerms(fieldsByTerm, Tokenizer.tokenize(book.getReferenceNo()), FIELD_REFERENCE);
+            String compactReference = Tokenizer.compact(book.getReferenceNo());
+            if (compactReference != null) {
+                addTerms(fieldsByTerm, Collections.singletonList(compactReference), FIELD_REFERENCE);
+            }
+            addTerms(fieldsByTerm, Tokenizer.tokenize(book.getCategoryName()), FIELD_CATEGORY);
+            
+            for (Map.Entry<String, Integer> entry : fieldsByTerm.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new ConcurrentHashMap<>())
+                        .put(book.getId(), entry.getValue());
+            }
+            documents.put(book.getId(), new Document(book, fieldsByTerm, compactReference));
+        }
+        
+        @Override
+        public synchronized void remove(int bookId) {
+            Document previous = documents.remove(bookId);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.fieldsByTerm.keySet()) {
+                Map<Integer, Integer> bookIds = postings.get(term);
+                if (bookIds != null) {
+                    bookIds.remove(bookId);
+                    if (bookIds.isEmpty()) {
+                        postings.remove(term, bookIds);
+                    }
+                }
+            }
+        }
+        
+        private static void addTerms(Map<String, Integer> fieldsByTerm, List<String> terms, int field) {
+            for (String term : terms) {
+                fieldsByTerm.merge(term, field, (a, b) -> a | b);
+            }
+        }
+    }
+    
+    // Search response: the first page of ranked books plus the total number of matches
+    public static class SearchResults {
+        public String query;
+        public int total;
+        public double tookMs;
+        public List<Book> books = new ArrayList<>();
+    }
+    
+    // Index statistics for the admin endpoint
+    public static class SearchIndexStats {
+        public int books;
+        public int terms;
+        public long searches;
+        public double averageSearchMs;
+        public long reloads;
+        public long loadedAt;
+    }
+}
@@ -0,0 +1,180 @@
+// File: src/main/java/com/pahanaedu/search/CatalogIndex.java
+package com.pahanaedu.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pahanaedu.dao.BookDAO;
+import com.pahanaedu.models.Book;
+
+/**
+ * Load/refresh lifecycle shared by the in-memory catalog indexes.
+ *
+ * The index is built lazily on first use and rebuilt every MAX_AGE_MS to pick up
+ * writes made by other application nodes. Rebuilds run in the background
+ * (CatalogIndexes reloads every index from one catalog read) while queries keep using
+ * the current snapshot, which is also kept if the read fails. Local writes are applied
+ * in place through CatalogIndexes; writes that land while a rebuild is reading the
+ * table are re-applied after the new snapshot is swapped in.
+ */
+abstract class CatalogIndex<S extends CatalogIndex.Snapshot> {
+    
+    // Full reload interval (catches writes from other nodes)
+    private static final long MAX_AGE_MS = 5 * 60 * 1000;
+    
+    protected final BookDAO bookDAO = new BookDAO();
+    
+    private volatile S snapshot;
+    private volatile long loadedAt;
+    
+    // Book IDs written while a full reload is reading the table, re-applied after the swap
+    private volatile Set<Integer> changedDuringLoad;
+    
+    private final LongAdder reloads = new LongAdder();
+    
+    // One generation of an index; replaced wholesale on reload, updated in place by writes
+    interface Snapshot {
+        void put(Book book);
+        
+        void remove(int bookId);
+    }
+    
+    /**
+     * @return New empty snapshot
+     */
+    protected abstract S newSnapshot();
+    
+    /**
+     * Build a complete snapshot from the whole catalog
+     * @param books Every book (shared with the other indexes - read-only)
+     * @return Fresh snapshot
+     */
+    protected S build(List<Book> books) {
+        S fresh = newSnapshot();
+        for (Book book : books) {
+            fresh.put(book);
+        }
+        return fresh;
+    }
+    
+    /**
+     * Called after a reload was swapped in (for logging)
+     * @param fresh The new snapshot
+     */
+    protected abstract void loaded(S fresh);
+    
+    /**
+     * Reload several books from the database with a single query
+     * @param bookIds Book IDs that changed
+     */
+    public void refreshAll(Collection<Integer> bookIds) {
+        if (acceptsUpdates() && !bookIds.isEmpty()) {
+            apply(bookIds, bookDAO.getBooksByIds(bookIds, false));
+        }
+    }
+    
+    /**
+     * Load the index now if it is not loaded, or start a background reload if it is due
+     */
+    public void warmUp() {
+        currentSnapshot();
+    }
+    
+    /**
+     * Start a full reload on the next use (served from the current snapshot until it is done)
+     */
+    public void invalidate() {
+        loadedAt = 0;
+    }
+    
+    // True when loaded or loading - otherwise there is nothing to update
+    boolean acceptsUpdates() {
+        return snapshot != null || changedDuringLoad != null;
+    }
+    
+    // Apply freshly loaded books; IDs missing from the list were deleted
+    void apply(Collection<Integer> bookIds, List<Book> books) {
+        Set<Integer> pending = changedDuringLoad;
+        if (pending != null) {
+            pending.addAll(bookIds);
+        }
+        
+        S current = snapshot;
+        if (current == null) {
+            return; // Not loaded yet - the first use will load everything
+        }
+        
+        Set<Integer> found = new HashSet<>();
+        for (Book book : books) {
+            current.put(book);
+            found.add(book.getId());
+        }
+        for (Integer bookId : bookIds) {
+            if (!found.contains(bookId)) {
+                current.remove(bookId);
+            }
+        }
+    }
+    
+    // Loaded snapshot, or null if the index has not been used yet (never loads)
+    protected S loadedSnapshot() {
+        return snapshot;
+    }
+    
+    protected long getLoadedAt() {
+        return loadedAt;
+    }
+    
+    protected long getReloadCount() {
+        return reloads.sum();
+    }
+    
+    // Snapshot to query; a due reload runs in the background, only the first load is waited for
+    protected S currentSnapshot() {
+        S current = snapshot;
+        if (current != null) {
+            if (System.currentTimeMillis() - loadedAt >= MAX_AGE_MS) {
+                CatalogIndexes.reloadInBackground();
+            }
+            return current;
+        }
+        
+        CatalogIndexes.reloadAndWait();
+        current = snapshot;
+        return current != null ? current : newSnapshot(); // Load failed - answer empty, retry later
+    }
+    
+    // Reload protocol, driven by CatalogIndexes on its reload thread:
+    // beginReload() before the catalog is read, then finishReload() or abortReload()
+    void beginReload() {
+        changedDuringLoad = ConcurrentHashMap.newKeySet();
+    }
+    
+    void abortReload() {
+        changedDuringLoad = null;
+    }
+    
+    void finishReload(List<Book> books) {
+        Set<Integer> pending = changedDuringLoad;
+        S fresh;
+        try {
+            fresh = build(books);
+            snapshot = fresh;
+            loadedAt = System.currentTimeMillis();
+            reloads.increment();
+        } finally {
+            changedDuringLoad = null;
+        }
+        
+        if (pending != null && !pending.isEmpty()) {
+            refreshAll(new ArrayList<>(pending));
+        }
+        
+        loaded(fresh);
+    }
+}
@@ -0,0 +1,150 @@
+// File: src/main/java/com/pahanaedu/search/CatalogIndexes.java
+package com.pahanaedu.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.pahanaedu.dao.BookDAO;
+import com.pahanaedu.models.Book;
+import com.pahanaedu.utils.BackgroundReloader;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Write hooks for the in-memory search indexes (BookSearchIndex, AutocompleteIndex,
+ * FuzzyMatcher).
+ *
+ * DAOs call these after a committed book or bill write; changed books are read from
+ * the database once and handed to every index that is loaded. Full reloads work the
+ * same way: one background thread reads the catalog once and rebuilds all three.
+ */
+public final class CatalogIndexes {
+    
+    private static final Logger LOG = Logger.get(CatalogIndexes.class);
+    
+    private static final BookDAO bookDAO = new BookDAO();
+    
+    private static final BackgroundReloader RELOADER =
+            new BackgroundReloader("pahanaedu-catalog-indexes", CatalogIndexes::reloadAll);
+    
+    private CatalogIndexes() {
+    }
+    
+    /**
+     * A book was created or changed
+     * @param bookId Book ID
+     */
+    public static void bookChanged(int bookId) {
+        booksChanged(Collections.singletonList(bookId));
+    }
+    
+    /**
+     * Several books were changed (e.g. stock after a sale)
+     * @param bookIds Book IDs
+     */
+    public static void booksChanged(Collection<Integer> bookIds) {
+        BookSearchIndex search = BookSearchIndex.getInstance();
+        AutocompleteIndex autocomplete = AutocompleteIndex.getInstance();
+        FuzzyMatcher fuzzy = FuzzyMatcher.getInstance();
+        if (bookIds.isEmpty()
+                || (!search.acceptsUpdates() && !autocomplete.acceptsUpdates() && !fuzzy.acceptsUpdates())) {
+            return;
+        }
+        
+        List<Book> books = bookDAO.getBooksByIds(bookIds, false);
+        search.apply(bookIds, books);
+        autocomplete.apply(bookIds, books);
+        fuzzy.apply(bookIds, books);
+    }
+    
+    /**
+     * A book was deleted
+     * @param bookId Book ID
+     */
+    public static void bookDeleted(int bookId) {
+        List<Integer> bookIds = Collections.singletonList(bookId);
+        BookSearchIndex.getInstance().apply(bookIds, Collections.emptyList());
+        AutocompleteIndex.getInstance().apply(bookIds, Collections.emptyList());
+        FuzzyMatcher.getInstance().apply(bookIds, Collections.emptyList());
+    }
+    
+    /**
+     * A bill was saved: refresh stock and add the quantities to sales velocity
+     * @param unitsByBook Quantity sold per book ID
+     */
+    public static void booksSold(Map<Integer, Integer> unitsByBook) {
+        booksChanged(unitsByBook.keySet());
+        AutocompleteIndex.getInstance().recordSales(unitsByBook);
+    }
+    
+    /**
+     * Category names changed - books are indexed under them, so reload everything
+     */
+    public static void categoriesChanged() {
+        BookSearchIndex.getInstance().invalidate();
+        AutocompleteIndex.getInstance().invalidate();
+    }
+    
+    /**
+     * Books were written in bulk outside the DAOs (e.g. DataGenerator) - reload every index
+     */
+    public static void catalogReplaced() {
+        categoriesChanged();
+        FuzzyMatcher.getInstance().invalidate();
+    }
+    
+    /**
+     * Stop the background reload thread (called when the webapp stops)
+     */
+    public static void shutdown() {
+        RELOADER.shutdown();
+    }
+    
+    // A snapshot is due: rebuild every index without making the caller wait
+    static void reloadInBackground() {
+        RELOADER.trigger();
+    }
+    
+    // First use: there is no snapshot to serve yet
+    static void reloadAndWait() {
+        RELOADER.reloadAndWait();
+    }
+    
+    // Runs on the reload thread: one catalog read for all indexes, from the database rather than
+    // the catalog cache so other nodes' writes show up; a failed read keeps every snapshot
+    private static boolean reloadAll() {
+        List<CatalogIndex<?>> indexes = Arrays.asList(
+                BookSearchIndex.getInstance(), AutocompleteIndex.getInstance(), FuzzyMatcher.getInstance());
+        for (CatalogIndex<?> index : indexes) {
+            index.beginReload();
+        }
+        
+        List<Book> books = null;
+        try {
+            books = bookDAO.getAllBooksFromDatabase(false);
+        } finally {
+            if (books == null) {
+                for (CatalogIndex<?> index : indexes) {
+                    index.abortReload();
+                }
+            }
+        }
+        if (books == null) {
+            LOG.warn("⚠️ Catalog index reload failed - keeping the previous snapshots");
+            return false;
+        }
+        
+        boolean succeeded = true;
+        for (CatalogIndex<?> index : indexes) {
+            try {
+                index.finishReload(books);
+            } catch (RuntimeException e) {
+                LOG.error("❌ Could not rebuild {}", index.getClass().getSimpleName(), e);
+                succeeded = false;
+            }
+        }
+        return succeeded;
+    }
+}
@@ -0,0 +1,252 @@
+// File: src/main/java/com/pahanaedu/search/CompletionTrie.java
+package com.pahanaedu.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compressed (radix) trie from string keys to scored values, for type-ahead completion.
+ *
+ * Every node keeps the top-k values of its subtree precomputed, so a completion is a
+ * walk down the prefix and a copy of at most k values - no subtree scan at query time.
+ * Writes are serialized and recompute the top-k lists along the touched path only.
+ * Reads take no lock: nodes are never modified in a way a concurrent reader could see
+ * half-done (edge splits and merges build the new node before linking it, top-k lists
+ * are replaced).
+ */
+public class CompletionTrie<T> {
+    
+    private final int topK;
+    private final Node<T> root = new Node<>("");
+    private int keyCount;
+    private int nodeCount = 1;
+    
+    public CompletionTrie(int topK) {
+        this.topK = topK;
+    }
+    
+    /**
+     * Add a value under a key (a value may be stored under several keys)
+     * @param key Normalized key
+     * @param value Value to complete to
+     * @param score Higher scores are returned first
+     */
+    public synchronized void put(String key, T value, double score) {
+        List<Node<T>> path = new ArrayList<>();
+        Node<T> node = root;
+        path.add(node);
+        int i = 0;
+        
+        while (i < key.length()) {
+            char c = key.charAt(i);
+            Node<T> child = node.children.get(c);
+            
+            if (child == null) {
+                Node<T> leaf = new Node<>(key.substring(i));
+                node.children.put(c, leaf);
+                nodeCount++;
+                node = leaf;
+                path.add(node);
+                i = key.length();
+                break;
+            }
+            
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge: node -> mid -> tail (tail keeps the old children and entries)
+                Node<T> tail = new Node<>(child.label.substring(common), child);
+                Node<T> mid = new Node<>(child.label.substring(0, common));
+                mid.children.put(tail.label.charAt(0), tail);
+                mid.best = tail.best;
+                node.children.put(c, mid);
+                nodeCount++;
+                child = mid;
+            }
+            
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        
+        node.entries.add(new Entry<>(key, value, score));
+        keyCount++;
+        recompute(path);
+    }
+    
+    /**
+     * Remove a value stored under a key
+     * @param key Normalized key it was put under
+     * @param value Value (compared by identity)
+     */
+    public synchronized void remove(String key, T value) {
+        List<Node<T>> path = findPath(key);
+        if (path == null) {
+            return;
+        }
+        
+        Node<T> target = path.get(path.size() - 1);
+        boolean removed = target.entries.removeIf(entry -> entry.value == value);
+        if (!removed) {
+            return;
+        }
+        keyCount--;
+        
+        // Unlink leaves that no longer hold anything
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node<T> current = path.get(i);
+            if (!current.entries.isEmpty() || !current.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(current.label.charAt(0), current);
+            nodeCount--;
+            path.remove(i);
+        }
+        
+        // Keep the trie compressed: a node left with no entries and a single child is
+        // folded into that child (the reverse of an edge split in put)
+        int last = path.size() - 1;
+        Node<T> node = path.get(last);
+        if (last > 0 && node.entries.isEmpty() && node.children.size() == 1) {
+            Node<T> child = node.children.values().iterator().next();
+            Node<T> merged = new Node<>(node.label + child.label, child);
+            path.get(last - 1).children.put(merged.label.charAt(0), merged);
+            nodeCount--;
+            path.set(last, merged);
+        }
+        recompute(path);
+    }
+    
+    /**
+     * Get the best-scored values whose key starts with the prefix
+     * @param prefix Normalized prefix
+     * @param limit Maximum number of values (capped at the trie's top-k)
+     * @return Values, best first
+     */
+    public List<T> complete(String prefix, int limit) {
+        Node<T> node = root;
+        int i = 0;
+        
+        while (i < prefix.length()) {
+            Node<T> child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int length = Math.min(child.label.length(), prefix.length() - i);
+            if (!child.label.regionMatches(0, prefix, i, length)) {
+                return Collections.emptyList();
+            }
+            node = child;
+            i += length;
+        }
+        
+        List<Entry<T>> best = node.best;
+        int count = Math.min(limit, best.size());
+        List<T> values = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            values.add(best.get(j).value);
+        }
+        return values;
+    }
+    
+    public synchronized int getKeyCount() {
+        return keyCount;
+    }
+    
+    public synchronized int getNodeCount() {
+        return nodeCount;
+    }
+    
+    // Path from the root to the node holding exactly this key, or null
+    private List<Node<T>> findPath(String key) {
+        List<Node<T>> path = new ArrayList<>();
+        Node<T> node = root;
+        path.add(node);
+        int i = 0;
+        
+        while (i < key.length()) {
+            Node<T> child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            node = child;
+            path.add(node);
+            i += child.label.length();
+        }
+        return path;
+    }
+    
+    // Rebuild the top-k lists bottom-up along a path
+    private void recompute(List<Node<T>> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<T> node = path.get(i);
+            
+            List<Entry<T>> candidates = new ArrayList<>(node.entries);
+            for (Node<T> child : node.children.values()) {
+                candidates.addAll(child.best);
+            }
+            candidates.sort((a, b) -> {
+                int byScore = Double.compare(b.score, a.score);
+                return byScore != 0 ? byScore : a.key.compareTo(b.key);
+            });
+            
+            // The same value can sit under several keys of one subtree - keep its best entry
+            Map<T, Boolean> seen = new IdentityHashMap<>();
+            List<Entry<T>> best = new ArrayList<>(topK);
+            for (Entry<T> entry : candidates) {
+                if (best.size() == topK) {
+                    break;
+                }
+                if (seen.put(entry.value, Boolean.TRUE) == null) {
+                    best.add(entry);
+                }
+            }
+            node.best = Collections.unmodifiableList(best);
+        }
+    }
+    
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+    
+    private static final class Node<T> {
+        final String label;
+        final Map<Character, Node<T>> children;
+        final List<Entry<T>> entries;
+        volatile List<Entry<T>> best = Collections.emptyList();
+        
+        Node(String label) {
+            this.label = label;
+            this.children = new ConcurrentHashMap<>();
+            this.entries = new ArrayList<>();
+        }
+        
+        // Same subtree under another edge label (edge splits in put, merges in remove)
+        Node(String label, Node<T> original) {
+            this.label = label;
+            this.children = original.children;
+            this.entries = original.entries;
+            this.best = original.best;
+        }
+    }
+    
+    private static final class Entry<T> {
+        final String key;
+        final T value;
+        final double score;
+        
+        Entry(String key, T value, double score) {
+            this.key = key;
+            this.value = value;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+// File: src/main/java/com/pahanaedu/search/FuzzyMatcher.java
+package com.pahanaedu.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pahanaedu.models.Book;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Typo-tolerant "did you mean" matching of a mistyped reference number or title.
+ *
+ * Reference numbers are keyed without separators and titles as normalized phrases, each
+ * in an NGramIndex, so a lookup verifies only the few keys sharing enough trigrams with
+ * the input and never touches the database. The allowed edit distance grows with the length of the input.
+ */
+public class FuzzyMatcher extends CatalogIndex<FuzzyMatcher.Snapshot> {
+    
+    private static final Logger LOG = Logger.get(FuzzyMatcher.class);
+    
+    private static final FuzzyMatcher INSTANCE = new FuzzyMatcher();
+    
+    public static final String MATCH_REFERENCE = "reference";
+    public static final String MATCH_TITLE = "title";
+    
+    // Upper bound for the number of candidates returned
+    public static final int MAX_CANDIDATES = 10;
+    
+    // Trigrams: reference numbers are mostly digits, whose bigrams are far too common
+    private static final int GRAM_SIZE = 3;
+    
+    // Three edits on a reference number already reach unrelated books
+    private static final int MAX_REFERENCE_DISTANCE = 2;
+    
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    
+    private FuzzyMatcher() {
+    }
+    
+    public static FuzzyMatcher getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Find books whose reference number or title is close to the input
+     * @param input Reference number or title as typed
+     * @param limit Maximum number of candidates (capped at MAX_CANDIDATES)
+     * @return Candidates, closest first; empty if nothing is close enough
+     */
+    public List<Candidate> findSimilar(String input, int limit) {
+        long started = System.nanoTime();
+        Map<Integer, Candidate> best = new HashMap<>();
+        
+        String referenceKey = Tokenizer.compact(input);
+        String titleKey = Tokenizer.phrase(input);
+        if (referenceKey != null) {
+            Snapshot current = currentSnapshot();
+            collect(best, current.references.search(referenceKey,
+                    Math.min(allowedDistance(referenceKey), MAX_REFERENCE_DISTANCE)),
+                    referenceKey, MATCH_REFERENCE);
+            collect(best, current.titles.search(titleKey, allowedDistance(titleKey)),
+                    titleKey, MATCH_TITLE);
+        }
+        
+        List<Candidate> candidates = new ArrayList<>(best.values());
+        candidates.sort((a, b) -> {
+            if (a.distance != b.distance) {
+                return Integer.compare(a.distance, b.distance);
+            }
+            if (a.similarity != b.similarity) {
+                return Double.compare(b.similarity, a.similarity);
+            }
+            return a.matchedOn.compareTo(b.matchedOn); // "reference" before "title"
+        });
+        int max = Math.min(Math.max(limit, 1), MAX_CANDIDATES);
+        if (candidates.size() > max) {
+            candidates = new ArrayList<>(candidates.subList(0, max));
+        }
+        
+        lookups.increment();
+        lookupNanos.add(System.nanoTime() - started);
+        return candidates;
+    }
+    
+    /**
+     * Get index size and lookup timings for the admin dashboard
+     * @return FuzzyStats snapshot
+     */
+    public FuzzyStats getStats() {
+        FuzzyStats stats = new FuzzyStats();
+        Snapshot current = loadedSnapshot();
+        if (current != null) {
+            stats.books = current.books.size();
+            stats.referenceKeys = current.references.getKeyCount();
+            stats.titleKeys = current.titles.getKeyCount();
+        }
+        stats.lookups = lookups.sum();
+        stats.averageLookupMs = stats.lookups > 0 ? lookupNanos.sum() / (double) stats.lookups / 1_000_000.0 : 0.0;
+        stats.reloads = getReloadCount();
+        stats.loadedAt = getLoadedAt();
+        return stats;
+    }
+    
+    @Override
+    protected Snapshot newSnapshot() {
+        return new Snapshot();
+    }
+    
+    @Override
+    protected void loaded(Snapshot fresh) {
+        LOG.info("🔡 Fuzzy matcher loaded: {} books", fresh.books.size());
+    }
+    
+    // Short inputs only tolerate one typo; long titles up to three
+    private static int allowedDistance(String key) {
+        int length = key.length();
+        if (length <= 4) {
+            return 1;
+        }
+        return length <= 8 ? 2 : 3;
+    }
+    
+    private static void collect(Map<Integer, Candidate> best, List<NGramIndex.Match<Book>> matches,
+                                String query, String matchedOn) {
+        for (NGramIndex.Match<Book> match : matches) {
+            Candidate candidate = new Candidate(match.value, matchedOn, match.distance,
+                    1.0 - match.distance / (double) Math.max(query.length(), match.key.length()));
+            Candidate existing = best.get(candidate.bookId);
+            if (existing == null || candidate.distance < existing.distance) {
+                best.put(candidate.bookId, candidate);
+            }
+        }
+    }
+    
+    static final class Snapshot implements CatalogIndex.Snapshot {
+        final NGramIndex<Book> references = new NGramIndex<>(GRAM_SIZE);
+        final NGramIndex<Book> titles = new NGramIndex<>(GRAM_SIZE);
+        final Map<Integer, Book> books = new ConcurrentHashMap<>();
+        
+        @Override
+        public synchronized void put(Book book) {
+            remove(book.getId());
+            
+            String referenceKey = Tokenizer.compact(book.getReferenceNo());
+            if (referenceKey != null) {
+                references.put(referenceKey, book);
+            }
+            String titleKey = Tokenizer.phrase(book.getTitle());
+            if (!titleKey.isEmpty()) {
+                titles.put(titleKey, book);
+            }
+            books.put(book.getId(), book);
+        }
+        
+        @Override
+        public synchronized void remove(int bookId) {
+            Book previous = books.remove(bookId);
+            if (previous == null) {
+                return;
+            }
+            
+            String referenceKey = Tokenizer.compact(previous.getReferenceNo());
+            if (referenceKey != null) {
+                references.remove(referenceKey, previous);
+            }
+            String titleKey = Tokenizer.phrase(previous.getTitle());
+            if (!titleKey.isEmpty()) {
+                titles.remove(titleKey, previous);
+            }
+        }
+    }
+    
+    // One "did you mean" suggestion
+    public static class Candidate {
+        public int bookId;
+        public String referenceNo;
+        public String title;
+        public String author;
+        public int stock;
+        public String matchedOn;
+        public int distance;
+        public double similarity;
+        
+        Candidate(Book book, String matchedOn, int distance, double similarity) {
+            this.bookId = book.getId();
+            this.referenceNo = book.getReferenceNo();
+            this.title = book.getTitle();
+            this.author = book.getAuthor();
+            this.stock = book.getStock();
+            this.matchedOn = matchedOn;
+            this.distance = distance;
+            this.similarity = similarity;
+        }
+    }
+    
+    // Index statistics for the admin endpoint
+    public static class FuzzyStats {
+        public int books;
+        public int referenceKeys;
+        public int titleKeys;
+        public long lookups;
+        public double averageLookupMs;
+        public long reloads;
+        public long loadedAt;
+    }
+}
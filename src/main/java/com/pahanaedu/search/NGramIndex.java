@@ -0,0 +1,257 @@
+// File: src/main/java/com/pahanaedu/search/NGramIndex.java
+package com.pahanaedu.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * N-gram index for approximate string lookup ("did you mean").
+ *
+ * Keys are split into grams of n characters with ^/$ padding. A key within edit distance
+ * k of the query must share at least |grams(query)| - n*k distinct grams with it (each
+ * edit destroys at most n), so only keys reaching that count are verified with a banded
+ * Levenshtein computation. Grams carried by most keys (e.g. a shared "BKREF" prefix)
+ * are not counted; the threshold is lowered by one for each, which keeps it exact.
+ * Writes are serialized; reads take no lock.
+ */
+public class NGramIndex<T> {
+    
+    // Grams present in more than this share of keys are too common to filter on
+    private static final double COMMON_GRAM_RATIO = 0.25;
+    
+    private final Map<String, Set<Entry<T>>> postings = new ConcurrentHashMap<>();
+    // Per-key lists are immutable and replaced on write, so readers can iterate them
+    private final Map<String, List<Entry<T>>> byKey = new ConcurrentHashMap<>();
+    // Entries by key length, scanned when the query is too short to filter on grams
+    private final Map<Integer, Set<Entry<T>>> byLength = new ConcurrentHashMap<>();
+    private final int gramSize;
+    private volatile int keyCount;
+    // Entries are numbered so a lookup can count shared grams in a plain array
+    private volatile int nextSlot;
+    
+    /**
+     * @param gramSize Gram length; 3 suits keys over a small alphabet (digits), 2 short keys
+     */
+    public NGramIndex(int gramSize) {
+        this.gramSize = gramSize;
+    }
+    
+    /**
+     * Add a value under a key
+     * @param key Normalized key
+     * @param value Value (several values may share a key)
+     */
+    public synchronized void put(String key, T value) {
+        Entry<T> entry = new Entry<>(key, value, nextSlot++);
+        List<Entry<T>> sameKey = byKey.get(key);
+        List<Entry<T>> updated = sameKey == null ? new ArrayList<>() : new ArrayList<>(sameKey);
+        updated.add(entry);
+        byKey.put(key, Collections.unmodifiableList(updated));
+        if (sameKey == null) {
+            keyCount++;
+        }
+        byLength.computeIfAbsent(key.length(), l -> ConcurrentHashMap.newKeySet()).add(entry);
+        for (String gram : grams(key)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(entry);
+        }
+    }
+    
+    /**
+     * Remove a value stored under a key
+     * @param key Normalized key it was put under
+     * @param value Value (compared by identity)
+     */
+    public synchronized void remove(String key, T value) {
+        List<Entry<T>> sameKey = byKey.get(key);
+        if (sameKey == null) {
+            return;
+        }
+        
+        Entry<T> removed = null;
+        for (Entry<T> entry : sameKey) {
+            if (entry.value == value) {
+                removed = entry;
+                break;
+            }
+        }
+        if (removed == null) {
+            return;
+        }
+        
+        List<Entry<T>> updated = new ArrayList<>(sameKey);
+        updated.remove(removed);
+        if (updated.isEmpty()) {
+            byKey.remove(key);
+            keyCount--;
+        } else {
+            byKey.put(key, Collections.unmodifiableList(updated));
+        }
+        Set<Entry<T>> sameLength = byLength.get(key.length());
+        if (sameLength != null) {
+            sameLength.remove(removed);
+        }
+        for (String gram : grams(key)) {
+            Set<Entry<T>> entries = postings.get(gram);
+            if (entries != null) {
+                entries.remove(removed);
+                if (entries.isEmpty()) {
+                    postings.remove(gram, entries);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Find all values whose key is within a maximum edit distance of the query
+     * @param query Normalized query
+     * @param maxDistance Maximum Levenshtein distance
+     * @return Matches in no particular order
+     */
+    public List<Match<T>> search(String query, int maxDistance) {
+        Set<String> queryGrams = grams(query);
+        int required = queryGrams.size() - gramSize * maxDistance;
+        int commonLimit = (int) (keyCount * COMMON_GRAM_RATIO);
+        
+        // Posting lists to filter on, skipping the very common ones
+        List<Set<Entry<T>>> lists = new ArrayList<>();
+        for (String gram : queryGrams) {
+            Set<Entry<T>> entries = postings.get(gram);
+            if (entries == null) {
+                continue; // No key has it - it still counts against the threshold
+            }
+            if (entries.size() > commonLimit) {
+                required--;
+            } else {
+                lists.add(entries);
+            }
+        }
+        
+        List<Entry<T>> candidates = new ArrayList<>();
+        if (required > 0) {
+            // Count shared grams in an array indexed by entry slot
+            int[] shared = new int[nextSlot];
+            for (Set<Entry<T>> entries : lists) {
+                for (Entry<T> entry : entries) {
+                    if (entry.slot < shared.length && ++shared[entry.slot] == required) {
+                        candidates.add(entry);
+                    }
+                }
+            }
+        } else {
+            // Query too short (or too generic) for the filter - check every key of a close length
+            for (int length = query.length() - maxDistance; length <= query.length() + maxDistance; length++) {
+                Set<Entry<T>> sameLength = byLength.get(length);
+                if (sameLength != null) {
+                    candidates.addAll(sameLength);
+                }
+            }
+        }
+        
+        List<Match<T>> matches = new ArrayList<>();
+        for (Entry<T> entry : candidates) {
+            int distance = distance(query, entry.key, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new Match<>(entry.key, entry.value, distance));
+            }
+        }
+        return matches;
+    }
+    
+    public int getKeyCount() {
+        return keyCount;
+    }
+    
+    /**
+     * Levenshtein distance, computed only inside the band that can stay within maxDistance
+     * @param a First string
+     * @param b Second string
+     * @param maxDistance Largest distance of interest
+     * @return Edit distance, or maxDistance + 1 if it is larger
+     */
+    public static int distance(String a, String b, int maxDistance) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
+        }
+        
+        int outside = maxDistance + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= maxDistance ? j : outside;
+        }
+        
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(m, i + maxDistance);
+            current[0] = i <= maxDistance ? i : outside;
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+            
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                current[j] = Math.min(value, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > maxDistance) {
+                return outside; // Every path already costs too much
+            }
+            
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], outside);
+    }
+    
+    // Distinct grams of "^key$"
+    private Set<String> grams(String key) {
+        String padded = "^" + key + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + gramSize <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + gramSize));
+        }
+        return grams;
+    }
+    
+    private static final class Entry<T> {
+        final String key;
+        final T value;
+        final int slot;
+        
+        Entry(String key, T value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+    
+    // A value whose key is within the requested distance
+    public static final class Match<T> {
+        public final String key;
+        public final T value;
+        public final int distance;
+        
+        Match(String key, T value, int distance) {
+            this.key = key;
+            this.value = value;
+            this.distance = distance;
+        }
+    }
+}
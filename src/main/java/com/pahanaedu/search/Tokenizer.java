@@ -0,0 +1,107 @@
+// File: src/main/java/com/pahanaedu/search/Tokenizer.java
+package com.pahanaedu.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits catalog text and search queries into lower-case terms.
+ *
+ * Terms are runs of letters and digits with accents removed, so "Café-Guide 2"
+ * becomes [cafe, guide, 2]. Indexing and querying must use the same rules.
+ */
+public final class Tokenizer {
+    
+    private Tokenizer() {
+    }
+    
+    /**
+     * Tokenize text into distinct terms, in order of first appearance
+     * @param text Raw text (may be null)
+     * @return Distinct terms, empty for blank input
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        String folded = fold(text);
+        
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                terms.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            terms.add(folded.substring(start));
+        }
+        
+        return new ArrayList<>(terms);
+    }
+    
+    /**
+     * Normalize text to its terms joined by single spaces, keeping repeats and order,
+     * e.g. "The  Hobbit: There and Back" -> "the hobbit there and back"
+     * @param text Raw text (may be null)
+     * @return Normalized phrase, empty for blank input
+     */
+    public static String phrase(String text) {
+        String folded = fold(text);
+        StringBuilder sb = new StringBuilder(folded.length());
+        boolean separator = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Collapse text to a single term without separators, e.g. "BKREF-12-25" -> "bkref1225".
+     * Lets reference numbers match however the separators were typed.
+     * @param text Raw text (may be null)
+     * @return Compact term, or null if it has no letters or digits
+     */
+    public static String compact(String text) {
+        String folded = fold(text);
+        StringBuilder sb = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.length() > 0 ? sb.toString() : null;
+    }
+    
+    // Lower-case and strip accents
+    private static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -6,9 +6,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.MultipartConfig;
@@ -20,12 +22,30 @@ import javax.servlet.http.HttpSession;
 import javax.servlet.http.Part;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.pahanaedu.dao.UserDAO;
 import com.pahanaedu.dao.BookDAO;
 import com.pahanaedu.dao.CategoryDAO;
+import com.pahanaedu.dao.BookReferenceIndex;
+import com.pahanaedu.dao.BillDAO;
+import com.pahanaedu.dao.DashboardDAO;
+import com.pahanaedu.dao.CatalogCache;
+import com.pahanaedu.dao.QueryPlanCheck;
 import com.pahanaedu.models.User;
 import com.pahanaedu.models.Book;
 import com.pahanaedu.models.Category;
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.Page;
+import com.pahanaedu.db.SchemaMigrator;
+import com.pahanaedu.search.AutocompleteIndex;
+import com.pahanaedu.search.BookSearchIndex;
+import com.pahanaedu.search.FuzzyMatcher;
+import com.pahanaedu.tools.DataGenerator;
+import com.pahanaedu.utils.ConnectionPool;
+import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.PageCursor;
+import com.pahanaedu.utils.TtlCache;
 
 @WebServlet("/admin")
 @MultipartConfig(
@@ -35,9 +55,13 @@ import com.pahanaedu.models.Category;
 )
 public class AdminServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
+    
+    private static final Logger LOG = Logger.get(AdminServlet.class);
     private UserDAO userDAO;
     private BookDAO bookDAO;
     private CategoryDAO categoryDAO;
+    private BillDAO billDAO;
+    private DashboardDAO dashboardDAO;
     private Gson gson;
     
     // Image upload configuration
@@ -45,11 +69,17 @@ public class AdminServlet extends HttpServlet {
     private static final String[] ALLOWED_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif"};
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
     
+    // Keyset pagination page sizes
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    
     @Override
     public void init() throws ServletException {
         userDAO = new UserDAO();
         bookDAO = new BookDAO();
         categoryDAO = new CategoryDAO();
+        billDAO = new BillDAO();
+        dashboardDAO = new DashboardDAO();
         gson = new Gson();
         
         // Create upload directory if it doesn't exist
@@ -83,7 +113,16 @@ public class AdminServlet extends HttpServlet {
                 break;
             // Enhanced Inventory Management GET actions
             case "getBooks":
-                getBooks(response);
+                getBooks(request, response);
+                break;
+            case "getBooksPage":
+                getBooksPage(request, response);
+                break;
+            case "searchBooks":
+                searchBooks(request, response);
+                break;
+            case "autocomplete":
+                autocomplete(request, response);
                 break;
             case "getBook":
                 getBook(request, response);
@@ -98,10 +137,42 @@ public class AdminServlet extends HttpServlet {
                 getCategory(request, response);
                 break;
             case "getOutOfStockBooks":
-                getOutOfStockBooks(response);
+                getOutOfStockBooks(request, response);
                 break;
             case "getLowStockBooks":
-                getLowStockBooks(response);
+                getLowStockBooks(request, response);
+                break;
+            // Bill management
+            case "getBillsPage":
+                getBillsPage(request, response);
+                break;
+            // System monitoring
+            case "getPoolStats":
+                getPoolStats(response);
+                break;
+            case "getReferenceIndexStats":
+                getReferenceIndexStats(response);
+                break;
+            case "getCacheStats":
+                getCacheStats(response);
+                break;
+            case "getSearchIndexStats":
+                getSearchIndexStats(response);
+                break;
+            case "getAutocompleteStats":
+                getAutocompleteStats(response);
+                break;
+            case "getFuzzyMatcherStats":
+                getFuzzyMatcherStats(response);
+                break;
+            case "getSchemaHistory":
+                getSchemaHistory(response);
+                break;
+            case "checkQueryPlans":
+                checkQueryPlans(response);
+                break;
+            case "getTestDataProgress":
+                sendJsonResponse(response, DataGenerator.getProgress());
                 break;
             default:
                 sendErrorResponse(response, "Invalid action");
@@ -152,6 +223,9 @@ public class AdminServlet extends HttpServlet {
             case "deleteCategory":
                 deleteCategory(request, response);
                 break;
+            case "generateTestData":
+                generateTestData(request, response);
+                break;
             default:
                 sendErrorResponse(response, "Invalid action");
         }
@@ -195,10 +269,14 @@ public class AdminServlet extends HttpServlet {
         customer.setPassword(password);
         customer.setRole(User.ROLE_CUSTOMER);
         
-        if (userDAO.createUserByAdmin(customer)) {
-            sendSuccessResponse(response, "Customer added successfully");
-        } else {
-            sendErrorResponse(response, "Failed to add customer");
+        try {
+            if (userDAO.createUserByAdmin(customer)) {
+                sendSuccessResponse(response, "Customer added successfully");
+            } else {
+                sendErrorResponse(response, "Failed to add customer");
+            }
+        } catch (RejectedExecutionException e) {
+            sendBusyResponse(response);
         }
     }
     
@@ -240,13 +318,25 @@ public class AdminServlet extends HttpServlet {
         cashier.setPassword(password);
         cashier.setRole(User.ROLE_CASHIER);
         
-        if (userDAO.createUserByAdmin(cashier)) {
-            sendSuccessResponse(response, "Cashier added successfully");
-        } else {
-            sendErrorResponse(response, "Failed to add cashier");
+        try {
+            if (userDAO.createUserByAdmin(cashier)) {
+                sendSuccessResponse(response, "Cashier added successfully");
+            } else {
+                sendErrorResponse(response, "Failed to add cashier");
+            }
+        } catch (RejectedExecutionException e) {
+            sendBusyResponse(response);
         }
     }
     
+    // Hashing the password was refused while a login burst saturates the hashing pool
+    private void sendBusyResponse(HttpServletResponse response) throws IOException {
+        LOG.warn("⚠️ Add user rejected - password hashing pool is saturated");
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        sendErrorResponse(response, "The server is busy. Please try again in a moment.");
+    }
+    
     // ========== GENERAL USER OPERATIONS ==========
     
     private void getUser(HttpServletRequest request, HttpServletResponse response) 
@@ -341,9 +431,78 @@ public class AdminServlet extends HttpServlet {
     
     // ========== ENHANCED BOOK OPERATIONS WITH IMAGES AND OFFERS ==========
     
-    private void getBooks(HttpServletResponse response) throws IOException {
-        List<Book> books = bookDAO.getAllBooks();
-        sendJsonResponse(response, books);
+    // Streams the book list row by row - memory use does not grow with the catalog size
+    private void getBooks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        JsonWriter writer = beginJsonStream(response);
+        writer.beginArray();
+        boolean loaded = bookDAO.streamAllBooks(includeImages(request),
+                book -> gson.toJson(book, Book.class, writer));
+        
+        if (!loaded) {
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+                sendErrorResponse(response, "Error loading books");
+                return;
+            }
+            // Part of the array is already sent: never close it, so the client cannot mistake
+            // a truncated list for a complete one - the container aborts the response instead
+            throw new IOException("Book list stream failed after the response was committed");
+        }
+        writer.endArray();
+        writer.flush();
+    }
+    
+    // Keyset-paginated book list: pass nextCursor from the previous page as "cursor"
+    private void getBooksPage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        PageCursor cursor;
+        try {
+            cursor = PageCursor.decode(request.getParameter("cursor"));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            sendErrorResponse(response, "Invalid page cursor");
+            return;
+        }
+        
+        int limit = PageCursor.parseLimit(request.getParameter("limit"), DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        Page<Book> page = bookDAO.getBooksPage(cursor, limit, includeImages(request));
+        sendJsonResponse(response, page);
+    }
+    
+    private void searchBooks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getParameter("q");
+        if (isEmpty(query)) {
+            sendErrorResponse(response, "Search text is required");
+            return;
+        }
+        
+        // Filters run before the limit, so a filtered search never loses matches past the first page
+        Integer categoryId = null;
+        String categoryIdParam = request.getParameter("categoryId");
+        if (!isEmpty(categoryIdParam)) {
+            try {
+                categoryId = Integer.parseInt(categoryIdParam.trim());
+            } catch (NumberFormatException e) {
+                sendErrorResponse(response, "Invalid category ID");
+                return;
+            }
+        }
+        String stock = request.getParameter("stock");
+        if (!BookSearchIndex.isStockLevel(stock)) {
+            sendErrorResponse(response, "Invalid stock filter");
+            return;
+        }
+        
+        int limit = PageCursor.parseLimit(request.getParameter("limit"), DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        BookSearchIndex.SearchResults results = BookSearchIndex.getInstance().search(
+                query, request.getParameter("category"), request.getParameter("status"), categoryId, stock, limit);
+        sendJsonResponse(response, results);
+    }
+    
+    private void autocomplete(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int limit = PageCursor.parseLimit(request.getParameter("limit"), AutocompleteIndex.MAX_SUGGESTIONS, AutocompleteIndex.MAX_SUGGESTIONS);
+        List<AutocompleteIndex.Suggestion> suggestions =
+                AutocompleteIndex.getInstance().complete(request.getParameter("q"), limit);
+        sendJsonResponse(response, suggestions);
     }
     
     private void getBook(HttpServletRequest request, HttpServletResponse response) 
@@ -369,16 +528,21 @@ public class AdminServlet extends HttpServlet {
         }
     }
     
-    private void getOutOfStockBooks(HttpServletResponse response) throws IOException {
-        List<Book> outOfStockBooks = bookDAO.getOutOfStockBooks();
+    private void getOutOfStockBooks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<Book> outOfStockBooks = bookDAO.getOutOfStockBooks(includeImages(request));
         sendJsonResponse(response, outOfStockBooks);
     }
     
-    private void getLowStockBooks(HttpServletResponse response) throws IOException {
-        List<Book> lowStockBooks = bookDAO.getLowStockBooks(5); // 5 or less in stock
+    private void getLowStockBooks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<Book> lowStockBooks = bookDAO.getLowStockBooks(5, includeImages(request)); // 5 or less in stock
         sendJsonResponse(response, lowStockBooks);
     }
     
+    // Book lists include images unless the caller passes includeImages=false
+    private boolean includeImages(HttpServletRequest request) {
+        return !"false".equalsIgnoreCase(request.getParameter("includeImages"));
+    }
+    
  // Clean addBookWithImages method for AdminServlet - No Debug Messages
  // Replace your addBookWithImages method with this:
 
@@ -610,10 +774,10 @@ public class AdminServlet extends HttpServlet {
             File uploadDir = new File(uploadPath);
             if (!uploadDir.exists()) {
                 uploadDir.mkdirs();
-                System.out.println("✅ Created upload directory: " + uploadPath);
+                LOG.info("✅ Created upload directory: {}", uploadPath);
             }
         } catch (Exception e) {
-            System.err.println("❌ Failed to create upload directory: " + e.getMessage());
+            LOG.error("❌ Failed to create upload directory: {}", e.getMessage());
         }
     }
     
@@ -662,7 +826,7 @@ public class AdminServlet extends HttpServlet {
                 }
             }
         } catch (Exception e) {
-            System.err.println("❌ Error handling image uploads: " + e.getMessage());
+            LOG.error("❌ Error handling image uploads: {}", e.getMessage());
         }
         
         return imageUrls;
@@ -830,24 +994,131 @@ public class AdminServlet extends HttpServlet {
     // ========== ENHANCED STATISTICS ==========
     
     private void getStats(HttpServletResponse response) throws IOException {
-        int customerCount = userDAO.getUserCountByRole(User.ROLE_CUSTOMER);
-        int cashierCount = userDAO.getUserCountByRole(User.ROLE_CASHIER);
-        int bookCount = bookDAO.getTotalBooksCount();
-        int outOfStockCount = bookDAO.getOutOfStockBooks().size();
-        int lowStockCount = bookDAO.getLowStockBooks(5).size();
+        // All counters and sales totals come from one aggregate query
+        DashboardDAO.DashboardStats dashboard = dashboardDAO.getDashboardStats();
         
         // Create enhanced stats object
         EnhancedAdminStats stats = new EnhancedAdminStats();
-        stats.totalCustomers = customerCount;
-        stats.totalCashiers = cashierCount;
-        stats.totalUsers = customerCount + cashierCount;
-        stats.totalBooks = bookCount;
-        stats.outOfStockBooks = outOfStockCount;
-        stats.lowStockBooks = lowStockCount;
+        stats.totalCustomers = dashboard.totalCustomers;
+        stats.totalCashiers = dashboard.totalCashiers;
+        stats.totalUsers = dashboard.totalCustomers + dashboard.totalCashiers;
+        stats.totalBooks = dashboard.totalBooks;
+        stats.outOfStockBooks = dashboard.outOfStockBooks;
+        stats.lowStockBooks = dashboard.lowStockBooks;
+        stats.todaySales = dashboard.todaySales;
+        stats.todayBills = dashboard.todayBills;
+        stats.weekSales = dashboard.weekSales;
+        stats.weekBills = dashboard.weekBills;
+        stats.monthSales = dashboard.monthSales;
+        stats.monthBills = dashboard.monthBills;
         
         sendJsonResponse(response, stats);
     }
     
+    // ========== BILL MANAGEMENT ==========
+    
+    // Keyset-paginated bill list (optionally for one cashier): pass nextCursor from the previous page as "cursor"
+    private void getBillsPage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        PageCursor cursor;
+        try {
+            cursor = PageCursor.decodeTimed(request.getParameter("cursor"));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            sendErrorResponse(response, "Invalid page cursor");
+            return;
+        }
+        
+        Integer cashierId = null;
+        String cashierParam = request.getParameter("cashierId");
+        if (!isEmpty(cashierParam)) {
+            try {
+                cashierId = Integer.parseInt(cashierParam.trim());
+            } catch (NumberFormatException e) {
+                sendErrorResponse(response, "Invalid cashier ID format");
+                return;
+            }
+        }
+        
+        int limit = PageCursor.parseLimit(request.getParameter("limit"), DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        Page<Bill> page = billDAO.getBillsPage(cashierId, cursor, limit);
+        sendJsonResponse(response, page);
+    }
+    
+    // ========== SYSTEM MONITORING ==========
+    
+    private void getPoolStats(HttpServletResponse response) throws IOException {
+        ConnectionPool.PoolStats poolStats = DatabaseConnection.getPoolStats();
+        sendJsonResponse(response, poolStats);
+    }
+    
+    private void getReferenceIndexStats(HttpServletResponse response) throws IOException {
+        BookReferenceIndex.IndexStats indexStats = BookReferenceIndex.getInstance().getStats();
+        sendJsonResponse(response, indexStats);
+    }
+    
+    private void getCacheStats(HttpServletResponse response) throws IOException {
+        List<TtlCache.CacheStats> cacheStats = CatalogCache.getStats();
+        sendJsonResponse(response, cacheStats);
+    }
+    
+    private void getSearchIndexStats(HttpServletResponse response) throws IOException {
+        BookSearchIndex.SearchIndexStats searchStats = BookSearchIndex.getInstance().getStats();
+        sendJsonResponse(response, searchStats);
+    }
+    
+    private void getAutocompleteStats(HttpServletResponse response) throws IOException {
+        AutocompleteIndex.AutocompleteStats autocompleteStats = AutocompleteIndex.getInstance().getStats();
+        sendJsonResponse(response, autocompleteStats);
+    }
+    
+    private void getFuzzyMatcherStats(HttpServletResponse response) throws IOException {
+        FuzzyMatcher.FuzzyStats fuzzyStats = FuzzyMatcher.getInstance().getStats();
+        sendJsonResponse(response, fuzzyStats);
+    }
+    
+    private void getSchemaHistory(HttpServletResponse response) throws IOException {
+        List<SchemaMigrator.AppliedMigration> history = SchemaMigrator.getHistory();
+        sendJsonResponse(response, history);
+    }
+    
+    private void checkQueryPlans(HttpServletResponse response) throws IOException {
+        try {
+            QueryPlanCheck.PlanReport report = QueryPlanCheck.run();
+            sendJsonResponse(response, report);
+        } catch (SQLException e) {
+            LOG.error("❌ Query plan check failed: {}", e.getMessage());
+            sendErrorResponse(response, "Query plan check failed: " + e.getMessage());
+        }
+    }
+    
+    // Bulk synthetic data for scale tests - never against a shared database
+    private void generateTestData(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!DatabaseConnection.PROFILE_LOCAL.equals(DatabaseConnection.getProfile())) {
+            sendErrorResponse(response, "Test data can only be generated with the local database profile");
+            return;
+        }
+        
+        DataGenerator.Options options = new DataGenerator.Options();
+        String[] names = {"seed", "users", "cashiers", "books", "bills", "days", "maxItemsPerBill", "batchSize"};
+        try {
+            for (String name : names) {
+                String value = request.getParameter(name);
+                if (!isEmpty(value)) {
+                    options.set(name, value);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(response, "Invalid option: " + e.getMessage());
+            return;
+        }
+        
+        if (DataGenerator.start(options)) {
+            sendSuccessResponse(response, "Test data generation started with seed " + options.seed);
+        } else {
+            sendErrorResponse(response, "Test data generation is already running");
+        }
+    }
+    
     // ========== UTILITY METHODS ==========
     
     private boolean isAdminLoggedIn(HttpServletRequest request) {
@@ -866,11 +1137,18 @@ public class AdminServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
         
+        // Serialize straight into the response writer (no intermediate JSON string)
         PrintWriter out = response.getWriter();
-        out.print(gson.toJson(data));
+        gson.toJson(data, out);
         out.flush();
     }
     
+    private JsonWriter beginJsonStream(HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        return gson.newJsonWriter(response.getWriter());
+    }
+    
     private void sendSuccessResponse(HttpServletResponse response, String message) throws IOException {
         ApiResponse apiResponse = new ApiResponse(true, message, null);
         sendJsonResponse(response, apiResponse);
@@ -902,6 +1180,12 @@ public class AdminServlet extends HttpServlet {
         public int totalBooks;
         public int outOfStockBooks;
         public int lowStockBooks;
+        public BigDecimal todaySales;
+        public int todayBills;
+        public BigDecimal weekSales;
+        public int weekBills;
+        public BigDecimal monthSales;
+        public int monthBills;
     }
     
     // Legacy support for existing AdminStats
@@ -18,13 +18,24 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 import com.pahanaedu.dao.BillDAO;
 import com.pahanaedu.models.Bill;
 import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Page;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.PageCursor;
 
 @WebServlet("/bills")
 public class BillServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
+    
+    private static final Logger LOG = Logger.get(BillServlet.class);
+    
+    // Keyset pagination page sizes
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    
     private BillDAO billDAO;
     private Gson gson;
     
@@ -80,6 +91,9 @@ public class BillServlet extends HttpServlet {
             case "getBillDetails":
                 getBillDetails(request, response);
                 break;
+            case "getBillsPage":
+                getBillsPage(request, response);
+                break;
             default:
                 sendErrorResponse(response, "Invalid action");
         }
@@ -105,22 +119,7 @@ public class BillServlet extends HttpServlet {
                 return;
             }
             
-            // Parse items
-            JsonArray itemsArray = JsonParser.parseString(itemsJson).getAsJsonArray();
-            List<BillItem> billItems = new ArrayList<>();
-            
-            for (int i = 0; i < itemsArray.size(); i++) {
-                JsonObject itemObj = itemsArray.get(i).getAsJsonObject();
-                
-                BillItem item = new BillItem();
-                item.setBookId(itemObj.get("id").getAsInt());
-                item.setBookTitle(itemObj.get("title").getAsString());
-                item.setBookReference(itemObj.get("referenceNo").getAsString());
-                item.setUnitPrice(new BigDecimal(itemObj.get("price").getAsString()));
-                item.setQuantity(itemObj.get("quantity").getAsInt());
-                
-                billItems.add(item);
-            }
+            List<BillItem> billItems = parseItems(itemsJson);
             
             if (billItems.isEmpty()) {
                 sendErrorResponse(response, "No valid items found");
@@ -148,12 +147,31 @@ public class BillServlet extends HttpServlet {
             }
             
         } catch (Exception e) {
-            System.err.println("Error creating bill: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error creating bill", e);
             sendErrorResponse(response, "Error processing bill: " + e.getMessage());
         }
     }
     
+    // Cashier basket payload: [{id, title, referenceNo, price, quantity}, ...] (package-private for the benchmarks)
+    static List<BillItem> parseItems(String itemsJson) {
+        JsonArray itemsArray = JsonParser.parseString(itemsJson).getAsJsonArray();
+        List<BillItem> billItems = new ArrayList<>(itemsArray.size());
+        
+        for (int i = 0; i < itemsArray.size(); i++) {
+            JsonObject itemObj = itemsArray.get(i).getAsJsonObject();
+            
+            BillItem item = new BillItem();
+            item.setBookId(itemObj.get("id").getAsInt());
+            item.setBookTitle(itemObj.get("title").getAsString());
+            item.setBookReference(itemObj.get("referenceNo").getAsString());
+            item.setUnitPrice(new BigDecimal(itemObj.get("price").getAsString()));
+            item.setQuantity(itemObj.get("quantity").getAsInt());
+            
+            billItems.add(item);
+        }
+        return billItems;
+    }
+    
     // Get bill by ID or bill number
     private void getBill(HttpServletRequest request, HttpServletResponse response) 
             throws IOException {
@@ -207,7 +225,38 @@ public class BillServlet extends HttpServlet {
         sendJsonResponse(response, bills);
     }
     
-    // Get bill history for cashier dashboard
+    // Keyset-paginated bills: admins see all bills, cashiers only their own
+    private void getBillsPage(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        PageCursor cursor;
+        try {
+            cursor = PageCursor.decodeTimed(request.getParameter("cursor"));
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(response, "Invalid page cursor");
+            return;
+        }
+        
+        HttpSession session = request.getSession();
+        String userRole = (String) session.getAttribute("userRole");
+        Integer userId = (Integer) session.getAttribute("userId");
+        
+        Integer cashierId;
+        if ("ADMIN".equals(userRole)) {
+            cashierId = null;
+        } else if (userId != null) {
+            cashierId = userId;
+        } else {
+            sendErrorResponse(response, "Cashier ID not found in session");
+            return;
+        }
+        
+        int limit = PageCursor.parseLimit(request.getParameter("limit"), DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        Page<Bill> page = billDAO.getBillsPage(cashierId, cursor, limit);
+        sendJsonResponse(response, page);
+    }
+    
+    // Get bill history for cashier dashboard (streamed from the DB straight into the response)
     private void getBillHistory(HttpServletRequest request, HttpServletResponse response) 
             throws IOException {
         
@@ -216,91 +265,90 @@ public class BillServlet extends HttpServlet {
             String userRole = (String) session.getAttribute("userRole");
             Integer userId = (Integer) session.getAttribute("userId");
             
-            List<Bill> bills = new ArrayList<>();
+            Integer cashierId;
+            int limit;
             
             if ("ADMIN".equals(userRole)) {
                 // Admin can see all bills
-                bills = billDAO.getAllBills();
+                cashierId = null;
+                limit = 100;
             } else if ("CASHIER".equals(userRole) && userId != null) {
                 // Cashier can see only their own bills
-                bills = billDAO.getBillsByCashier(userId);
+                cashierId = userId;
+                limit = 50;
             } else {
                 sendErrorResponse(response, "Unauthorized to view bill history");
                 return;
             }
             
-            // Create response with simplified bill data for history table
-            JsonObject responseObj = new JsonObject();
-            responseObj.addProperty("success", true);
+            // Same shape as before: { success, bills: [...], message }
+            JsonWriter writer = beginJsonStream(response);
+            writer.beginObject();
+            writer.name("success").value(true);
+            writer.name("bills").beginArray();
             
-            JsonArray billsArray = new JsonArray();
+            boolean loaded = billDAO.streamBillsWithItems(cashierId, limit, bill -> writeHistoryBill(writer, bill));
             
-            for (Bill bill : bills) {
-                JsonObject billObj = new JsonObject();
-                billObj.addProperty("id", bill.getId());
-                billObj.addProperty("billNo", bill.getBillNo());
-                
-                // Use createdAt instead of createdDate (matching your Bill model)
-                String createdDate = bill.getCreatedAt() != null ? 
-                    bill.getCreatedAt().toString() : 
-                    (bill.getBillDate() != null ? bill.getBillDate().toString() : "");
-                billObj.addProperty("createdDate", createdDate);
-                
-                billObj.addProperty("paymentMethod", bill.getPaymentMethod());
-                billObj.addProperty("totalAmount", bill.getTotalAmount().toString());
-                billObj.addProperty("cashierName", bill.getCashierName());
-                
-                // Debug: Log bill items for debugging
-                System.out.println("Bill " + bill.getBillNo() + " items: " + 
-                    (bill.getItems() != null ? bill.getItems().size() : "null"));
-                
-                // Add item count - ensure items are loaded
-                int itemCount = 0;
-                if (bill.getItems() != null) {
-                    itemCount = bill.getItems().size();
-                } else {
-                    // If items are null, fetch them directly
-                    List<BillItem> items = billDAO.getBillItems(bill.getId());
-                    itemCount = items != null ? items.size() : 0;
-                    System.out.println("Fetched items directly for bill " + bill.getBillNo() + ": " + itemCount);
+            if (!loaded) {
+                if (!response.isCommitted()) {
+                    response.resetBuffer();
+                    sendErrorResponse(response, "Error loading bill history");
+                    return;
                 }
-                
-                billObj.addProperty("itemCount", itemCount);
-                
-                // Add items array for JavaScript access
-                JsonArray itemsArray = new JsonArray();
-                List<BillItem> billItems = bill.getItems();
-                if (billItems == null) {
-                    billItems = billDAO.getBillItems(bill.getId());
-                }
-                
-                if (billItems != null) {
-                    for (BillItem item : billItems) {
-                        JsonObject itemObj = new JsonObject();
-                        itemObj.addProperty("title", item.getBookTitle());
-                        itemObj.addProperty("referenceNo", item.getBookReference());
-                        itemObj.addProperty("quantity", item.getQuantity());
-                        itemObj.addProperty("price", item.getUnitPrice().toString());
-                        itemsArray.add(itemObj);
-                    }
-                }
-                billObj.add("items", itemsArray);
-                
-                billsArray.add(billObj);
+                throw new IOException("Bill history stream failed after the response was committed");
             }
             
-            responseObj.add("bills", billsArray);
-            responseObj.addProperty("message", "Bill history loaded successfully");
-            
-            sendJsonResponse(response, responseObj);
+            writer.endArray();
+            writer.name("message").value("Bill history loaded successfully");
+            writer.endObject();
+            writer.flush();
             
         } catch (Exception e) {
-            System.err.println("Error loading bill history: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error loading bill history", e);
+            if (response.isCommitted()) {
+                // Bills are already sent: leave the JSON unterminated and let the container abort
+                // the response, so the client gets an error instead of a short, valid-looking list
+                throw e;
+            }
+            response.resetBuffer();
             sendErrorResponse(response, "Error loading bill history: " + e.getMessage());
         }
     }
     
+    // Write one bill of the history table
+    private void writeHistoryBill(JsonWriter writer, Bill bill) throws IOException {
+        writer.beginObject();
+        writer.name("id").value(bill.getId());
+        writer.name("billNo").value(bill.getBillNo());
+        
+        // Use createdAt instead of createdDate (matching your Bill model)
+        String createdDate = bill.getCreatedAt() != null ? 
+            bill.getCreatedAt().toString() : 
+            (bill.getBillDate() != null ? bill.getBillDate().toString() : "");
+        writer.name("createdDate").value(createdDate);
+        
+        writer.name("paymentMethod").value(bill.getPaymentMethod());
+        writer.name("totalAmount").value(bill.getTotalAmount().toString());
+        writer.name("cashierName").value(bill.getCashierName());
+        
+        List<BillItem> billItems = bill.getItems();
+        writer.name("itemCount").value(billItems.size());
+        
+        // Add items array for JavaScript access
+        writer.name("items").beginArray();
+        for (BillItem item : billItems) {
+            writer.beginObject();
+            writer.name("title").value(item.getBookTitle());
+            writer.name("referenceNo").value(item.getBookReference());
+            writer.name("quantity").value(item.getQuantity());
+            writer.name("price").value(item.getUnitPrice().toString());
+            writer.endObject();
+        }
+        writer.endArray();
+        
+        writer.endObject();
+    }
+    
     // Get detailed bill information for viewing/reprinting
     private void getBillDetails(HttpServletRequest request, HttpServletResponse response) 
             throws IOException {
@@ -313,8 +361,8 @@ public class BillServlet extends HttpServlet {
                 return;
             }
             
-            // Get bill with full details including items (using existing method)
-            Bill bill = billDAO.getBillByBillNo(billNo);
+            // Get bill with its items (bill + one items query on a single connection)
+            Bill bill = billDAO.getBillByBillNoWithItems(billNo);
             
             if (bill == null) {
                 sendErrorResponse(response, "Bill not found");
@@ -376,8 +424,7 @@ public class BillServlet extends HttpServlet {
             sendJsonResponse(response, responseObj);
             
         } catch (Exception e) {
-            System.err.println("Error loading bill details: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error loading bill details", e);
             sendErrorResponse(response, "Error loading bill details: " + e.getMessage());
         }
     }
@@ -396,11 +443,18 @@ public class BillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
         
+        // Serialize straight into the response writer (no intermediate JSON string)
         PrintWriter out = response.getWriter();
-        out.print(gson.toJson(data));
+        gson.toJson(data, out);
         out.flush();
     }
     
+    private JsonWriter beginJsonStream(HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        return gson.newJsonWriter(response.getWriter());
+    }
+    
     // Send error response
     private void sendErrorResponse(HttpServletResponse response, String message) throws IOException {
         response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
@@ -13,18 +13,21 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import com.pahanaedu.dao.UserDAO;
 import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
 
 @WebServlet("/forgot-password")
 public class ForgotPasswordServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     
+    private static final Logger LOG = Logger.get(ForgotPasswordServlet.class);
+    
     private UserDAO userDAO;
     
     @Override
     public void init() throws ServletException {
         try {
             userDAO = new UserDAO();
-            System.out.println("ForgotPasswordServlet: Initialized successfully");
+            LOG.debug("Initialized successfully");
         } catch (Exception e) {
             throw new ServletException("Failed to initialize UserDAO", e);
         }
@@ -36,32 +39,32 @@ public class ForgotPasswordServlet extends HttpServlet {
         
         String email = request.getParameter("email");
         
-        System.out.println("ForgotPasswordServlet: POST request received");
-        System.out.println("ForgotPasswordServlet: Email parameter: " + email);
+        LOG.debug("POST request received");
+        LOG.debug("Email parameter: {}", email);
         
         if (email == null || email.trim().isEmpty()) {
-            System.out.println("ForgotPasswordServlet: Email is empty");
+            LOG.debug("Email is empty");
             request.setAttribute("errorMessage", "Please enter your email address");
             request.getRequestDispatcher("forgot-password.jsp").forward(request, response);
             return;
         }
         
         email = email.trim().toLowerCase();
-        System.out.println("ForgotPasswordServlet: Processing reset request for: " + email);
+        LOG.debug("Processing reset request for: {}", email);
         
         try {
             // Check if user exists
             boolean userExists = userDAO.emailExists(email);
-            System.out.println("ForgotPasswordServlet: User exists: " + userExists);
+            LOG.debug("User exists: {}", userExists);
             
             if (userExists) {
                 // Generate token and link only for existing users
                 String token = generateSecureToken();
-                System.out.println("ForgotPasswordServlet: Generated token: " + token.substring(0, 8) + "...");
+                LOG.debug("Generated token: {}...", token.substring(0, 8));
                 
                 // Save token to database
                 saveResetToken(email, token);
-                System.out.println("ForgotPasswordServlet: Token saved to database");
+                LOG.debug("Token saved to database");
                 
                 // Create reset link
                 String resetLink = request.getScheme() + "://" + 
@@ -70,7 +73,7 @@ public class ForgotPasswordServlet extends HttpServlet {
                                  request.getContextPath() + 
                                  "/reset-password.jsp?token=" + token;
                 
-                System.out.println("ForgotPasswordServlet: Generated reset link: " + resetLink);
+                LOG.debug("Generated reset link: {}", resetLink);
                 
                 // Set attributes for JSP
                 request.setAttribute("resetLink", resetLink);
@@ -80,30 +83,29 @@ public class ForgotPasswordServlet extends HttpServlet {
                 request.setAttribute("showResetLink", true);
                 
                 // Console output for demo
-                System.out.println("=== PASSWORD RESET LINK ===");
-                System.out.println("Email: " + email);
-                System.out.println("Reset Link: " + resetLink);
-                System.out.println("Token expires in 1 hour");
-                System.out.println("===========================");
+                LOG.info("=== PASSWORD RESET LINK ===");
+                LOG.info("Email: {}", email);
+                LOG.info("Reset Link: {}", resetLink);
+                LOG.info("Token expires in 1 hour");
+                LOG.info("===========================");
                 
-                System.out.println("ForgotPasswordServlet: All attributes set successfully");
+                LOG.debug("All attributes set successfully");
                 
             } else {
                 // User doesn't exist - show error message
-                System.out.println("ForgotPasswordServlet: User not found, showing error message");
+                LOG.debug("User not found, showing error message");
                 request.setAttribute("errorMessage", 
                     "No account found with this email address. Please check your email and try again.");
                 request.setAttribute("showResetLink", false);
             }
             
         } catch (Exception e) {
-            System.err.println("ForgotPasswordServlet: Error processing reset: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error processing reset", e);
             request.setAttribute("errorMessage", 
                 "An error occurred while processing your request. Please try again later.");
         }
         
-        System.out.println("ForgotPasswordServlet: Forwarding to JSP");
+        LOG.debug("Forwarding to JSP");
         request.getRequestDispatcher("forgot-password.jsp").forward(request, response);
     }
     
@@ -121,7 +123,7 @@ public class ForgotPasswordServlet extends HttpServlet {
     }
     
     private void saveResetToken(String email, String token) throws Exception {
-        System.out.println("ForgotPasswordServlet: Attempting to save token for: " + email);
+        LOG.debug("Attempting to save token for: {}", email);
         
         // First, delete any existing tokens for this email
         String deleteQuery = "DELETE FROM password_reset_tokens WHERE email = ?";
@@ -130,13 +132,13 @@ public class ForgotPasswordServlet extends HttpServlet {
         String insertQuery = "INSERT INTO password_reset_tokens (email, token, expires_at) VALUES (?, ?, ?)";
         
         try (Connection conn = DatabaseConnection.getConnection()) {
-            System.out.println("ForgotPasswordServlet: Database connection obtained");
+            LOG.debug("Database connection obtained");
             
             // Delete old tokens
             try (PreparedStatement deleteStmt = conn.prepareStatement(deleteQuery)) {
                 deleteStmt.setString(1, email);
                 int deletedCount = deleteStmt.executeUpdate();
-                System.out.println("ForgotPasswordServlet: Deleted " + deletedCount + " old tokens");
+                LOG.debug("Deleted {} old tokens", deletedCount);
             }
             
             // Insert new token
@@ -149,17 +151,16 @@ public class ForgotPasswordServlet extends HttpServlet {
                 insertStmt.setTimestamp(3, expiryTime);
                 
                 int insertCount = insertStmt.executeUpdate();
-                System.out.println("ForgotPasswordServlet: Inserted " + insertCount + " new token");
+                LOG.debug("Inserted {} new token", insertCount);
                 
                 if (insertCount > 0) {
-                    System.out.println("ForgotPasswordServlet: Reset token saved successfully for: " + email);
+                    LOG.info("Reset token saved successfully for: {}", email);
                 } else {
-                    System.err.println("ForgotPasswordServlet: Failed to insert token");
+                    LOG.error("Failed to insert token");
                 }
             }
         } catch (Exception e) {
-            System.err.println("ForgotPasswordServlet: Database error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Database error", e);
             throw e;
         }
     }
@@ -167,7 +168,7 @@ public class ForgotPasswordServlet extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
-        System.out.println("ForgotPasswordServlet: GET request - redirecting to JSP");
+        LOG.debug("GET request - redirecting to JSP");
         response.sendRedirect("forgot-password.jsp");
     }
 }
\ No newline at end of file
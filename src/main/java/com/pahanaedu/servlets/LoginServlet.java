@@ -2,6 +2,9 @@ package com.pahanaedu.servlets;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -10,11 +13,18 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import com.pahanaedu.dao.UserDAO;
 import com.pahanaedu.models.User;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.PasswordHasher;
+import com.pahanaedu.utils.RateLimiter;
+import com.pahanaedu.utils.Settings;
 
-@WebServlet("/login")
+// Async: password checks run on the PasswordHasher pool, not on the request thread
+@WebServlet(urlPatterns = "/login", asyncSupported = true)
 public class LoginServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     
+    private static final Logger LOG = Logger.get(LoginServlet.class);
+    
     // Admin credentials configuration
     private static final String ADMIN_EMAIL = "admin@pahanaedu.lk";
     private static final String ADMIN_PASSWORD = "admin123";
@@ -22,16 +32,23 @@ public class LoginServlet extends HttpServlet {
     private static final String ADMIN_LAST_NAME = "Administrator";
     private static final String ADMIN_PHONE = "0112345678";
     
+    // Login throttling: 5 attempts per account then one every 12 s; 30 per client IP then one per second
+    // (cashiers of one shop share an IP). Checked before any DB lookup or BCrypt work.
+    // Bursts can be raised with -Dpahanaedu.login.emailBurst / -Dpahanaedu.login.ipBurst.
+    private static final RateLimiter EMAIL_LIMITER = new RateLimiter("login_email",
+        Settings.intSetting("pahanaedu.login.emailBurst", 5), 12, TimeUnit.SECONDS, 50_000);
+    private static final RateLimiter IP_LIMITER = new RateLimiter("login_ip",
+        Settings.intSetting("pahanaedu.login.ipBurst", 30), 1, TimeUnit.SECONDS, 50_000);
+    
     private UserDAO userDAO;
     
     @Override
     public void init() throws ServletException {
         try {
             userDAO = new UserDAO();
-            System.out.println("LoginServlet: UserDAO initialized successfully");
+            LOG.debug("UserDAO initialized successfully");
         } catch (Exception e) {
-            System.err.println("LoginServlet: Failed to initialize UserDAO - " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to initialize UserDAO", e);
             throw new ServletException("Failed to initialize UserDAO", e);
         }
     }
@@ -48,6 +65,7 @@ public class LoginServlet extends HttpServlet {
         response.setHeader("Expires", "0");
         
         PrintWriter out = null;
+        boolean handedOff = false;
         
         try {
             out = response.getWriter();
@@ -57,10 +75,10 @@ public class LoginServlet extends HttpServlet {
             String password = request.getParameter("password");
             String rememberMe = request.getParameter("rememberMe");
             
-            System.out.println("LoginServlet: Processing login request");
-            System.out.println("LoginServlet: Email received: " + (email != null ? email : "null"));
-            System.out.println("LoginServlet: Password received: " + (password != null && !password.isEmpty() ? "[PROVIDED]" : "[EMPTY]"));
-            System.out.println("LoginServlet: RememberMe: " + rememberMe);
+            LOG.debug("Processing login request");
+            LOG.debug("Email received: {}", email);
+            LOG.debug("Password received: {}", password != null && !password.isEmpty() ? "[PROVIDED]" : "[EMPTY]");
+            LOG.debug("RememberMe: {}", rememberMe);
             
             // Input validation
             if (email == null || email.trim().isEmpty()) {
@@ -77,13 +95,23 @@ public class LoginServlet extends HttpServlet {
             
             email = email.trim().toLowerCase();
             
+            // Throttle credential stuffing before it costs a query or a hash
+            long waitNanos = IP_LIMITER.tryAcquire(request.getRemoteAddr());
+            if (waitNanos == 0) {
+                waitNanos = EMAIL_LIMITER.tryAcquire(email);
+            }
+            if (waitNanos > 0) {
+                sendThrottledResponse(response, out, waitNanos);
+                return;
+            }
+            
             // Check if UserDAO is available
             if (userDAO == null) {
-                System.err.println("LoginServlet: UserDAO is null - reinitializing");
+                LOG.warn("⚠️ UserDAO is null - reinitializing");
                 try {
                     userDAO = new UserDAO();
                 } catch (Exception e) {
-                    System.err.println("LoginServlet: Failed to reinitialize UserDAO - " + e.getMessage());
+                    LOG.error("Failed to reinitialize UserDAO - {}", e.getMessage());
                     sendErrorResponse(response, out, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
                         "Database connection error. Please try again later.");
                     return;
@@ -96,23 +124,23 @@ public class LoginServlet extends HttpServlet {
                 return;
             }
             
-            // Regular user authentication
-            authenticateRegularUser(email, password, request, response, out, rememberMe);
+            // Regular user authentication (BCrypt) on the hashing pool; this thread goes back to Tomcat
+            handedOff = authenticateOnHashingPool(email, password, request, response, out, rememberMe);
             
         } catch (Exception e) {
-            System.err.println("LoginServlet: Unexpected error during login");
-            e.printStackTrace();
+            LOG.error("Unexpected error during login", e);
             
             if (out != null) {
                 sendErrorResponse(response, out, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
                     "An unexpected error occurred. Please try again later.");
             }
         } finally {
-            if (out != null) {
+            // Once handed off, the hashing thread writes and closes the response
+            if (out != null && !handedOff) {
                 try {
                     out.close();
                 } catch (Exception e) {
-                    System.err.println("LoginServlet: Error closing PrintWriter - " + e.getMessage());
+                    LOG.error("Error closing PrintWriter - {}", e.getMessage());
                 }
             }
         }
@@ -124,10 +152,10 @@ public class LoginServlet extends HttpServlet {
                                   PrintWriter out,
                                   String rememberMe) throws IOException {
         
-        System.out.println("LoginServlet: Processing admin login attempt");
+        LOG.debug("Processing admin login attempt");
         
         if (!ADMIN_PASSWORD.equals(password)) {
-            System.out.println("LoginServlet: Admin login failed - incorrect password");
+            LOG.warn("Admin login failed - incorrect password");
             sendErrorResponse(response, out, HttpServletResponse.SC_UNAUTHORIZED, 
                 "Invalid email or password");
             return;
@@ -147,34 +175,70 @@ public class LoginServlet extends HttpServlet {
             // Configure session
             configureSession(request, adminUser, true, rememberMe);
             
-            System.out.println("LoginServlet: Admin login successful for: " + email);
+            LOG.info("Admin login successful for: {}", email);
             
             // Send success response
             sendSuccessResponse(response, out, "Admin login successful!", 
                 "ADMIN", "admin-dashboard.jsp");
                 
         } catch (Exception e) {
-            System.err.println("LoginServlet: Error during admin login - " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error during admin login", e);
             sendErrorResponse(response, out, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
                 "Login processing error. Please try again.");
         }
     }
     
+    /**
+     * Start async processing and queue the login on the PasswordHasher pool
+     * @return true if the pool took the login, false if it answered 503 because the pool is saturated
+     */
+    private boolean authenticateOnHashingPool(String email, String password,
+                                              HttpServletRequest request,
+                                              HttpServletResponse response,
+                                              PrintWriter out,
+                                              String rememberMe) {
+        
+        AsyncContext async = request.startAsync();
+        // No container timeout: a timed-out response is recycled while the hashing thread may still
+        // write to it. The bounded queue already caps the wait, and the task always completes.
+        async.setTimeout(0);
+        
+        try {
+            PasswordHasher.execute("login", () -> {
+                try {
+                    authenticateRegularUser(email, password, request, response, out, rememberMe);
+                } catch (Exception e) {
+                    LOG.error("Error during user authentication", e);
+                } finally {
+                    out.close();
+                    async.complete();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            LOG.warn("⚠️ Login rejected - password hashing pool is saturated");
+            response.setHeader("Retry-After", "1");
+            sendErrorResponse(response, out, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                "The server is busy. Please try again in a moment.");
+            async.complete();
+            return false;
+        }
+    }
+    
     private void authenticateRegularUser(String email, String password, 
                                         HttpServletRequest request, 
                                         HttpServletResponse response, 
                                         PrintWriter out,
                                         String rememberMe) throws IOException {
         
-        System.out.println("LoginServlet: Processing regular user login for: " + email);
+        LOG.debug("Processing regular user login for: {}", email);
         
         try {
             // Validate user credentials
             User user = userDAO.validateLogin(email, password);
             
             if (user == null) {
-                System.out.println("LoginServlet: User authentication failed for: " + email);
+                LOG.warn("User authentication failed for: {}", email);
                 sendErrorResponse(response, out, HttpServletResponse.SC_UNAUTHORIZED, 
                     "Invalid email or password");
                 return;
@@ -182,7 +246,7 @@ public class LoginServlet extends HttpServlet {
             
             // ENHANCED STATUS CHECK - This is the main update
             if (!isUserAccountActive(user)) {
-                System.out.println("LoginServlet: User account is inactive - Email: " + email + ", Status: " + user.getStatus());
+                LOG.info("User account is inactive - Email: {}, Status: {}", email, user.getStatus());
                 
                 // Send customized message based on role and status
                 String message;
@@ -209,9 +273,8 @@ public class LoginServlet extends HttpServlet {
             // Determine redirect URL based on role
             String redirectUrl = determineRedirectUrl(user.getRole());
             
-            System.out.println("LoginServlet: User login successful - Email: " + email + 
-                             ", Role: " + user.getRole() + ", Status: " + user.getStatus() + 
-                             ", Redirect: " + redirectUrl);
+            LOG.info("User login successful - Email: {}, Role: {}, Status: {}, Redirect: {}",
+                     email, user.getRole(), user.getStatus(), redirectUrl);
             
             // Send success response with role-based message
             String successMessage;
@@ -225,8 +288,7 @@ public class LoginServlet extends HttpServlet {
             sendSuccessResponse(response, out, successMessage, user.getRole(), redirectUrl);
                 
         } catch (Exception e) {
-            System.err.println("LoginServlet: Error during user authentication - " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error during user authentication", e);
             sendErrorResponse(response, out, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
                 "Authentication error. Please try again later.");
         }
@@ -244,13 +306,13 @@ public class LoginServlet extends HttpServlet {
         // Check database status field (primary check)
         String status = user.getStatus();
         if (status == null || !"active".equalsIgnoreCase(status.trim())) {
-            System.out.println("LoginServlet: User account inactive - Status: " + status);
+            LOG.info("User account inactive - Status: {}", status);
             return false;
         }
         
         // Check user's isActive method (secondary check for backward compatibility)
         if (!user.isActive()) {
-            System.out.println("LoginServlet: User account inactive - isActive() returned false");
+            LOG.info("User account inactive - isActive() returned false");
             return false;
         }
         
@@ -276,7 +338,7 @@ public class LoginServlet extends HttpServlet {
     private void configureSession(HttpServletRequest request, User user, 
                                  boolean isAdmin, String rememberMe) {
         
-        System.out.println("LoginServlet: Configuring session for user: " + user.getEmail());
+        LOG.debug("Configuring session for user: {}", user.getEmail());
         
         try {
             // Get current session and invalidate if exists
@@ -311,21 +373,20 @@ public class LoginServlet extends HttpServlet {
                 // Extended session (7 days)
                 session.setMaxInactiveInterval(7 * 24 * 60 * 60);
                 session.setAttribute("rememberMe", true);
-                System.out.println("LoginServlet: Extended session configured (7 days)");
+                LOG.debug("Extended session configured (7 days)");
             } else {
                 // Standard session (30 minutes)
                 session.setMaxInactiveInterval(30 * 60);
                 session.setAttribute("rememberMe", false);
-                System.out.println("LoginServlet: Standard session configured (30 minutes)");
+                LOG.debug("Standard session configured (30 minutes)");
             }
             
-            System.out.println("LoginServlet: Session configured successfully");
-            System.out.println("LoginServlet: Session ID: " + session.getId());
-            System.out.println("LoginServlet: Session timeout: " + session.getMaxInactiveInterval() + " seconds");
+            LOG.debug("Session configured successfully");
+            LOG.debug("Session ID: {}", session.getId());
+            LOG.debug("Session timeout: {} seconds", session.getMaxInactiveInterval());
             
         } catch (Exception e) {
-            System.err.println("LoginServlet: Error configuring session - " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error configuring session", e);
             throw new RuntimeException("Session configuration failed", e);
         }
     }
@@ -347,7 +408,16 @@ public class LoginServlet extends HttpServlet {
         out.print(jsonResponse);
         out.flush();
         
-        System.out.println("LoginServlet: Success response sent - " + jsonResponse);
+        LOG.debug("Success response sent - {}", jsonResponse);
+    }
+    
+    // 429 with Retry-After rounded up to whole seconds
+    private void sendThrottledResponse(HttpServletResponse response, PrintWriter out, long waitNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        LOG.debug("Login throttled - retry after {} s", retryAfter);
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        sendErrorResponse(response, out, 429,
+            "Too many login attempts. Please try again in " + retryAfter + " second(s).");
     }
     
     /**
@@ -366,7 +436,7 @@ public class LoginServlet extends HttpServlet {
         out.print(jsonResponse);
         out.flush();
         
-        System.out.println("LoginServlet: Error response sent - " + jsonResponse);
+        LOG.debug("Error response sent - {}", jsonResponse);
     }
     
     private String escapeJsonString(String str) {
@@ -382,7 +452,7 @@ public class LoginServlet extends HttpServlet {
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        System.out.println("LoginServlet: GET request received");
+        LOG.debug("GET request received");
         
         try {
             // Check if user is already logged in
@@ -391,18 +461,17 @@ public class LoginServlet extends HttpServlet {
                 String userRole = (String) session.getAttribute("userRole");
                 String redirectUrl = determineRedirectUrl(userRole);
                 
-                System.out.println("LoginServlet: User already logged in, redirecting to: " + redirectUrl);
+                LOG.debug("User already logged in, redirecting to: {}", redirectUrl);
                 response.sendRedirect(redirectUrl);
                 return;
             }
             
             // Redirect to login page
-            System.out.println("LoginServlet: No active session, redirecting to login page");
+            LOG.debug("No active session, redirecting to login page");
             response.sendRedirect("login.jsp");
             
         } catch (Exception e) {
-            System.err.println("LoginServlet: Error in doGet - " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error in doGet", e);
             response.sendRedirect("login.jsp");
         }
     }
@@ -422,7 +491,7 @@ public class LoginServlet extends HttpServlet {
             HttpSession session = request.getSession(false);
             if (session != null) {
                 String userEmail = (String) session.getAttribute("userEmail");
-                System.out.println("LoginServlet: User logging out: " + userEmail);
+                LOG.info("User logging out: {}", userEmail);
                 session.invalidate();
             }
             
@@ -430,8 +499,7 @@ public class LoginServlet extends HttpServlet {
                 "Logged out successfully!", "", "login.jsp");
             
         } catch (Exception e) {
-            System.err.println("LoginServlet: Error during logout - " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error during logout", e);
             
             if (out != null) {
                 sendErrorResponse(response, out, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
@@ -442,7 +510,7 @@ public class LoginServlet extends HttpServlet {
                 try {
                     out.close();
                 } catch (Exception e) {
-                    System.err.println("LoginServlet: Error closing PrintWriter during logout - " + e.getMessage());
+                    LOG.error("Error closing PrintWriter during logout - {}", e.getMessage());
                 }
             }
         }
@@ -450,8 +518,8 @@ public class LoginServlet extends HttpServlet {
     
     @Override
     public void destroy() {
-        System.out.println("LoginServlet: Servlet being destroyed");
+        LOG.debug("Servlet being destroyed");
         userDAO = null;
         super.destroy();
     }
-}
\ No newline at end of file
+}
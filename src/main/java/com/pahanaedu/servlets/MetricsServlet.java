@@ -0,0 +1,52 @@
+// File: src/main/java/com/pahanaedu/servlets/MetricsServlet.java
+package com.pahanaedu.servlets;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import com.pahanaedu.utils.Metrics;
+
+/**
+ * Prometheus scrape endpoint. Open to scrapers on the same host (loopback) and to
+ * logged-in admins; everyone else gets 403. A loopback request that carries forwarding
+ * headers came through a local reverse proxy, so it needs the admin session too.
+ */
+@WebServlet("/metrics")
+public class MetricsServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!isLoopback(request) && !isAdminLoggedIn(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        
+        response.setContentType("text/plain; version=0.0.4");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(Metrics.scrape());
+    }
+    
+    private boolean isLoopback(HttpServletRequest request) {
+        if (request.getHeader("X-Forwarded-For") != null || request.getHeader("Forwarded") != null
+                || request.getHeader("X-Real-IP") != null) {
+            return false; // Proxied - the real client is elsewhere
+        }
+        try {
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    private boolean isAdminLoggedIn(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && "ADMIN".equals(session.getAttribute("userRole"));
+    }
+}
@@ -4,6 +4,7 @@ package com.pahanaedu.servlets;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -14,39 +15,46 @@ import javax.servlet.http.HttpSession;
 
 import com.google.gson.Gson;
 import com.pahanaedu.dao.BookDAO;
+import com.pahanaedu.dao.BookReferenceIndex;
 import com.pahanaedu.models.Book;
+import com.pahanaedu.search.AutocompleteIndex;
+import com.pahanaedu.search.FuzzyMatcher;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.PageCursor;
 
 @WebServlet("/productSearch")
 public class ProductSearchServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
+    
+    private static final Logger LOG = Logger.get(ProductSearchServlet.class);
     private BookDAO bookDAO;
     private Gson gson;
     
+    // Suggestions returned when the request has no "limit"
+    private static final int DEFAULT_SUGGESTIONS = 8;
+    
     @Override
     public void init() throws ServletException {
         try {
             bookDAO = new BookDAO();
             gson = new Gson();
-            System.out.println("✅ ProductSearchServlet initialized successfully");
+            LOG.info("✅ ProductSearchServlet initialized successfully");
             
             // Print some debug info
             int bookCount = bookDAO.getTotalBooksCount();
-            System.out.println("📊 Total books in database: " + bookCount);
+            LOG.info("📊 Total books in database: {}", bookCount);
             
-            // Print sample reference numbers
-            java.util.List<String> refs = bookDAO.getAllReferenceNumbers();
-            if (!refs.isEmpty()) {
-                System.out.println("📋 Sample reference numbers:");
-                for (int i = 0; i < Math.min(5, refs.size()); i++) {
-                    System.out.println("   - " + refs.get(i));
-                }
-            } else {
-                System.out.println("⚠️ No reference numbers found in database");
+            // Warm the reference index so the first scan doesn't pay for loading it
+            BookReferenceIndex.getInstance().warmUp();
+            BookReferenceIndex.IndexStats indexStats = BookReferenceIndex.getInstance().getStats();
+            if (indexStats.referenceKeys == 0) {
+                LOG.warn("⚠️ No reference numbers found in database");
             }
+            AutocompleteIndex.getInstance().warmUp();
+            FuzzyMatcher.getInstance().warmUp();
             
         } catch (Exception e) {
-            System.err.println("❌ Error initializing ProductSearchServlet: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error initializing ProductSearchServlet", e);
             throw new ServletException("Failed to initialize ProductSearchServlet", e);
         }
     }
@@ -55,19 +63,25 @@ public class ProductSearchServlet extends HttpServlet {
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        System.out.println("🔍 ProductSearchServlet GET request received");
+        LOG.debug("🔍 ProductSearchServlet GET request received");
         
         // Check cashier session
         if (!isCashierLoggedIn(request)) {
-            System.out.println("❌ Unauthorized access attempt");
+            LOG.warn("❌ Unauthorized access attempt");
             sendErrorResponse(response, "Unauthorized access - Cashier login required");
             return;
         }
         
+        // Suggestions run on every keystroke - answered before the request logging below
+        if ("autocomplete".equals(request.getParameter("action"))) {
+            handleAutocompleteRequest(request, response);
+            return;
+        }
+        
         String referenceNo = request.getParameter("reference");
         String action = request.getParameter("action");
         
-        System.out.println("📝 Search parameters - Reference: '" + referenceNo + "', Action: '" + action + "'");
+        LOG.debug("📝 Search parameters - Reference: '{}', Action: '{}'", referenceNo, action);
         
         // Handle different actions
         if ("debug".equals(action)) {
@@ -83,46 +97,50 @@ public class ProductSearchServlet extends HttpServlet {
         
         // Validation
         if (isEmpty(referenceNo)) {
-            System.out.println("❌ Empty reference number provided");
+            LOG.debug("❌ Empty reference number provided");
             sendErrorResponse(response, "Reference number is required");
             return;
         }
         
         try {
-            System.out.println("🔍 Searching for reference: '" + referenceNo + "'");
+            LOG.debug("🔍 Searching for reference: '{}'", referenceNo);
             
             // Search by reference number first
             Book book = bookDAO.getBookByReferenceNo(referenceNo.trim());
             
             // If not found by reference, try by QR code
             if (book == null) {
-                System.out.println("🔍 Not found by reference, trying QR code search...");
+                LOG.debug("🔍 Not found by reference, trying QR code search...");
                 book = bookDAO.getBookByQrCode(referenceNo.trim());
             }
             
             if (book != null) {
-                System.out.println("✅ Book found: " + book.getTitle() + " (ID: " + book.getId() + ")");
-                System.out.println("📊 Book details - Stock: " + book.getStock() + ", Status: " + book.getStatus());
+                LOG.debug("✅ Book found: {} (ID: {})", book.getTitle(), book.getId());
+                LOG.debug("📊 Book details - Stock: {}, Status: {}", book.getStock(), book.getStatus());
                 
                 // Check if book is available
                 if ("active".equals(book.getStatus()) && book.getStock() > 0) {
                     sendSuccessResponse(response, "Product found", book);
                 } else if (book.getStock() <= 0) {
-                    System.out.println("⚠️ Book is out of stock");
+                    LOG.debug("⚠️ Book is out of stock");
                     // Still send the book data but with out of stock message
                     sendSuccessResponse(response, "Product found but out of stock", book);
                 } else {
-                    System.out.println("⚠️ Book status is: " + book.getStatus());
+                    LOG.debug("⚠️ Book status is: {}", book.getStatus());
                     sendErrorResponse(response, "Product is not available (Status: " + book.getStatus() + ")");
                 }
             } else {
-                System.out.println("❌ No book found with reference: '" + referenceNo + "'");
-                sendErrorResponse(response, "Product not found with reference: " + referenceNo);
+                LOG.debug("❌ No book found with reference: '{}'", referenceNo);
+                
+                // Offer close matches in case the reference was mistyped
+                List<FuzzyMatcher.Candidate> candidates =
+                        FuzzyMatcher.getInstance().findSimilar(referenceNo.trim(), DEFAULT_SUGGESTIONS);
+                sendErrorResponse(response, "Product not found with reference: " + referenceNo,
+                                  candidates.isEmpty() ? null : candidates);
             }
             
         } catch (Exception e) {
-            System.err.println("❌ Error searching for product: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error searching for product", e);
             sendErrorResponse(response, "Error searching for product: " + e.getMessage());
         }
     }
@@ -131,7 +149,7 @@ public class ProductSearchServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        System.out.println("🔍 ProductSearchServlet POST request received");
+        LOG.debug("🔍 ProductSearchServlet POST request received");
         
         // Check cashier session
         if (!isCashierLoggedIn(request)) {
@@ -140,7 +158,7 @@ public class ProductSearchServlet extends HttpServlet {
         }
         
         String action = request.getParameter("action");
-        System.out.println("📝 POST Action: " + action);
+        LOG.debug("📝 POST Action: {}", action);
         
         switch (action != null ? action : "") {
             case "searchMultiple":
@@ -185,6 +203,14 @@ public class ProductSearchServlet extends HttpServlet {
         }
     }
     
+    // Handle type-ahead suggestions for the scan box (runs on every keystroke)
+    private void handleAutocompleteRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int limit = PageCursor.parseLimit(request.getParameter("limit"), DEFAULT_SUGGESTIONS, AutocompleteIndex.MAX_SUGGESTIONS);
+        List<AutocompleteIndex.Suggestion> suggestions =
+                AutocompleteIndex.getInstance().complete(request.getParameter("q"), limit);
+        sendSuccessResponse(response, "Suggestions", suggestions);
+    }
+    
     // Handle generate references request
     private void handleGenerateReferencesRequest(HttpServletResponse response) throws IOException {
         try {
@@ -199,7 +225,7 @@ public class ProductSearchServlet extends HttpServlet {
         }
     }
     
-    // Search multiple products (for batch operations)
+    // Search multiple products (for batch operations) - resolves the whole basket in one lookup
     private void searchMultipleProducts(HttpServletRequest request, HttpServletResponse response) 
             throws IOException {
         
@@ -213,13 +239,11 @@ public class ProductSearchServlet extends HttpServlet {
         try {
             java.util.List<Book> foundProducts = new java.util.ArrayList<>();
             java.util.List<String> notFoundReferences = new java.util.ArrayList<>();
+            java.util.Map<String, Book> booksByCode = bookDAO.getBooksByScanCodes(java.util.Arrays.asList(references));
             
             for (String ref : references) {
                 if (!isEmpty(ref)) {
-                    Book book = bookDAO.getBookByReferenceNo(ref.trim());
-                    if (book == null) {
-                        book = bookDAO.getBookByQrCode(ref.trim());
-                    }
+                    Book book = booksByCode.get(BookReferenceIndex.normalize(ref));
                     
                     if (book != null && "active".equals(book.getStatus()) && book.getStock() > 0) {
                         foundProducts.add(book);
@@ -239,8 +263,7 @@ public class ProductSearchServlet extends HttpServlet {
             sendSuccessResponse(response, "Multi-search completed", result);
             
         } catch (Exception e) {
-            System.err.println("❌ Error in multi-search: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error in multi-search", e);
             sendErrorResponse(response, "Error searching products: " + e.getMessage());
         }
     }
@@ -302,19 +325,19 @@ public class ProductSearchServlet extends HttpServlet {
     private boolean isCashierLoggedIn(HttpServletRequest request) {
         HttpSession session = request.getSession(false);
         if (session == null) {
-            System.out.println("❌ No session found");
+            LOG.warn("❌ No session found");
             return false;
         }
         
         String userRole = (String) session.getAttribute("userRole");
         String userEmail = (String) session.getAttribute("userEmail");
         
-        System.out.println("👤 Session check - Role: '" + userRole + "', Email: '" + userEmail + "'");
+        LOG.debug("👤 Session check - Role: '{}', Email: '{}'", userRole, userEmail);
         
         boolean isAuthorized = "CASHIER".equals(userRole) || "ADMIN".equals(userRole);
         
         if (!isAuthorized) {
-            System.out.println("❌ User role '" + userRole + "' is not authorized");
+            LOG.warn("❌ User role '{}' is not authorized", userRole);
         }
         
         return isAuthorized;
@@ -332,13 +355,9 @@ public class ProductSearchServlet extends HttpServlet {
         response.setHeader("Access-Control-Allow-Methods", "GET, POST, OPTIONS");
         response.setHeader("Access-Control-Allow-Headers", "Content-Type");
         
+        // Serialize straight into the response writer (no intermediate JSON string)
         PrintWriter out = response.getWriter();
-        String jsonResponse = gson.toJson(data);
-        
-        System.out.println("📤 Sending JSON response: " + 
-            (jsonResponse.length() > 200 ? jsonResponse.substring(0, 200) + "..." : jsonResponse));
-        
-        out.print(jsonResponse);
+        gson.toJson(data, out);
         out.flush();
     }
     
@@ -349,8 +368,12 @@ public class ProductSearchServlet extends HttpServlet {
     }
     
     private void sendErrorResponse(HttpServletResponse response, String message) throws IOException {
+        sendErrorResponse(response, message, null);
+    }
+    
+    private void sendErrorResponse(HttpServletResponse response, String message, Object data) throws IOException {
         response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-        ApiResponse apiResponse = new ApiResponse(false, message, null);
+        ApiResponse apiResponse = new ApiResponse(false, message, data);
         sendJsonResponse(response, apiResponse);
     }
     
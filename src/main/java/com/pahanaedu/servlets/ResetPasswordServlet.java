@@ -5,6 +5,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
+import java.util.concurrent.RejectedExecutionException;
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -12,18 +14,22 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import com.pahanaedu.dao.UserDAO;
 import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.PasswordHasher;
 
-@WebServlet("/reset-password")
+@WebServlet(urlPatterns = "/reset-password", asyncSupported = true)
 public class ResetPasswordServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     
+    private static final Logger LOG = Logger.get(ResetPasswordServlet.class);
+    
     private UserDAO userDAO;
     
     @Override
     public void init() throws ServletException {
         try {
             userDAO = new UserDAO();
-            System.out.println("ResetPasswordServlet: Initialized successfully");
+            LOG.debug("Initialized successfully");
         } catch (Exception e) {
             throw new ServletException("Failed to initialize UserDAO", e);
         }
@@ -53,7 +59,7 @@ public class ResetPasswordServlet extends HttpServlet {
             request.getRequestDispatcher("reset-password.jsp").forward(request, response);
             
         } catch (Exception e) {
-            System.err.println("Error validating token: " + e.getMessage());
+            LOG.error("Error validating token: {}", e.getMessage());
             request.setAttribute("errorMessage", "An error occurred. Please try again.");
             request.getRequestDispatcher("forgot-password.jsp").forward(request, response);
         }
@@ -102,33 +108,61 @@ public class ResetPasswordServlet extends HttpServlet {
                 return;
             }
             
-            // Update password
+            // BCrypt runs on the hashing pool; this thread goes back to Tomcat
+            AsyncContext async = request.startAsync();
+            // No container timeout, as in LoginServlet: the bounded queue caps the wait
+            async.setTimeout(0);
+            try {
+                PasswordHasher.execute("reset", () -> resetPassword(async, request, response, token, email, password));
+            } catch (RejectedExecutionException e) {
+                // Password hashing pool is saturated - the token is still valid, so the user can simply retry
+                LOG.warn("⚠️ Password reset rejected - password hashing pool is saturated");
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setHeader("Retry-After", "1");
+                showResetForm(async, request, "The server is busy. Please try again in a moment.");
+            }
+            
+        } catch (Exception e) {
+            LOG.error("Error resetting password", e);
+            request.setAttribute("errorMessage", "An error occurred. Please try again.");
+            request.getRequestDispatcher("reset-password.jsp").forward(request, response);
+        }
+    }
+    
+    // Runs on a hashing thread, so the password hash in updatePassword runs inline
+    private void resetPassword(AsyncContext async, HttpServletRequest request, HttpServletResponse response,
+                               String token, String email, String password) {
+        try {
             boolean success = userDAO.updatePassword(email, password);
             
             if (success) {
                 // Mark token as used
                 markTokenAsUsed(token);
                 
-                System.out.println("Password reset successful for: " + email);
+                LOG.info("Password reset successful for: {}", email);
                 
                 // Redirect to login with success message
                 request.getSession().setAttribute("loginSuccessMessage", 
                     "Password updated successfully! Please login with your new password.");
                 response.sendRedirect("login.jsp");
+                async.complete();
                 
             } else {
-                request.setAttribute("errorMessage", "Failed to update password. Please try again.");
-                request.getRequestDispatcher("reset-password.jsp").forward(request, response);
+                showResetForm(async, request, "Failed to update password. Please try again.");
             }
             
         } catch (Exception e) {
-            System.err.println("Error resetting password: " + e.getMessage());
-            e.printStackTrace();
-            request.setAttribute("errorMessage", "An error occurred. Please try again.");
-            request.getRequestDispatcher("reset-password.jsp").forward(request, response);
+            LOG.error("Error resetting password", e);
+            showResetForm(async, request, "An error occurred. Please try again.");
         }
     }
     
+    // Render the reset form with an error from an async request (the container completes it)
+    private void showResetForm(AsyncContext async, HttpServletRequest request, String errorMessage) {
+        request.setAttribute("errorMessage", errorMessage);
+        async.dispatch("/reset-password.jsp");
+    }
+    
     private boolean isValidToken(String token) throws Exception {
         String query = "SELECT email FROM password_reset_tokens WHERE token = ? AND expires_at > NOW() AND used = FALSE";
         
@@ -170,7 +204,7 @@ public class ResetPasswordServlet extends HttpServlet {
             stmt.setString(1, token);
             stmt.executeUpdate();
             
-            System.out.println("Token marked as used: " + token.substring(0, 8) + "...");
+            LOG.debug("Token marked as used: {}...", token.substring(0, 8));
         }
     }
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.pahanaedu.servlets;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.RejectedExecutionException;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -12,11 +14,15 @@ import javax.servlet.http.HttpSession;
 
 import com.pahanaedu.dao.UserDAO;
 import com.pahanaedu.models.User;
+import com.pahanaedu.utils.Logger;
+import com.pahanaedu.utils.PasswordHasher;
 
-@WebServlet("/signup")
+@WebServlet(urlPatterns = "/signup", asyncSupported = true)
 public class SignupServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     
+    private static final Logger LOG = Logger.get(SignupServlet.class);
+    
     private UserDAO userDAO;
     
     @Override
@@ -40,6 +46,7 @@ public class SignupServlet extends HttpServlet {
         response.setCharacterEncoding("UTF-8");
         
         PrintWriter out = response.getWriter();
+        boolean handedOff = false;
         
         try {
             // Get form parameters
@@ -51,8 +58,8 @@ public class SignupServlet extends HttpServlet {
             String confirmPassword = request.getParameter("confirmPassword");
             
             // Debug logging
-            System.out.println("Customer signup attempt - FirstName: " + firstName + ", LastName: " + lastName + 
-                             ", Phone: " + phone + ", Email: " + email + ", Password: " + (password != null ? "***" : "null"));
+            LOG.debug("Customer signup attempt - FirstName: {}, LastName: {}, Phone: {}, Email: {}, Password: {}",
+                      firstName, lastName, phone, email, password != null ? "***" : "null");
             
             // Basic validation
             if (firstName == null || firstName.trim().isEmpty() ||
@@ -62,7 +69,7 @@ public class SignupServlet extends HttpServlet {
                 password == null || password.trim().isEmpty() ||
                 confirmPassword == null || confirmPassword.trim().isEmpty()) {
                 
-                System.out.println("Signup validation failed - empty fields");
+                LOG.debug("Signup validation failed - empty fields");
                 response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
                 out.print("{\"success\": false, \"message\": \"All fields are required!\"}");
                 return;
@@ -71,7 +78,7 @@ public class SignupServlet extends HttpServlet {
             // Validate phone number format (10 digits)
             String cleanPhone = phone.replaceAll("\\D", ""); // Remove non-digits
             if (cleanPhone.length() != 10) {
-                System.out.println("Signup validation failed - invalid phone: " + phone);
+                LOG.debug("Signup validation failed - invalid phone: {}", phone);
                 response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
                 out.print("{\"success\": false, \"message\": \"Please enter a valid 10-digit phone number!\"}");
                 return;
@@ -95,34 +102,78 @@ public class SignupServlet extends HttpServlet {
             User newUser = new User(firstName.trim(), lastName.trim(), email.trim(), password);
             newUser.setPhone(cleanPhone); // Set the phone number
             
-            if (userDAO.createUser(newUser)) {
-                // Success - Create session for immediate login
-                HttpSession session = request.getSession();
-                newUser.setRole(User.ROLE_CUSTOMER); // Ensure role is set
-                session.setAttribute("user", newUser);
-                session.setAttribute("userEmail", newUser.getEmail());
-                session.setAttribute("userName", newUser.getFullName());
-                session.setAttribute("userRole", newUser.getRole());
-                session.setAttribute("userFirstName", newUser.getFirstName());
-                session.setAttribute("userPhone", newUser.getPhone());
-                
-                // Set session timeout (30 minutes)
-                session.setMaxInactiveInterval(30 * 60);
-                
-                response.setStatus(HttpServletResponse.SC_OK);
-                out.print("{\"success\": true, \"message\": \"Account created successfully!\", \"role\": \"" + User.ROLE_CUSTOMER + "\", \"redirectUrl\": \"index2.jsp\"}");
-            } else {
-                // Database error
-                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                out.print("{\"success\": false, \"message\": \"Failed to create account. Please try again.\"}");
-            }
+            // BCrypt runs on the hashing pool; this thread goes back to Tomcat
+            handedOff = createUserOnHashingPool(newUser, request, response, out);
             
         } catch (Exception e) {
-            System.err.println("Signup error: " + e.getMessage());
+            LOG.error("Signup error: {}", e.getMessage());
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             out.print("{\"success\": false, \"message\": \"Server error occurred!\"}");
         } finally {
-            out.close();
+            // Once handed off, the hashing thread writes and closes the response
+            if (!handedOff) {
+                out.close();
+            }
+        }
+    }
+    
+    /**
+     * Start async processing and queue the account creation on the PasswordHasher pool
+     * @return true if the pool took it, false if it answered 503 because the pool is saturated
+     */
+    private boolean createUserOnHashingPool(User newUser, HttpServletRequest request,
+                                            HttpServletResponse response, PrintWriter out) {
+        AsyncContext async = request.startAsync();
+        // No container timeout, as in LoginServlet: the bounded queue caps the wait
+        async.setTimeout(0);
+        
+        try {
+            PasswordHasher.execute("signup", () -> {
+                try {
+                    createUser(newUser, request, response, out);
+                } catch (Exception e) {
+                    LOG.error("Signup error: {}", e.getMessage());
+                    response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    out.print("{\"success\": false, \"message\": \"Server error occurred!\"}");
+                } finally {
+                    out.close();
+                    async.complete();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Password hashing pool is saturated (e.g. a login burst) - ask the client to retry
+            LOG.warn("⚠️ Signup rejected - password hashing pool is saturated");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            out.print("{\"success\": false, \"message\": \"The server is busy. Please try again in a moment.\"}");
+            async.complete();
+            return false;
+        }
+    }
+    
+    // Runs on a hashing thread, so the password hash in createUser runs inline
+    private void createUser(User newUser, HttpServletRequest request, HttpServletResponse response, PrintWriter out) {
+        if (userDAO.createUser(newUser)) {
+            // Success - Create session for immediate login
+            HttpSession session = request.getSession();
+            newUser.setRole(User.ROLE_CUSTOMER); // Ensure role is set
+            session.setAttribute("user", newUser);
+            session.setAttribute("userEmail", newUser.getEmail());
+            session.setAttribute("userName", newUser.getFullName());
+            session.setAttribute("userRole", newUser.getRole());
+            session.setAttribute("userFirstName", newUser.getFirstName());
+            session.setAttribute("userPhone", newUser.getPhone());
+            
+            // Set session timeout (30 minutes)
+            session.setMaxInactiveInterval(30 * 60);
+            
+            response.setStatus(HttpServletResponse.SC_OK);
+            out.print("{\"success\": true, \"message\": \"Account created successfully!\", \"role\": \"" + User.ROLE_CUSTOMER + "\", \"redirectUrl\": \"index2.jsp\"}");
+        } else {
+            // Database error
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            out.print("{\"success\": false, \"message\": \"Failed to create account. Please try again.\"}");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,671 @@
+// File: src/main/java/com/pahanaedu/tools/DataGenerator.java
+package com.pahanaedu.tools;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import com.pahanaedu.dao.BookReferenceIndex;
+import com.pahanaedu.dao.CatalogCache;
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.User;
+import com.pahanaedu.search.CatalogIndexes;
+import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Bulk synthetic data for scale tests: users, books and a sales history of bills and
+ * bill items, written with batched multi-row inserts (rewriteBatchedStatements).
+ *
+ * Output is deterministic for a seed and a given starting database. Popularity is
+ * skewed the way real sales are: books per category and units per book follow Zipf
+ * distributions, bills cluster around opening peaks and weekends, and volume grows
+ * towards today. Generated rows are tagged with the seed (reference numbers, bill
+ * numbers, e-mails), so a seed can only be generated once per database.
+ *
+ *   java -Dpahanaedu.db.profile=local -cp ... com.pahanaedu.tools.DataGenerator --books=100000 --bills=2000000
+ *
+ * or POST admin?action=generateTestData (local profile only), then poll
+ * admin?action=getTestDataProgress.
+ */
+public class DataGenerator {
+    
+    private static final Logger LOG = Logger.get(DataGenerator.class);
+    
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.10");     // as Bill.calculateTotals
+    private static final int MIN_CATEGORIES = 12;
+    private static final double BOOK_POPULARITY_SKEW = 1.0;
+    private static final double CATEGORY_SKEW = 1.1;
+    private static final double CASHIER_SKEW = 0.5;
+    
+    // Relative bill volume per hour of the day (shop open 8:00-20:00, peaks before noon and after school)
+    private static final double[] HOUR_WEIGHTS = {
+        0, 0, 0, 0, 0, 0, 0, 0, 3, 6, 9, 10, 8, 6, 6, 8, 10, 9, 6, 3, 0, 0, 0, 0
+    };
+    
+    private static final String[] CATEGORY_NAMES = {
+        "School Textbooks", "Advanced Level", "Ordinary Level", "Fiction", "Children", "Reference",
+        "Languages", "Science", "Mathematics", "History", "Religion", "Stationery", "Exam Papers", "Biographies"
+    };
+    private static final String[] SUBJECTS = {
+        "Mathematics", "Physics", "Chemistry", "Biology", "English", "Sinhala", "Tamil", "History",
+        "Geography", "Economics", "Accounting", "ICT", "Buddhism", "Art", "Music", "Commerce"
+    };
+    private static final String[] FORMS = {
+        "Workbook", "Guide", "Past Papers", "Revision Notes", "Textbook", "Practice Tests", "Handbook", "Companion"
+    };
+    private static final String[] ADJECTIVES = {
+        "Silent", "Golden", "Lost", "Hidden", "Last", "Forgotten", "Broken", "Distant", "Secret", "Endless"
+    };
+    private static final String[] NOUNS = {
+        "River", "Garden", "Monsoon", "Island", "Letter", "Kingdom", "Harbour", "Promise", "Lantern", "Journey"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Nimal", "Kamala", "Sunil", "Chathura", "Dilani", "Ruwan", "Ishara", "Tharindu", "Sanduni", "Kasun",
+        "Priya", "Arjun", "Fathima", "Mohamed", "Anushka", "Harsha", "Nadeesha", "Lahiru", "Menaka", "Saman"
+    };
+    private static final String[] LAST_NAMES = {
+        "Perera", "Silva", "Fernando", "Jayasinghe", "Gunawardena", "Bandara", "Wickramasinghe", "Rajapaksa",
+        "Herath", "Dissanayake", "Kumara", "Mendis", "Ratnayake", "Nawaz", "Sivakumar", "de Alwis"
+    };
+    
+    private static final Object LOCK = new Object();
+    private static Progress progress = new Progress();
+    
+    private final Options options;
+    private final SplittableRandom random;
+    private final String tag;
+    
+    // Loaded books, indexed by generation order
+    private int[] bookIds;
+    private String[] bookTitles;
+    private String[] bookReferences;
+    private BigDecimal[] bookPrices;
+    
+    private int[] cashierIds;
+    private String[] cashierNames;
+    
+    private DataGenerator(Options options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.seed);
+        this.tag = Long.toString(options.seed, 36).toUpperCase(Locale.ROOT);
+    }
+    
+    public static void main(String[] args) {
+        Options options = new Options();
+        boolean force = false;
+        for (String arg : args) {
+            if ("--force".equals(arg)) {
+                force = true;
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                try {
+                    options.set(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+                } catch (IllegalArgumentException e) {
+                    LOG.error("❌ {}: {}", arg, e.getMessage());
+                    System.exit(1);
+                }
+            } else {
+                // Usage text is console output, not a log event
+                System.err.println("Usage: DataGenerator [--seed=N] [--users=N] [--cashiers=N] [--books=N] " +
+                                   "[--bills=N] [--days=N] [--maxItemsPerBill=N] [--batchSize=N] [--force]");
+                System.exit(1);
+            }
+        }
+        
+        int exitCode = 0;
+        try {
+            if (!force && !DatabaseConnection.PROFILE_LOCAL.equals(DatabaseConnection.getProfile())) {
+                LOG.error("❌ Refusing to generate into {} - run with -Dpahanaedu.db.profile=local or pass --force",
+                          DatabaseConnection.getUrl());
+                exitCode = 1;
+            } else {
+                Progress result = generate(options);
+                LOG.info("✅ Generated {} users, {} books, {} bills, {} bill items in {} s",
+                         result.users, result.books, result.bills, result.billItems, result.tookMs / 1000);
+            }
+        } catch (SQLException | IllegalStateException e) {
+            LOG.error("❌ Data generation failed: {}", e.getMessage());
+            exitCode = 2;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+        System.exit(exitCode);
+    }
+    
+    /**
+     * Generate in the background (admin action); only one run at a time
+     * @param options What to generate
+     * @return false if a run is already in progress
+     */
+    public static boolean start(Options options) {
+        synchronized (LOCK) {
+            if (progress.running) {
+                return false;
+            }
+            progress = new Progress();
+            progress.running = true;
+            progress.seed = options.seed;
+        }
+        
+        Thread worker = new Thread(() -> {
+            try {
+                generate(options);
+            } catch (SQLException | RuntimeException e) {
+                LOG.error("❌ Data generation failed", e);
+                synchronized (LOCK) {
+                    progress.error = e.getMessage();
+                }
+            } finally {
+                synchronized (LOCK) {
+                    progress.running = false;
+                }
+            }
+        }, "pahanaedu-data-generator");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+    
+    /**
+     * Get the progress of the current or last run
+     * @return Progress copy
+     */
+    public static Progress getProgress() {
+        synchronized (LOCK) {
+            return progress.copy();
+        }
+    }
+    
+    /**
+     * Generate synchronously
+     * @param options What to generate
+     * @return Final counts
+     * @throws SQLException if an insert fails (batches committed so far are kept)
+     * @throws IllegalStateException if this seed was already generated into the database
+     */
+    public static Progress generate(Options options) throws SQLException {
+        synchronized (LOCK) {
+            progress.running = true;
+            progress.seed = options.seed;
+        }
+        long started = System.currentTimeMillis();
+        new DataGenerator(options).run();
+        
+        // Bypass of the DAOs: drop every cached view of the catalog
+        CatalogCache.invalidateAll();
+        BookReferenceIndex.getInstance().invalidate();
+        CatalogIndexes.catalogReplaced();
+        
+        synchronized (LOCK) {
+            progress.running = false;
+            progress.phase = "done";
+            progress.tookMs = System.currentTimeMillis() - started;
+            return progress.copy();
+        }
+    }
+    
+    private void run() throws SQLException {
+        if (alreadyGenerated()) {
+            throw new IllegalStateException("Seed " + options.seed + " was already generated into this database");
+        }
+        LOG.info("🏭 Generating data with seed {}: {} users, {} books, {} bills over {} days",
+                 options.seed, options.users, options.books, options.bills, options.days);
+        
+        int[] categoryIds = ensureCategories();
+        insertUsers();
+        insertBooks(categoryIds);
+        insertBills();
+    }
+    
+    private boolean alreadyGenerated() throws SQLException {
+        try (Connection conn = connection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM users WHERE email = ?")) {
+            stmt.setString(1, email(0));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+    
+    // Existing active categories, topped up to MIN_CATEGORIES
+    private int[] ensureCategories() throws SQLException {
+        phase("categories");
+        List<Integer> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Connection conn = connection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT id, name FROM categories WHERE status = 'active' ORDER BY id");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt("id"));
+                    names.add(rs.getString("name"));
+                }
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO categories (name, description, status) VALUES (?, ?, 'active')",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (String name : CATEGORY_NAMES) {
+                    if (ids.size() >= MIN_CATEGORIES) {
+                        break;
+                    }
+                    if (names.contains(name)) {
+                        continue;
+                    }
+                    stmt.setString(1, name);
+                    stmt.setString(2, "Generated for scale testing");
+                    stmt.executeUpdate();
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        keys.next();
+                        ids.add(keys.getInt(1));
+                    }
+                }
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    private void insertUsers() throws SQLException {
+        phase("users");
+        // One hash for all: BCrypt per row would dominate the run
+        String passwordHash = BCrypt.hashpw(LocalDatabase.LOCAL_PASSWORD, BCrypt.gensalt());
+        int cashiers = Math.min(options.cashiers, options.users);
+        cashierIds = new int[cashiers];
+        cashierNames = new String[cashiers];
+        
+        String sql = "INSERT INTO users (first_name, last_name, email, password, role, phone, status, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int from = 0; from < options.users; from += options.batchSize) {
+            int to = Math.min(options.users, from + options.batchSize);
+            try (Connection conn = connection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                conn.setAutoCommit(false);
+                for (int i = from; i < to; i++) {
+                    String firstName = pick(FIRST_NAMES);
+                    String lastName = pick(LAST_NAMES);
+                    stmt.setString(1, firstName);
+                    stmt.setString(2, lastName);
+                    stmt.setString(3, email(i));
+                    stmt.setString(4, passwordHash);
+                    stmt.setString(5, i < cashiers ? User.ROLE_CASHIER : User.ROLE_CUSTOMER);
+                    stmt.setString(6, String.format("07%08d", random.nextInt(100_000_000)));
+                    stmt.setString(7, random.nextInt(50) == 0 ? User.STATUS_INACTIVE : User.STATUS_ACTIVE);
+                    stmt.setTimestamp(8, Timestamp.valueOf(randomMoment()));
+                    stmt.addBatch();
+                    if (i < cashiers) {
+                        cashierNames[i] = firstName + " " + lastName;
+                    }
+                }
+                stmt.executeBatch();
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    for (int i = from; keys.next(); i++) {
+                        if (i < cashiers) {
+                            cashierIds[i] = keys.getInt(1);
+                        }
+                    }
+                }
+                conn.commit();
+            }
+            synchronized (LOCK) {
+                progress.users = to;
+            }
+        }
+    }
+    
+    private void insertBooks(int[] categoryIds) throws SQLException {
+        phase("books");
+        bookIds = new int[options.books];
+        bookTitles = new String[options.books];
+        bookReferences = new String[options.books];
+        bookPrices = new BigDecimal[options.books];
+        Zipf categoryPopularity = new Zipf(categoryIds.length, CATEGORY_SKEW, random);
+        
+        String sql = "INSERT INTO books (title, author, category_id, price, offer_price, stock, description, " +
+                    "status, reference_no, qr_code, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, 'active', ?, ?, ?)";
+        for (int from = 0; from < options.books; from += options.batchSize) {
+            int to = Math.min(options.books, from + options.batchSize);
+            try (Connection conn = connection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                conn.setAutoCommit(false);
+                for (int i = from; i < to; i++) {
+                    // Log-normal prices between roughly Rs. 250 and 5000, rounded to Rs. 10
+                    double price = Math.min(9990, 250 + Math.exp(6.3 + 0.8 * gaussian()));
+                    bookPrices[i] = BigDecimal.valueOf(Math.round(price / 10) * 10L).setScale(2);
+                    bookTitles[i] = title(i);
+                    bookReferences[i] = String.format("GEN%s-%07d", tag, i);
+                    
+                    stmt.setString(1, bookTitles[i]);
+                    stmt.setString(2, pick(FIRST_NAMES) + " " + pick(LAST_NAMES));
+                    stmt.setInt(3, categoryIds[categoryPopularity.next()]);
+                    stmt.setBigDecimal(4, bookPrices[i]);
+                    if (random.nextInt(10) == 0) {
+                        stmt.setBigDecimal(5, bookPrices[i].multiply(new BigDecimal("0.85")).setScale(2, RoundingMode.HALF_UP));
+                    } else {
+                        stmt.setNull(5, Types.DECIMAL);
+                    }
+                    stmt.setInt(6, random.nextInt(20) == 0 ? 0 : random.nextInt(200));
+                    stmt.setString(7, "Generated book " + i + " (seed " + options.seed + ")");
+                    stmt.setString(8, bookReferences[i]);
+                    stmt.setString(9, bookReferences[i]);
+                    stmt.setTimestamp(10, Timestamp.valueOf(randomMoment()));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    for (int i = from; keys.next(); i++) {
+                        bookIds[i] = keys.getInt(1);
+                    }
+                }
+                conn.commit();
+            }
+            synchronized (LOCK) {
+                progress.books = to;
+            }
+        }
+    }
+    
+    private void insertBills() throws SQLException {
+        phase("bills");
+        if (options.bills == 0 || bookIds.length == 0 || cashierIds.length == 0) {
+            return;
+        }
+        Zipf bookPopularity = new Zipf(bookIds.length, BOOK_POPULARITY_SKEW, random);
+        Zipf cashierActivity = new Zipf(cashierIds.length, CASHIER_SKEW, random);
+        int[] billsPerDay = billsPerDay();
+        
+        String billSql = "INSERT INTO bills (bill_no, cashier_id, cashier_name, subtotal, tax_amount, total_amount, " +
+                        "payment_method, payment_status, bill_date, bill_time, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO bill_items (bill_id, book_id, book_title, book_reference, unit_price, " +
+                        "quantity, total_price, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        LocalDate firstDay = LocalDate.now().minusDays(options.days - 1L);
+        List<LocalDateTime> pending = new ArrayList<>();
+        int billNo = 0;
+        long items = 0;
+        
+        for (int day = 0; day < options.days; day++) {
+            LocalDateTime[] times = new LocalDateTime[billsPerDay[day]];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = firstDay.plusDays(day).atTime(weightedHour(), random.nextInt(60), random.nextInt(60));
+            }
+            Arrays.sort(times);
+            pending.addAll(Arrays.asList(times));
+            
+            boolean lastDay = day == options.days - 1;
+            while (pending.size() >= options.batchSize || (lastDay && !pending.isEmpty())) {
+                List<LocalDateTime> batch = pending.subList(0, Math.min(options.batchSize, pending.size()));
+                try (Connection conn = connection();
+                     PreparedStatement billStmt = conn.prepareStatement(billSql, Statement.RETURN_GENERATED_KEYS);
+                     PreparedStatement itemStmt = conn.prepareStatement(itemSql)) {
+                    conn.setAutoCommit(false);
+                    List<int[]> lines = new ArrayList<>();   // {bill index in batch, book index, quantity}
+                    
+                    for (int b = 0; b < batch.size(); b++) {
+                        LocalDateTime time = batch.get(b);
+                        int cashier = cashierActivity.next();
+                        int itemCount = Math.min(options.maxItemsPerBill, 1 + geometric(0.45));
+                        BigDecimal subtotal = BigDecimal.ZERO;
+                        for (int n = 0; n < itemCount; n++) {
+                            int book = bookPopularity.next();
+                            int quantity = quantity();
+                            lines.add(new int[] {b, book, quantity});
+                            subtotal = subtotal.add(bookPrices[book].multiply(BigDecimal.valueOf(quantity)));
+                        }
+                        BigDecimal tax = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+                        
+                        billStmt.setString(1, String.format("G%s-%09d", tag, billNo++));
+                        billStmt.setInt(2, cashierIds[cashier]);
+                        billStmt.setString(3, cashierNames[cashier]);
+                        billStmt.setBigDecimal(4, subtotal);
+                        billStmt.setBigDecimal(5, tax);
+                        billStmt.setBigDecimal(6, subtotal.add(tax));
+                        billStmt.setString(7, random.nextInt(10) < 7 ? Bill.PAYMENT_CASH : Bill.PAYMENT_CARD);
+                        billStmt.setString(8, random.nextInt(50) == 0 ? Bill.STATUS_CANCELLED : Bill.STATUS_COMPLETED);
+                        billStmt.setDate(9, Date.valueOf(time.toLocalDate()));
+                        billStmt.setTime(10, Time.valueOf(time.toLocalTime()));
+                        billStmt.setTimestamp(11, Timestamp.valueOf(time));
+                        billStmt.addBatch();
+                    }
+                    billStmt.executeBatch();
+                    
+                    int[] billIds = new int[batch.size()];
+                    try (ResultSet keys = billStmt.getGeneratedKeys()) {
+                        for (int b = 0; keys.next(); b++) {
+                            billIds[b] = keys.getInt(1);
+                        }
+                    }
+                    
+                    for (int[] line : lines) {
+                        int book = line[1];
+                        itemStmt.setInt(1, billIds[line[0]]);
+                        itemStmt.setInt(2, bookIds[book]);
+                        itemStmt.setString(3, bookTitles[book]);
+                        itemStmt.setString(4, bookReferences[book]);
+                        itemStmt.setBigDecimal(5, bookPrices[book]);
+                        itemStmt.setInt(6, line[2]);
+                        itemStmt.setBigDecimal(7, bookPrices[book].multiply(BigDecimal.valueOf(line[2])));
+                        itemStmt.setTimestamp(8, Timestamp.valueOf(batch.get(line[0])));
+                        itemStmt.addBatch();
+                    }
+                    itemStmt.executeBatch();
+                    conn.commit();
+                    items += lines.size();
+                }
+                
+                batch.clear();
+                synchronized (LOCK) {
+                    progress.bills = billNo;
+                    progress.billItems = items;
+                }
+            }
+        }
+    }
+    
+    // Spread the bills over the days: weekends busier, volume growing towards today
+    private int[] billsPerDay() {
+        LocalDate firstDay = LocalDate.now().minusDays(options.days - 1L);
+        double[] weights = new double[options.days];
+        double total = 0;
+        for (int day = 0; day < options.days; day++) {
+            int weekday = firstDay.plusDays(day).getDayOfWeek().getValue();
+            weights[day] = (weekday >= 6 ? 1.3 : 1.0) * (1 + 0.5 * day / options.days);
+            total += weights[day];
+        }
+        
+        int[] counts = new int[options.days];
+        int assigned = 0;
+        for (int day = 0; day < options.days; day++) {
+            counts[day] = (int) (options.bills * weights[day] / total);
+            assigned += counts[day];
+        }
+        counts[options.days - 1] += options.bills - assigned;
+        return counts;
+    }
+    
+    private int weightedHour() {
+        double total = 0;
+        for (double weight : HOUR_WEIGHTS) {
+            total += weight;
+        }
+        double target = random.nextDouble() * total;
+        for (int hour = 0; hour < HOUR_WEIGHTS.length; hour++) {
+            target -= HOUR_WEIGHTS[hour];
+            if (target < 0) {
+                return hour;
+            }
+        }
+        return 12;
+    }
+    
+    private String title(int i) {
+        if (random.nextInt(3) == 0) {
+            return "The " + pick(ADJECTIVES) + " " + pick(NOUNS) + (random.nextBoolean() ? "" : " " + (2 + i % 4));
+        }
+        return pick(SUBJECTS) + " " + pick(FORMS) + " Grade " + (6 + random.nextInt(8)) + " Vol. " + (1 + i % 9);
+    }
+    
+    private String email(int i) {
+        return userEmail(options.seed, i);
+    }
+    
+    /**
+     * E-mail of a generated user; users 0 .. cashiers-1 are the cashiers
+     * (LoadTest logs in as them, password LocalDatabase.LOCAL_PASSWORD)
+     * @param seed Seed the data was generated with
+     * @param i User number
+     * @return E-mail address
+     */
+    public static String userEmail(long seed, int i) {
+        return "user" + i + ".s" + Long.toString(seed, 36).toLowerCase(Locale.ROOT) + "@load.test";
+    }
+    
+    private LocalDateTime randomMoment() {
+        return LocalDateTime.now().minusSeconds(random.nextLong(options.days * 24L * 60 * 60));
+    }
+    
+    private int quantity() {
+        int roll = random.nextInt(100);
+        return roll < 80 ? 1 : roll < 95 ? 2 : 3;
+    }
+    
+    private int geometric(double p) {
+        int failures = 0;
+        while (random.nextDouble() >= p) {
+            failures++;
+        }
+        return failures;
+    }
+    
+    private double gaussian() {
+        // Box-Muller - SplittableRandom has no nextGaussian
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+    
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private void phase(String phase) {
+        LOG.info("🏭 Generating {}...", phase);
+        synchronized (LOCK) {
+            progress.phase = phase;
+        }
+    }
+    
+    private static Connection connection() throws SQLException {
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            throw new SQLException("Database not reachable: " + DatabaseConnection.getUrl());
+        }
+        return conn;
+    }
+    
+    // Zipf-distributed ranks 0..n-1, mapped through a seeded shuffle so the popular items are spread out
+    private static final class Zipf {
+        private final double[] cumulative;
+        private final int[] itemAtRank;
+        private final SplittableRandom random;
+        
+        Zipf(int n, double skew, SplittableRandom random) {
+            this.random = random;
+            cumulative = new double[n];
+            itemAtRank = new int[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+                itemAtRank[rank] = rank;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = itemAtRank[i];
+                itemAtRank[i] = itemAtRank[j];
+                itemAtRank[j] = swap;
+            }
+        }
+        
+        int next() {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            return itemAtRank[Math.min(rank < 0 ? -rank - 1 : rank, cumulative.length - 1)];
+        }
+    }
+    
+    // What to generate
+    public static class Options {
+        public long seed = 42;
+        public int users = 5000;
+        public int cashiers = 50;
+        public int books = 100_000;
+        public int bills = 1_000_000;
+        public int days = 365;
+        public int maxItemsPerBill = 8;
+        public int batchSize = 1000;
+        
+        /**
+         * Set an option by name (command line --name=value, admin request parameters)
+         * @throws IllegalArgumentException for unknown names or values out of range
+         */
+        public void set(String name, String value) {
+            long number = Long.parseLong(value.trim());
+            if (!"seed".equals(name) && (number < 0 || number > Integer.MAX_VALUE)) {
+                throw new IllegalArgumentException(name + " out of range: " + value);
+            }
+            switch (name) {
+                case "seed": seed = number; break;
+                case "users": users = (int) number; break;
+                case "cashiers": cashiers = (int) number; break;
+                case "books": books = (int) number; break;
+                case "bills": bills = (int) number; break;
+                case "days": days = Math.max(1, (int) number); break;
+                case "maxItemsPerBill": maxItemsPerBill = Math.max(1, (int) number); break;
+                case "batchSize": batchSize = Math.max(1, (int) number); break;
+                default: throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+    }
+    
+    // Rows written so far by the current or last run
+    public static class Progress {
+        public boolean running;
+        public String phase = "idle";
+        public long seed;
+        public long users;
+        public long books;
+        public long bills;
+        public long billItems;
+        public long tookMs;
+        public String error;
+        
+        Progress copy() {
+            Progress copy = new Progress();
+            copy.running = running;
+            copy.phase = phase;
+            copy.seed = seed;
+            copy.users = users;
+            copy.books = books;
+            copy.bills = bills;
+            copy.billItems = billItems;
+            copy.tookMs = tookMs;
+            copy.error = error;
+            return copy;
+        }
+    }
+}
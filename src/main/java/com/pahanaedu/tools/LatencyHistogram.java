@@ -0,0 +1,87 @@
+// File: src/main/java/com/pahanaedu/tools/LatencyHistogram.java
+package com.pahanaedu.tools;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with HdrHistogram-style log-linear buckets: exact below
+ * 128 µs, then 64 buckets per power of two, so every percentile is within 1.6% of the
+ * recorded value at any scale. Fixed memory (about 16 KB), lock-free recording.
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+    private static final long MAX_MICROS = (1L << 36) - 1;     // ~19 hours
+    private static final int BUCKETS = index(MAX_MICROS) + 1;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private volatile long maxMicros;
+    
+    /**
+     * Record one latency
+     * @param micros Latency in microseconds (clamped to 0..~19 h)
+     */
+    public void record(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_MICROS));
+        counts.incrementAndGet(index(value));
+        total.increment();
+        sumMicros.add(value);
+        if (value > maxMicros) {
+            synchronized (this) {
+                maxMicros = Math.max(maxMicros, value);
+            }
+        }
+    }
+    
+    public long getCount() {
+        return total.sum();
+    }
+    
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+    
+    public double getMeanMicros() {
+        long count = total.sum();
+        return count == 0 ? 0 : (double) sumMicros.sum() / count;
+    }
+    
+    /**
+     * Get a percentile
+     * @param percentile 0-100, e.g. 99.9
+     * @return Highest latency of the bucket holding that percentile (microseconds), 0 if empty
+     */
+    public long getPercentileMicros(double percentile) {
+        long count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+    
+    private static int index(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return shift == 0 ? (int) value : shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+    
+    private static long highestEquivalent(int index) {
+        if (index < 2 * HALF_SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+}
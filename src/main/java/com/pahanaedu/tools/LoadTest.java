@@ -0,0 +1,445 @@
+// File: src/main/java/com/pahanaedu/tools/LoadTest.java
+package com.pahanaedu.tools;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * HTTP load generator for checkout peaks, driving the real endpoints of a running
+ * webapp (typically Tomcat on the local database profile, filled by DataGenerator).
+ *
+ * Cashier sessions log in once and then run checkouts: a few /productSearch?reference=
+ * scans, a createBill with the scanned books and sometimes a getHistory. Admin sessions
+ * poll getStats and getBooks. Checkouts and admin requests arrive as Poisson processes
+ * at the configured rates (open model), so a slow server builds a queue instead of
+ * silently lowering the load; "checkout (from arrival)" includes that queueing time.
+ *
+ *   java -cp WEB-INF/classes:WEB-INF/lib/* com.pahanaedu.tools.LoadTest \
+ *       --baseUrl=http://localhost:8080/Pahanaedu --cashiers=40 --checkoutsPerSecond=20 --duration=120
+ *
+ * Reports throughput, errors and latency percentiles per endpoint every 10 seconds and
+ * at the end. Books run out of stock under long runs - regenerate or reset stock between runs.
+ * Cashier sessions log in as the cashier accounts DataGenerator created for --dataSeed
+ * (one session per account, so the per-account login throttle is never hit); without
+ * generated data they share a single login as --cashierEmail. A throttled login (429)
+ * is retried after its Retry-After.
+ */
+public class LoadTest {
+    
+    private static final String CHECKOUT = "checkout (from arrival)";
+    private static final int REFERENCE_PAGES = 5;
+    private static final int REPORT_INTERVAL_SECONDS = 10;
+    
+    private final Options options;
+    private final HttpClient client;
+    private final ExecutorService workers;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final List<String> references = new ArrayList<>();
+    private final List<String> cashierSessions = new ArrayList<>();
+    private final List<String> adminSessions = new ArrayList<>();
+    private final AtomicInteger nextCashier = new AtomicInteger();
+    private final AtomicInteger nextAdmin = new AtomicInteger();
+    private volatile boolean recording;
+    
+    private LoadTest(Options options) {
+        this.options = options;
+        this.workers = Executors.newFixedThreadPool(options.threads);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (String endpoint : new String[] {"login", "productSearch", "createBill", "getHistory",
+                                             "admin getStats", "admin getBooks", "admin getBooksPage", CHECKOUT}) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        Options options = new Options();
+        try {
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("expected --name=value");
+                }
+                options.set(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println("Options: --baseUrl --duration --warmup --cashiers --checkoutsPerSecond --scansPerCheckout " +
+                               "--historyRatio --admins --adminRequestsPerSecond --booksRatio --threads --seed " +
+                               "--dataSeed --generatedCashiers --cashierEmail --adminEmail --password");
+            System.exit(1);
+        }
+        
+        LoadTest test = new LoadTest(options);
+        int exitCode = 0;
+        try {
+            test.run();
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("❌ Load test aborted: " + e.getMessage());
+            exitCode = 2;
+        } finally {
+            test.workers.shutdownNow();
+        }
+        System.exit(exitCode);
+    }
+    
+    private void run() throws IOException, InterruptedException {
+        System.out.println("🚦 Load test against " + options.baseUrl + ": " + options.cashiers + " cashiers at " +
+                           options.checkoutsPerSecond + " checkouts/s, " + options.admins + " admins at " +
+                           options.adminRequestsPerSecond + " req/s, " + options.duration + " s after " +
+                           options.warmup + " s warm-up");
+        
+        recording = true;
+        loginCashiers();
+        // Admin requests share one session
+        adminSessions.add(login(options.adminEmail));
+        loadReferences();
+        recording = false;
+        
+        long startNanos = System.nanoTime();
+        long warmupEnd = startNanos + TimeUnit.SECONDS.toNanos(options.warmup);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.duration);
+        
+        List<Thread> generators = new ArrayList<>();
+        if (options.cashiers > 0 && options.checkoutsPerSecond > 0) {
+            generators.add(arrivals("checkouts", options.checkoutsPerSecond, end, options.seed, this::checkout));
+        }
+        if (options.admins > 0 && options.adminRequestsPerSecond > 0) {
+            generators.add(arrivals("admin", options.adminRequestsPerSecond, end, options.seed + 1, this::adminRequest));
+        }
+        
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(warmupEnd - startNanos));
+        recording = true;
+        long measuredFrom = System.nanoTime();
+        while (System.nanoTime() < end) {
+            Thread.sleep(Math.min(TimeUnit.SECONDS.toMillis(REPORT_INTERVAL_SECONDS),
+                                  Math.max(1, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+            report((System.nanoTime() - measuredFrom) / 1e9, false);
+        }
+        for (Thread generator : generators) {
+            generator.join();
+        }
+        // Let in-flight requests finish so the tail is not cut off
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        recording = false;
+        report(options.duration, true);
+    }
+    
+    // Poisson arrivals: exponential gaps, each arrival handed to the worker pool with its intended start time
+    private Thread arrivals(String name, double perSecond, long endNanos, long seed, Arrival task) {
+        Thread generator = new Thread(() -> {
+            SplittableRandom random = new SplittableRandom(seed);
+            long next = System.nanoTime();
+            while (next < endNanos) {
+                next += (long) (-Math.log(1 - random.nextDouble()) / perSecond * 1e9);
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                long intendedStart = next;
+                long taskSeed = random.nextLong();
+                workers.execute(() -> task.run(intendedStart, new SplittableRandom(taskSeed)));
+            }
+        }, "load-" + name);
+        generator.start();
+        return generator;
+    }
+    
+    private void checkout(long intendedStart, SplittableRandom random) {
+        String session = cashierSessions.get(Math.floorMod(nextCashier.getAndIncrement(), cashierSessions.size()));
+        int scans = 1 + random.nextInt(Math.max(1, 2 * options.scansPerCheckout - 1));
+        JsonArray items = new JsonArray();
+        boolean ok = true;
+        
+        for (int i = 0; i < scans; i++) {
+            JsonObject response = call("productSearch", session,
+                    get("productSearch?reference=" + encode(pickReference(random))));
+            if (response != null && response.has("data") && response.get("data").isJsonObject()) {
+                JsonObject book = response.getAsJsonObject("data");
+                if (book.get("stock").getAsInt() > 0) {
+                    JsonObject item = new JsonObject();
+                    item.add("id", book.get("id"));
+                    item.add("title", book.get("title"));
+                    item.add("referenceNo", book.get("referenceNo"));
+                    item.add("price", book.get("price"));
+                    item.addProperty("quantity", 1);
+                    items.add(item);
+                }
+            } else {
+                ok = false;
+            }
+        }
+        
+        if (items.size() > 0) {
+            String form = "action=createBill&paymentMethod=" + (random.nextInt(10) < 7 ? "CASH" : "CARD") +
+                          "&items=" + encode(items.toString());
+            ok &= call("createBill", session, post("bills", form)) != null;
+        }
+        if (random.nextDouble() < options.historyRatio) {
+            ok &= call("getHistory", session, get("bills?action=getHistory")) != null;
+        }
+        
+        EndpointStats checkout = stats.get(CHECKOUT);
+        if (recording) {
+            checkout.latency.record((System.nanoTime() - intendedStart) / 1000);
+            (ok ? checkout.ok : checkout.errors).increment();
+        }
+    }
+    
+    private void adminRequest(long intendedStart, SplittableRandom random) {
+        String session = adminSessions.get(Math.floorMod(nextAdmin.getAndIncrement(), adminSessions.size()));
+        if (random.nextDouble() < options.booksRatio) {
+            call("admin getBooks", session, get("admin?action=getBooks"));
+        } else {
+            call("admin getStats", session, get("admin?action=getStats"));
+        }
+    }
+    
+    // Popular books are scanned far more often: squaring skews towards the head of the list
+    private String pickReference(SplittableRandom random) {
+        double u = random.nextDouble();
+        return references.get((int) (u * u * references.size()));
+    }
+    
+    // One session per generated cashier account; checkouts round-robin over the sessions
+    private void loginCashiers() throws IOException {
+        for (int i = 0; i < options.generatedCashiers && cashierSessions.size() < options.cashiers; i++) {
+            String session = tryLogin(DataGenerator.userEmail(options.dataSeed, i));
+            if (session != null) {
+                cashierSessions.add(session);
+            }
+        }
+        if (cashierSessions.isEmpty()) {
+            cashierSessions.add(login(options.cashierEmail));
+        }
+        if (cashierSessions.size() < options.cashiers) {
+            System.out.println("ℹ️ " + cashierSessions.size() + " cashier account(s) available - " +
+                               options.cashiers + " cashiers share their sessions");
+        }
+    }
+    
+    private String login(String email) throws IOException {
+        String session = tryLogin(email);
+        if (session == null) {
+            throw new IllegalStateException("Login as " + email + " was refused - is the database seeded?");
+        }
+        return session;
+    }
+    
+    // Session cookie, or null when the account does not exist or is inactive (401/403)
+    private String tryLogin(String email) throws IOException {
+        String form = "email=" + encode(email) + "&password=" + encode(options.password);
+        try {
+            while (true) {
+                long started = System.nanoTime();
+                HttpResponse<String> response = client.send(post("login", form).build(), HttpResponse.BodyHandlers.ofString());
+                int status = response.statusCode();
+                if (status == 429) {
+                    long retryAfter = response.headers().firstValueAsLong("retry-after").orElse(1);
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(Math.max(1, retryAfter)));
+                    continue;
+                }
+                if (status == 401 || status == 403) {
+                    return null;
+                }
+                record("login", started, status == 200 && response.body().contains("\"success\": true"));
+                if (status != 200) {
+                    throw new IllegalStateException("Login as " + email + " failed (" + status + "): " + response.body());
+                }
+                for (String cookie : response.headers().allValues("set-cookie")) {
+                    if (cookie.startsWith("JSESSIONID=")) {
+                        return cookie.substring(0, cookie.indexOf(';') > 0 ? cookie.indexOf(';') : cookie.length());
+                    }
+                }
+                throw new IllegalStateException("Login as " + email + " returned no session cookie");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during login", e);
+        }
+    }
+    
+    // Scan targets: reference numbers of the first pages of the catalog
+    private void loadReferences() throws IOException {
+        String cursor = null;
+        for (int page = 0; page < REFERENCE_PAGES; page++) {
+            String path = "admin?action=getBooksPage&limit=200" + (cursor != null ? "&cursor=" + encode(cursor) : "");
+            JsonObject response = call("admin getBooksPage", adminSessions.get(0), get(path));
+            if (response == null) {
+                break;
+            }
+            for (JsonElement book : response.getAsJsonArray("items")) {
+                JsonElement reference = book.getAsJsonObject().get("referenceNo");
+                if (reference != null && !reference.isJsonNull()) {
+                    references.add(reference.getAsString());
+                }
+            }
+            JsonElement next = response.get("nextCursor");
+            if (next == null || next.isJsonNull()) {
+                break;
+            }
+            cursor = next.getAsString();
+        }
+        if (references.isEmpty()) {
+            throw new IllegalStateException("No books with reference numbers - run LocalDatabase/DataGenerator first");
+        }
+        System.out.println("📚 Scanning " + references.size() + " reference numbers");
+    }
+    
+    // Send a request, record its latency; returns the JSON object, or null on any failure
+    private JsonObject call(String endpoint, String session, HttpRequest.Builder request) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.header("Cookie", session).build(),
+                                                         HttpResponse.BodyHandlers.ofString());
+            JsonObject body = null;
+            if (response.statusCode() == 200) {
+                JsonElement json = JsonParser.parseString(response.body());
+                if (json.isJsonObject() && !(json.getAsJsonObject().has("success")
+                        && !json.getAsJsonObject().get("success").getAsBoolean())) {
+                    body = json.getAsJsonObject();
+                } else if (json.isJsonArray()) {
+                    body = new JsonObject();
+                }
+            }
+            record(endpoint, started, body != null);
+            return body;
+        } catch (IOException | RuntimeException e) {
+            record(endpoint, started, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+    
+    private void record(String endpoint, long startedNanos, boolean ok) {
+        if (!recording) {
+            return;
+        }
+        EndpointStats endpointStats = stats.get(endpoint);
+        endpointStats.latency.record((System.nanoTime() - startedNanos) / 1000);
+        (ok ? endpointStats.ok : endpointStats.errors).increment();
+    }
+    
+    private void report(double seconds, boolean last) {
+        System.out.println(last ? "\n📊 Final results (" + (long) seconds + " s)" : "\n📊 After " + (long) seconds + " s");
+        System.out.println(String.format("%-24s %9s %7s %9s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            LatencyHistogram latency = endpointStats.latency;
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            System.out.println(String.format("%-24s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    entry.getKey(), latency.getCount(), endpointStats.errors.sum(), latency.getCount() / seconds,
+                    latency.getPercentileMicros(50) / 1000.0, latency.getPercentileMicros(90) / 1000.0,
+                    latency.getPercentileMicros(99) / 1000.0, latency.getPercentileMicros(99.9) / 1000.0,
+                    latency.getMaxMicros() / 1000.0));
+        }
+    }
+    
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET();
+    }
+    
+    private HttpRequest.Builder post(String path, String form) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+    }
+    
+    private URI uri(String path) {
+        return URI.create(options.baseUrl.endsWith("/") ? options.baseUrl + path : options.baseUrl + "/" + path);
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+    
+    private interface Arrival {
+        void run(long intendedStartNanos, SplittableRandom random);
+    }
+    
+    private static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder ok = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+    
+    // Load profile
+    public static class Options {
+        public String baseUrl = "http://localhost:8080/Pahanaedu";
+        public int duration = 60;                   // measured seconds
+        public int warmup = 15;                     // seconds before recording starts
+        public int cashiers = 20;                   // simulated cashiers (at most one session per account)
+        public double checkoutsPerSecond = 10;
+        public int scansPerCheckout = 3;            // mean; actual 1..2n-1
+        public double historyRatio = 0.1;           // checkouts followed by getHistory
+        public int admins = 2;
+        public double adminRequestsPerSecond = 1;
+        public double booksRatio = 0.2;             // admin requests that load the full book list
+        public int threads = 64;
+        public long seed = 42;
+        public long dataSeed = 42;                  // DataGenerator seed whose cashier accounts log in
+        public int generatedCashiers = 50;          // DataGenerator --cashiers
+        public String cashierEmail = LocalDatabase.CASHIER_EMAIL;   // fallback without generated data
+        public String adminEmail = LocalDatabase.ADMIN_EMAIL;
+        public String password = LocalDatabase.LOCAL_PASSWORD;
+        
+        /**
+         * Set an option by name (command line --name=value)
+         * @throws IllegalArgumentException for unknown names or malformed numbers
+         */
+        public void set(String name, String value) {
+            switch (name) {
+                case "baseUrl": baseUrl = value; break;
+                case "duration": duration = Integer.parseInt(value); break;
+                case "warmup": warmup = Integer.parseInt(value); break;
+                case "cashiers": cashiers = Integer.parseInt(value); break;
+                case "checkoutsPerSecond": checkoutsPerSecond = Double.parseDouble(value); break;
+                case "scansPerCheckout": scansPerCheckout = Math.max(1, Integer.parseInt(value)); break;
+                case "historyRatio": historyRatio = Double.parseDouble(value); break;
+                case "admins": admins = Integer.parseInt(value); break;
+                case "adminRequestsPerSecond": adminRequestsPerSecond = Double.parseDouble(value); break;
+                case "booksRatio": booksRatio = Double.parseDouble(value); break;
+                case "threads": threads = Math.max(1, Integer.parseInt(value)); break;
+                case "seed": seed = Long.parseLong(value); break;
+                case "dataSeed": dataSeed = Long.parseLong(value); break;
+                case "generatedCashiers": generatedCashiers = Integer.parseInt(value); break;
+                case "cashierEmail": cashierEmail = value; break;
+                case "adminEmail": adminEmail = value; break;
+                case "password": password = value; break;
+                default: throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+    }
+}
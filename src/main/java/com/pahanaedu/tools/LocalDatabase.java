@@ -0,0 +1,102 @@
+// File: src/main/java/com/pahanaedu/tools/LocalDatabase.java
+package com.pahanaedu.tools;
+
+import java.sql.SQLException;
+
+import com.pahanaedu.dao.BookDAO;
+import com.pahanaedu.dao.CategoryDAO;
+import com.pahanaedu.dao.UserDAO;
+import com.pahanaedu.db.SchemaMigrator;
+import com.pahanaedu.models.Category;
+import com.pahanaedu.models.User;
+import com.pahanaedu.utils.DatabaseConnection;
+import com.pahanaedu.utils.Logger;
+
+/**
+ * Prepares a throwaway database for DAO benchmarks, load tests and local runs:
+ * applies the schema migrations and seeds login accounts, categories and sample books.
+ *
+ * Seeding is idempotent - existing accounts, categories and books are left alone.
+ * Only runs against the local profile unless --force is given, so it cannot seed a
+ * shared database by accident:
+ *
+ *   scripts/local-mysql.sh start
+ *   java -Dpahanaedu.db.profile=local -cp ... com.pahanaedu.tools.LocalDatabase
+ */
+public class LocalDatabase {
+    
+    private static final Logger LOG = Logger.get(LocalDatabase.class);
+    
+    // Accounts for the load tests; the passwords are public, so never seed them anywhere shared
+    public static final String ADMIN_EMAIL = "admin@local.test";
+    public static final String CASHIER_EMAIL = "cashier@local.test";
+    public static final String LOCAL_PASSWORD = "local-only";
+    
+    private static final String[] CATEGORIES = {
+        "School Textbooks", "Advanced Level", "Fiction", "Children", "Reference", "Stationery"
+    };
+    
+    private LocalDatabase() {
+    }
+    
+    public static void main(String[] args) {
+        boolean force = args.length > 0 && "--force".equals(args[0]);
+        int exitCode = 0;
+        
+        try {
+            if (!force && !DatabaseConnection.PROFILE_LOCAL.equals(DatabaseConnection.getProfile())) {
+                LOG.error("❌ Refusing to seed {} - run with -Dpahanaedu.db.profile=local or pass --force",
+                          DatabaseConnection.getUrl());
+                exitCode = 1;
+            } else {
+                prepare();
+            }
+        } catch (SQLException e) {
+            LOG.error("❌ Local database setup failed: {}", e.getMessage());
+            exitCode = 2;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+        System.exit(exitCode);
+    }
+    
+    /**
+     * Migrate the schema and seed the baseline data
+     * @throws SQLException if the database is unreachable or a migration fails
+     */
+    public static void prepare() throws SQLException {
+        SchemaMigrator.MigrationResult result = SchemaMigrator.migrate();
+        if (result == null) {
+            throw new SQLException("Database not reachable: " + DatabaseConnection.getUrl());
+        }
+        LOG.info("✅ Schema at version {}", result.currentVersion);
+        
+        seedUser("Local", "Admin", ADMIN_EMAIL, User.ROLE_ADMIN);
+        seedUser("Local", "Cashier", CASHIER_EMAIL, User.ROLE_CASHIER);
+        
+        CategoryDAO categoryDAO = new CategoryDAO();
+        for (String name : CATEGORIES) {
+            if (!categoryDAO.categoryNameExists(name)) {
+                Category category = new Category();
+                category.setName(name);
+                category.setDescription("Seeded for local testing");
+                category.setStatus("active");
+                categoryDAO.createCategoryAndGetId(category);
+            }
+        }
+        
+        BookDAO bookDAO = new BookDAO();
+        if (bookDAO.getAllReferenceNumbers().isEmpty()) {
+            bookDAO.createSampleBooksWithReferences();
+        }
+        LOG.info("✅ Local database ready - log in as {} / {} with password {}",
+                 ADMIN_EMAIL, CASHIER_EMAIL, LOCAL_PASSWORD);
+    }
+    
+    private static void seedUser(String firstName, String lastName, String email, String role) {
+        UserDAO userDAO = new UserDAO();
+        if (!userDAO.emailExists(email)) {
+            userDAO.createUserByAdmin(new User(firstName, lastName, null, email, LOCAL_PASSWORD, role, User.STATUS_ACTIVE));
+        }
+    }
+}
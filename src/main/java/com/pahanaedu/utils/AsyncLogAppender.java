@@ -0,0 +1,325 @@
+// File: src/main/java/com/pahanaedu/utils/AsyncLogAppender.java
+package com.pahanaedu.utils;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer ring buffer drained by one daemon writer thread.
+ *
+ * Slots are preallocated and reused: a producer claims a sequence number with one CAS,
+ * copies references into the slot and publishes it; the writer formats a batch of
+ * events as logfmt lines (ts, level, thread, logger, msg, error) and hands each stream
+ * one write per batch. When the buffer is full the event is dropped and counted rather
+ * than blocking the request thread; the writer reports the drops.
+ *
+ * DEBUG and INFO go to stdout, WARN and ERROR to stderr (both end up in catalina.out).
+ */
+final class AsyncLogAppender {
+    
+    static final AsyncLogAppender INSTANCE = new AsyncLogAppender(bufferSize());
+    
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long IDLE_PARK_NANOS = 10_000_000L;     // Writer re-checks at least every 10 ms
+    private static final int MAX_BATCH = 256;
+    
+    private final Event[] slots;
+    // Per slot: index + n * capacity when free for the producer of that lap, + 1 once published
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;                                          // Writer thread only
+    
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;                               // Writer thread only
+    
+    private final StringBuilder outBatch = new StringBuilder(16 * 1024);
+    private final StringBuilder errBatch = new StringBuilder(4 * 1024);
+    
+    private final Thread writer;
+    private final Thread shutdownHook;
+    private volatile boolean writerParked;
+    private volatile boolean running = true;
+    
+    private AsyncLogAppender(int capacity) {
+        slots = new Event[capacity];
+        sequences = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Event();
+            sequences.set(i, i);
+        }
+        
+        writer = new Thread(this::drainLoop, "pahanaedu-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        
+        // Command-line tools exit without a context listener; flush what they logged
+        shutdownHook = new Thread(this::stopWriter, "pahanaedu-log-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+    
+    void append(Logger.Level level, String logger, String template, Object arg1, Object arg2, Object arg3,
+                int argCount, Object[] args, Throwable thrown) {
+        if (!running) {
+            // After shutdown (late calls while the webapp stops): write synchronously
+            Event event = new Event();
+            event.set(System.currentTimeMillis(), level, logger, Thread.currentThread().getName(),
+                      template, arg1, arg2, arg3, argCount, args, thrown);
+            synchronized (this) {
+                format(event, event.level.ordinal() >= Logger.Level.WARN.ordinal() ? errBatch : outBatch);
+                flush();
+            }
+            return;
+        }
+        
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index].set(System.currentTimeMillis(), level, logger, Thread.currentThread().getName(),
+                                     template, arg1, arg2, arg3, argCount, args, thrown);
+                    sequences.set(index, position + 1);
+                    break;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                // Writer is a full lap behind
+                dropped.increment();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+        
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+    
+    long getDropped() {
+        return dropped.sum();
+    }
+    
+    void shutdown() {
+        stopWriter();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM is already shutting down and runs the hook itself
+        }
+    }
+    
+    private void stopWriter() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void drainLoop() {
+        while (true) {
+            int drained = drainBatch();
+            if (drained > 0) {
+                continue;
+            }
+            if (!running) {
+                // Producers that claimed a slot just before the flag flipped publish within microseconds
+                LockSupport.parkNanos(1_000_000L);
+                drainBatch();
+                return;
+            }
+            writerParked = true;
+            if (!hasPublished()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+    }
+    
+    private boolean hasPublished() {
+        return sequences.get((int) (head & mask)) == head + 1;
+    }
+    
+    // Format up to MAX_BATCH published events, then write them out in one call per stream
+    private int drainBatch() {
+        int drained = 0;
+        synchronized (this) {
+            while (drained < MAX_BATCH && hasPublished()) {
+                int index = (int) (head & mask);
+                Event event = slots[index];
+                format(event, event.level.ordinal() >= Logger.Level.WARN.ordinal() ? errBatch : outBatch);
+                event.clear();
+                sequences.set(index, head + slots.length);
+                head++;
+                drained++;
+            }
+            
+            long droppedNow = dropped.sum();
+            if (droppedNow != droppedReported) {
+                Event notice = new Event();
+                notice.set(System.currentTimeMillis(), Logger.Level.WARN, "AsyncLogAppender",
+                           writer.getName(), "⚠️ {} log event(s) dropped - buffer full", droppedNow - droppedReported,
+                           null, null, 1, null, null);
+                format(notice, errBatch);
+                droppedReported = droppedNow;
+            }
+            flush();
+        }
+        return drained;
+    }
+    
+    private void flush() {
+        if (outBatch.length() > 0) {
+            PrintStream out = System.out;
+            out.print(outBatch);
+            out.flush();
+            outBatch.setLength(0);
+        }
+        if (errBatch.length() > 0) {
+            PrintStream err = System.err;
+            err.print(errBatch);
+            err.flush();
+            errBatch.setLength(0);
+        }
+    }
+    
+    // ts=... level=INFO thread=... logger=BookDAO msg="..." [error="..."] followed by the stack trace
+    private static void format(Event event, StringBuilder line) {
+        line.append("ts=").append(Instant.ofEpochMilli(event.timestamp))
+            .append(" level=").append(event.level.name())
+            .append(" thread=");
+        appendValue(line, event.thread);
+        line.append(" logger=").append(event.logger).append(" msg=");
+        
+        StringBuilder message = new StringBuilder(event.template != null ? event.template.length() + 32 : 8);
+        appendMessage(message, event);
+        appendValue(line, message);
+        
+        if (event.thrown != null) {
+            line.append(" error=");
+            appendValue(line, event.thrown.toString());
+            line.append('\n');
+            StringWriter trace = new StringWriter();
+            event.thrown.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        } else {
+            line.append('\n');
+        }
+    }
+    
+    private static void appendMessage(StringBuilder message, Event event) {
+        String template = event.template;
+        if (template == null) {
+            message.append("null");
+            return;
+        }
+        int from = 0;
+        for (int i = 0; i < event.argCount; i++) {
+            int placeholder = template.indexOf("{}", from);
+            if (placeholder < 0) {
+                break;
+            }
+            message.append(template, from, placeholder).append(String.valueOf(event.arg(i)));
+            from = placeholder + 2;
+        }
+        message.append(template, from, template.length());
+    }
+    
+    // Bare when the value needs no quoting, otherwise double-quoted with \" \\ \n escapes
+    private static void appendValue(StringBuilder line, CharSequence value) {
+        boolean quote = value.length() == 0;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c <= ' ' || c == '"' || c == '=' || c == '\\';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else if (c == '\r') {
+                line.append("\\r");
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+    
+    private static int bufferSize() {
+        int size = DEFAULT_BUFFER_SIZE;
+        String value = System.getProperty("pahanaedu.log.bufferSize");
+        if (value != null) {
+            try {
+                size = Math.max(64, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("⚠️ Invalid pahanaedu.log.bufferSize '" + value + "' - using " + DEFAULT_BUFFER_SIZE);
+            }
+        }
+        // Round up to a power of two so a slot index is sequence & mask
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+    
+    // One ring buffer slot; fields are written by the producer before publishing and cleared by the writer
+    private static final class Event {
+        long timestamp;
+        Logger.Level level;
+        String logger;
+        String thread;
+        String template;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+        int argCount;
+        Object[] args;
+        Throwable thrown;
+        
+        void set(long timestamp, Logger.Level level, String logger, String thread, String template,
+                 Object arg1, Object arg2, Object arg3, int argCount, Object[] args, Throwable thrown) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.logger = logger;
+            this.thread = thread;
+            this.template = template;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+            this.arg3 = arg3;
+            this.argCount = argCount;
+            this.args = args;
+            this.thrown = thrown;
+        }
+        
+        Object arg(int i) {
+            if (args != null) {
+                return args[i];
+            }
+            return i == 0 ? arg1 : i == 1 ? arg2 : arg3;
+        }
+        
+        // Drop references so logged objects are not kept alive by the buffer
+        void clear() {
+            set(0, null, null, null, null, null, null, null, 0, null, null);
+        }
+    }
+}
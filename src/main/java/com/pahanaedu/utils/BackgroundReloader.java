@@ -0,0 +1,92 @@
+// File: src/main/java/com/pahanaedu/utils/BackgroundReloader.java
+package com.pahanaedu.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs a full reload of an in-memory index on its own daemon thread, at most one at a time.
+ *
+ * Request threads call trigger() when their snapshot is due and keep serving the current
+ * one; only the very first load, when there is nothing to serve yet, is waited for.
+ * After a failed reload no new one starts for RETRY_AFTER_FAILURE_MS, so a database
+ * outage does not turn every request into another attempt.
+ */
+public final class BackgroundReloader {
+    
+    private static final Logger LOG = Logger.get(BackgroundReloader.class);
+    
+    private static final long RETRY_AFTER_FAILURE_MS = 30_000;
+    
+    private final String name;
+    private final BooleanSupplier reload;
+    private final ExecutorService executor;
+    
+    private CompletableFuture<Boolean> running;  // guarded by this
+    private long failedAt;                      // guarded by this
+    
+    /**
+     * @param name Thread name, e.g. "pahanaedu-reference-index"
+     * @param reload Full reload; returns false (or throws) when it failed and the old snapshot was kept
+     */
+    public BackgroundReloader(String name, BooleanSupplier reload) {
+        this.name = name;
+        this.reload = reload;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Start a reload unless one is running or the last one failed moments ago
+     * @return The running reload; completes with true on success
+     */
+    public synchronized CompletableFuture<Boolean> trigger() {
+        if (running != null && !running.isDone()) {
+            return running;
+        }
+        if (failedAt > 0 && System.currentTimeMillis() - failedAt < RETRY_AFTER_FAILURE_MS) {
+            return CompletableFuture.completedFuture(false);
+        }
+        try {
+            running = CompletableFuture.supplyAsync(this::runReload, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(false); // Shut down - the webapp is stopping
+        }
+        return running;
+    }
+    
+    /**
+     * Start a reload and wait for it (first load, when there is no snapshot to serve)
+     * @return true if the reload succeeded
+     */
+    public boolean reloadAndWait() {
+        return trigger().join();
+    }
+    
+    /**
+     * Stop the reload thread (called when the webapp stops)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private boolean runReload() {
+        boolean succeeded;
+        try {
+            succeeded = reload.getAsBoolean();
+        } catch (RuntimeException e) {
+            LOG.error("❌ {} reload failed", name, e);
+            succeeded = false;
+        }
+        synchronized (this) {
+            failedAt = succeeded ? 0 : System.currentTimeMillis();
+        }
+        return succeeded;
+    }
+}
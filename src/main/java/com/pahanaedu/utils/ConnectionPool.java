@@ -0,0 +1,603 @@
+// File: src/main/java/com/pahanaedu/utils/ConnectionPool.java
+package com.pahanaedu.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded JDBC connection pool used behind {@link DatabaseConnection}.
+ *
+ * Connections handed out are proxies: calling close() returns the physical
+ * connection to the pool instead of closing it, so DAOs keep using the usual
+ * try-with-resources pattern. A returned connection is rolled back and gets its
+ * initial isolation level, read-only flag and catalog back if the borrower changed
+ * them. Idle connections are validated on borrow, retired after a maximum lifetime,
+ * evicted when idle for too long, and connections held past the leak threshold are
+ * reported with the borrowing thread and its current stack.
+ * Each physical connection also keeps a {@link StatementCache} so repeated DAO
+ * queries reuse their prepared statements.
+ */
+public class ConnectionPool {
+    
+    private static final Logger LOG = Logger.get(ConnectionPool.class);
+    
+    // Skip the validation round trip for connections returned very recently
+    private static final long VALIDATION_BYPASS_MS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long HOUSEKEEPING_PERIOD_MS = 30_000;
+    
+    // Connection setters whose effect outlives the lease; release() puts back the defaults
+    private static final Set<String> SESSION_SETTERS = Set.of(
+            "setTransactionIsolation", "setReadOnly", "setCatalog", "setSchema");
+    
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxPoolSize;
+    private final int minIdle;
+    private final long connectionTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long leakDetectionThresholdMs;
+    private final int statementCacheSize;
+    private final String connectionInitSql;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionAvailable = lock.newCondition();
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private final Set<PooledConnection> activeConnections = ConcurrentHashMap.newKeySet();
+    private int totalConnections; // guarded by lock, includes connections being created
+    private int threadsAwaiting;  // guarded by lock
+    private boolean closed;       // guarded by lock
+    
+    // Metrics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder closedCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    
+    private final ScheduledExecutorService housekeeper;
+    
+    public ConnectionPool(String url, String username, String password,
+                          int maxPoolSize, int minIdle, long connectionTimeoutMs,
+                          long idleTimeoutMs, long maxLifetimeMs, long leakDetectionThresholdMs,
+                          int statementCacheSize, String connectionInitSql) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxPoolSize = maxPoolSize;
+        this.minIdle = Math.min(minIdle, maxPoolSize);
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.connectionInitSql = connectionInitSql;
+        
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pahanaedu-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_PERIOD_MS, HOUSEKEEPING_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Borrow a connection, waiting up to the configured connection timeout
+     * @return Connection proxy that returns to the pool when closed
+     * @throws SQLException if no connection could be obtained in time
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(connectionTimeoutMs);
+        
+        while (true) {
+            PooledConnection pooled = null;
+            boolean createNew = false;
+            
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool has been shut down");
+                    }
+                    pooled = idleConnections.pollFirst();
+                    if (pooled != null) {
+                        break;
+                    }
+                    if (totalConnections < maxPoolSize) {
+                        totalConnections++;
+                        createNew = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.increment();
+                        throw new SQLTransientConnectionException("Timed out after " + connectionTimeoutMs +
+                                "ms waiting for a database connection (active=" + activeConnections.size() +
+                                ", max=" + maxPoolSize + ")");
+                    }
+                    threadsAwaiting++;
+                    try {
+                        connectionAvailable.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        threadsAwaiting--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            
+            if (createNew) {
+                try {
+                    pooled = createPooledConnection();
+                } catch (SQLException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            } else if (!isUsable(pooled)) {
+                destroy(pooled);
+                continue;
+            }
+            
+            recordWait(System.nanoTime() - start);
+            return lease(pooled);
+        }
+    }
+    
+    /**
+     * Take a snapshot of the pool counters
+     * @return PoolStats snapshot
+     */
+    public PoolStats getStats() {
+        PoolStats stats = new PoolStats();
+        lock.lock();
+        try {
+            stats.idleConnections = idleConnections.size();
+            stats.totalConnections = totalConnections;
+            stats.threadsAwaiting = threadsAwaiting;
+        } finally {
+            lock.unlock();
+        }
+        stats.activeConnections = activeConnections.size();
+        stats.maxPoolSize = maxPoolSize;
+        stats.minIdle = minIdle;
+        stats.totalBorrows = borrowCount.sum();
+        stats.averageWaitMillis = stats.totalBorrows > 0
+                ? (totalWaitNanos.sum() / (double) stats.totalBorrows) / 1_000_000.0 : 0.0;
+        stats.maxWaitMillis = maxWaitNanos.get() / 1_000_000.0;
+        stats.connectionTimeouts = timeoutCount.sum();
+        stats.connectionsCreated = createdCount.sum();
+        stats.connectionsClosed = closedCount.sum();
+        stats.validationFailures = validationFailures.sum();
+        stats.leaksDetected = leaksDetected.sum();
+        stats.statementCacheSize = statementCacheSize;
+        stats.statementCacheHits = StatementCache.HITS.sum();
+        stats.statementCacheMisses = StatementCache.MISSES.sum();
+        stats.statementCacheEvictions = StatementCache.EVICTIONS.sum();
+        long lookups = stats.statementCacheHits + stats.statementCacheMisses;
+        stats.statementCacheHitRatio = lookups > 0 ? stats.statementCacheHits / (double) lookups : 0.0;
+        return stats;
+    }
+    
+    /**
+     * Close all idle connections and stop accepting new borrowers.
+     * Connections still in use are closed physically when they are returned.
+     */
+    public void shutdown() {
+        housekeeper.shutdownNow();
+        
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idleConnections);
+            idleConnections.clear();
+            connectionAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        
+        for (PooledConnection pooled : toClose) {
+            destroy(pooled);
+        }
+    }
+    
+    // ========== INTERNAL POOL MECHANICS ==========
+    
+    private PooledConnection createPooledConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, username, password);
+        PooledConnection pooled;
+        try {
+            if (connectionInitSql != null) {
+                // Session settings every borrower can rely on, so no DAO has to change (and restore) them
+                try (Statement init = physical.createStatement()) {
+                    init.execute(connectionInitSql);
+                }
+            }
+            pooled = new PooledConnection(physical, statementCacheSize);
+        } catch (SQLException e) {
+            physical.close();
+            throw e;
+        }
+        createdCount.increment();
+        return pooled;
+    }
+    
+    private Connection lease(PooledConnection pooled) {
+        pooled.borrowedAt = System.currentTimeMillis();
+        pooled.leakReported = false;
+        // Just a reference per borrow; the stack is only captured once the leak threshold is crossed
+        pooled.borrower = Thread.currentThread();
+        activeConnections.add(pooled);
+        
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new LeaseHandler(pooled));
+    }
+    
+    // Called when a lease is closed by the DAO
+    private void release(PooledConnection pooled) {
+        activeConnections.remove(pooled);
+        pooled.borrower = null;
+        
+        try {
+            Connection physical = pooled.physical;
+            if (physical.isClosed() || isExpired(pooled)) {
+                destroy(pooled);
+                return;
+            }
+            // Never hand a connection with an open transaction to the next borrower
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            // Nor one left read-only, at another isolation level or in another database
+            if (pooled.sessionChanged) {
+                pooled.restoreDefaults();
+            }
+            physical.clearWarnings();
+        } catch (SQLException e) {
+            destroy(pooled);
+            return;
+        }
+        
+        pooled.lastReturnedAt = System.currentTimeMillis();
+        
+        boolean returned = false;
+        lock.lock();
+        try {
+            if (!closed) {
+                idleConnections.offerFirst(pooled);
+                connectionAvailable.signal();
+                returned = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        
+        if (!returned) {
+            destroy(pooled);
+        }
+    }
+    
+    private boolean isUsable(PooledConnection pooled) {
+        if (isExpired(pooled)) {
+            return false;
+        }
+        if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_BYPASS_MS) {
+            return true;
+        }
+        try {
+            if (pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return true;
+            }
+        } catch (SQLException e) {
+            // Treated as a failed validation below
+        }
+        validationFailures.increment();
+        return false;
+    }
+    
+    private boolean isExpired(PooledConnection pooled) {
+        return maxLifetimeMs > 0 && System.currentTimeMillis() - pooled.createdAt > maxLifetimeMs;
+    }
+    
+    private void destroy(PooledConnection pooled) {
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Connection is being discarded anyway
+        }
+        closedCount.increment();
+        releaseSlot();
+    }
+    
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            connectionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void recordWait(long waitNanos) {
+        borrowCount.increment();
+        totalWaitNanos.add(waitNanos);
+        long currentMax;
+        while (waitNanos > (currentMax = maxWaitNanos.get())) {
+            if (maxWaitNanos.compareAndSet(currentMax, waitNanos)) {
+                break;
+            }
+        }
+    }
+    
+    // Periodic idle eviction, lifetime retirement, minimum idle refill and leak detection
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+            List<PooledConnection> toClose = new ArrayList<>();
+            
+            lock.lock();
+            try {
+                int removable = idleConnections.size() - minIdle;
+                Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+                while (iterator.hasNext()) {
+                    PooledConnection pooled = iterator.next();
+                    boolean idleTooLong = idleTimeoutMs > 0 && removable > 0
+                            && now - pooled.lastReturnedAt > idleTimeoutMs;
+                    if (isExpired(pooled) || idleTooLong) {
+                        iterator.remove();
+                        toClose.add(pooled);
+                        removable--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            
+            for (PooledConnection pooled : toClose) {
+                destroy(pooled);
+            }
+            
+            fillMinimumIdle();
+            detectLeaks(now);
+        } catch (Exception e) {
+            LOG.error("❌ Connection pool housekeeping failed: {}", e.getMessage());
+        }
+    }
+    
+    private void fillMinimumIdle() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalConnections >= maxPoolSize || idleConnections.size() >= minIdle) {
+                    return;
+                }
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+            
+            PooledConnection pooled;
+            try {
+                pooled = createPooledConnection();
+            } catch (SQLException e) {
+                releaseSlot();
+                LOG.error("❌ Could not pre-fill connection pool: {}", e.getMessage());
+                return;
+            }
+            
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            lock.lock();
+            try {
+                idleConnections.offerLast(pooled);
+                connectionAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private void detectLeaks(long now) {
+        if (leakDetectionThresholdMs <= 0) {
+            return;
+        }
+        for (PooledConnection pooled : activeConnections) {
+            Thread borrower = pooled.borrower;
+            if (!pooled.leakReported && borrower != null && now - pooled.borrowedAt > leakDetectionThresholdMs) {
+                pooled.leakReported = true;
+                leaksDetected.increment();
+                // Where the borrowing thread is now - usually still inside the code holding the connection
+                Exception trace = new Exception("Stack of " + borrower.getName() + " at detection time");
+                trace.setStackTrace(borrower.getStackTrace());
+                LOG.warn("⚠️ Possible connection leak: connection held for {}ms by thread {}",
+                         now - pooled.borrowedAt, borrower.getName(), trace);
+            }
+        }
+    }
+    
+    // Physical connection plus the bookkeeping the pool needs for it
+    private static final class PooledConnection {
+        final Connection physical;
+        final long createdAt;
+        volatile long lastReturnedAt;
+        volatile long borrowedAt;
+        volatile boolean leakReported;
+        volatile Thread borrower;
+        volatile boolean sessionChanged; // A SESSION_SETTERS method was called during the lease
+        final StatementCache statementCache;
+        
+        // Session state right after connectionInitSql
+        final int defaultIsolation;
+        final boolean defaultReadOnly;
+        final String defaultCatalog;
+        final String defaultSchema;
+        
+        PooledConnection(Connection physical, int statementCacheSize) throws SQLException {
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = this.createdAt;
+            this.statementCache = statementCacheSize > 0 ? new StatementCache(physical, statementCacheSize) : null;
+            this.defaultIsolation = physical.getTransactionIsolation();
+            this.defaultReadOnly = physical.isReadOnly();
+            this.defaultCatalog = physical.getCatalog();
+            this.defaultSchema = physical.getSchema();
+        }
+        
+        // Only reached when the borrower changed something, so normal returns cost no round trip
+        void restoreDefaults() throws SQLException {
+            if (physical.getTransactionIsolation() != defaultIsolation) {
+                physical.setTransactionIsolation(defaultIsolation);
+            }
+            if (physical.isReadOnly() != defaultReadOnly) {
+                physical.setReadOnly(defaultReadOnly);
+            }
+            if (defaultCatalog != null && !defaultCatalog.equals(physical.getCatalog())) {
+                physical.setCatalog(defaultCatalog);
+            }
+            if (defaultSchema != null && !defaultSchema.equals(physical.getSchema())) {
+                physical.setSchema(defaultSchema);
+            }
+            sessionChanged = false;
+        }
+    }
+    
+    // One handler per borrow, so a stale reference cannot touch the next borrower's lease
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final List<Statement> uncachedStatements = new ArrayList<>();
+        private volatile boolean leaseClosed;
+        
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+        
+        // Statements are closed with the lease, as closing a real connection would do
+        private void closeStatements() {
+            for (Statement statement : uncachedStatements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // Ignore - the connection is being returned anyway
+                }
+            }
+            uncachedStatements.clear();
+            if (pooled.statementCache != null) {
+                pooled.statementCache.releaseAll();
+            }
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!leaseClosed) {
+                        leaseClosed = true;
+                        closeStatements();
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return leaseClosed || pooled.physical.isClosed();
+                case "abort":
+                    if (!leaseClosed) {
+                        leaseClosed = true;
+                        activeConnections.remove(pooled);
+                        destroy(pooled);
+                    }
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+            
+            if (leaseClosed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            
+            if (SESSION_SETTERS.contains(method.getName())) {
+                pooled.sessionChanged = true;
+            }
+            
+            // prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) go through the cache
+            if (pooled.statementCache != null && "prepareStatement".equals(method.getName())
+                    && (args.length == 1 || (args.length == 2 && args[1] instanceof Integer))) {
+                int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return pooled.statementCache.prepare((String) args[0], autoGeneratedKeys, (Connection) proxy);
+            }
+            
+            Object result;
+            try {
+                result = method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            
+            if (result instanceof Statement) {
+                uncachedStatements.add((Statement) result);
+            }
+            return result;
+        }
+    }
+    
+    // Snapshot of pool counters for the admin endpoint
+    public static class PoolStats {
+        public int activeConnections;
+        public int idleConnections;
+        public int totalConnections;
+        public int maxPoolSize;
+        public int minIdle;
+        public int threadsAwaiting;
+        public long totalBorrows;
+        public double averageWaitMillis;
+        public double maxWaitMillis;
+        public long connectionTimeouts;
+        public long connectionsCreated;
+        public long connectionsClosed;
+        public long validationFailures;
+        public long leaksDetected;
+        public int statementCacheSize;
+        public long statementCacheHits;
+        public long statementCacheMisses;
+        public long statementCacheEvictions;
+        public double statementCacheHitRatio;
+    }
+}
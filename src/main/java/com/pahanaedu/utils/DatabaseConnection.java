@@ -1,36 +1,73 @@
 package com.pahanaedu.utils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Properties;
 
+/**
+ * Pooled connections to the application database.
+ *
+ * Connection settings are resolved per key from, in order: the system property
+ * pahanaedu.db.KEY, the environment variable PAHANAEDU_DB_KEY, db.properties on the
+ * classpath (WEB-INF/classes), and the built-in defaults. Keys: url, user, password,
+ * poolSize and profile. Profile "local" switches the defaults to the throwaway MySQL
+ * started by scripts/local-mysql.sh, for benchmarks and load tests on a machine
+ * without a shared database.
+ */
 public class DatabaseConnection {
     
-    // Database connection details - Change these according to your setup
-    private static final String URL = "jdbc:mysql://localhost:3306/pahana_edu";
-    private static final String USERNAME = "root"; // Change to your MySQL username
-    private static final String PASSWORD = ""; // Change to your MySQL password
+    private static final Logger LOG = Logger.get(DatabaseConnection.class);
+    
+    public static final String PROFILE_DEFAULT = "default";
+    public static final String PROFILE_LOCAL = "local";
+    
+    // useServerPrepStmts keeps statements prepared on the server so the pool's statement cache skips re-parsing
+    // rewriteBatchedStatements sends executeBatch() as multi-row INSERTs / one round trip
+    private static final String URL_OPTIONS = "useServerPrepStmts=true&rewriteBatchedStatements=true";
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/pahana_edu?" + URL_OPTIONS;
+    private static final String DEFAULT_USERNAME = "root";
+    private static final String DEFAULT_PASSWORD = "";
+    
+    // scripts/local-mysql.sh: port 3307 so it never collides with a real server, schema created on first connect
+    private static final String LOCAL_URL = "jdbc:mysql://127.0.0.1:3307/pahana_edu_local?createDatabaseIfNotExist=true&" + URL_OPTIONS;
+    
+    private static final String PROPERTIES_FILE = "db.properties";
+    private static final Properties FILE_SETTINGS = loadSettingsFile();
+    
+    // Connection pool settings
+    private static final int DEFAULT_POOL_MAX_SIZE = 20;
+    private static final int POOL_MIN_IDLE = 2;
+    private static final long CONNECTION_TIMEOUT_MS = 10_000;       // Max wait for a free connection
+    private static final long IDLE_TIMEOUT_MS = 10 * 60 * 1000;     // Evict idle connections after 10 minutes
+    private static final long MAX_LIFETIME_MS = 30 * 60 * 1000;     // Retire connections after 30 minutes
+    private static final long LEAK_DETECTION_MS = 60 * 1000;        // Report connections held over 1 minute
+    private static final int STATEMENT_CACHE_SIZE = 64;             // Prepared statements cached per connection
+    // Run on every new connection; the default 1024 bytes would truncate BookDAO's GROUP_CONCAT image lists
+    private static final String CONNECTION_INIT_SQL = "SET SESSION group_concat_max_len = 65536";
+    
+    private static volatile ConnectionPool pool;
     
     static {
         try {
             // Load MySQL JDBC driver
             Class.forName("com.mysql.cj.jdbc.Driver");
         } catch (ClassNotFoundException e) {
-            System.err.println("MySQL JDBC Driver not found!");
-            e.printStackTrace();
+            LOG.error("MySQL JDBC Driver not found!", e);
         }
     }
     
     /**
-     * Get database connection
-     * @return Connection object
+     * Get database connection from the pool
+     * @return Connection object (closing it returns it to the pool)
      */
     public static Connection getConnection() {
         try {
-            return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+            return getPool().getConnection();
         } catch (SQLException e) {
-            System.err.println("Database connection failed!");
-            e.printStackTrace();
+            LOG.error("Database connection failed!", e);
             return null;
         }
     }
@@ -44,9 +81,91 @@ public class DatabaseConnection {
             try {
                 connection.close();
             } catch (SQLException e) {
-                System.err.println("Error closing connection!");
-                e.printStackTrace();
+                LOG.error("Error closing connection!", e);
+            }
+        }
+    }
+    
+    /**
+     * Get live connection pool metrics
+     * @return PoolStats snapshot
+     */
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return getPool().getStats();
+    }
+    
+    /**
+     * Get the active settings profile
+     * @return PROFILE_DEFAULT or PROFILE_LOCAL
+     */
+    public static String getProfile() {
+        return PROFILE_LOCAL.equalsIgnoreCase(setting("profile", PROFILE_DEFAULT)) ? PROFILE_LOCAL : PROFILE_DEFAULT;
+    }
+    
+    /**
+     * Get the JDBC URL connections are opened with
+     * @return Resolved URL (contains no credentials unless configured that way)
+     */
+    public static String getUrl() {
+        return setting("url", PROFILE_LOCAL.equals(getProfile()) ? LOCAL_URL : DEFAULT_URL);
+    }
+    
+    /**
+     * Shut down the connection pool (called when the webapp stops)
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+    
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null) {
+                    String url = getUrl();
+                    int maxSize = Integer.parseInt(setting("poolSize", String.valueOf(DEFAULT_POOL_MAX_SIZE)));
+                    // Options are left out of the log in case credentials were passed in the URL
+                    int options = url.indexOf('?');
+                    LOG.info("🔌 Database: {} (profile {}, pool {})",
+                             options < 0 ? url : url.substring(0, options), getProfile(), maxSize);
+                    
+                    current = new ConnectionPool(url, setting("user", DEFAULT_USERNAME),
+                            setting("password", DEFAULT_PASSWORD),
+                            maxSize, Math.min(POOL_MIN_IDLE, maxSize), CONNECTION_TIMEOUT_MS,
+                            IDLE_TIMEOUT_MS, MAX_LIFETIME_MS, LEAK_DETECTION_MS,
+                            STATEMENT_CACHE_SIZE, CONNECTION_INIT_SQL);
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    // System property, then environment variable, then db.properties, then the default
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty("pahanaedu.db." + key);
+        if (value == null) {
+            value = System.getenv("PAHANAEDU_DB_" + key.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT));
+        }
+        if (value == null) {
+            value = FILE_SETTINGS.getProperty(key);
+        }
+        return value != null ? value : defaultValue;
+    }
+    
+    private static Properties loadSettingsFile() {
+        Properties settings = new Properties();
+        try (InputStream in = DatabaseConnection.class.getClassLoader().getResourceAsStream(PROPERTIES_FILE)) {
+            if (in != null) {
+                settings.load(in);
             }
+        } catch (IOException e) {
+            LOG.warn("⚠️ Could not read {}: {}", PROPERTIES_FILE, e.getMessage());
         }
+        return settings;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,224 @@
+// File: src/main/java/com/pahanaedu/utils/Logger.java
+package com.pahanaedu.utils;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Levelled application logger. Calls below the threshold return after one comparison;
+ * enabled calls copy the template and its arguments into AsyncLogAppender's ring buffer
+ * and return, so the request thread neither formats the message nor waits on stdout.
+ *
+ * Templates use "{}" placeholders, filled in on the writer thread - pass immutable
+ * values (strings, numbers), not objects the caller keeps mutating. A Throwable passed
+ * as the last argument is logged with its stack trace instead of filling a placeholder:
+ *
+ *   private static final Logger LOG = Logger.get(BookDAO.class);
+ *   LOG.debug("🔍 Searching for reference: '{}'", cleanRef);
+ *   LOG.error("❌ Error fetching book by ID {}", id, e);
+ *
+ * The threshold comes from the system property pahanaedu.log.level or the environment
+ * variable PAHANAEDU_LOG_LEVEL (DEBUG, INFO, WARN or ERROR; default INFO).
+ */
+public final class Logger {
+    
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+    
+    private static volatile Level threshold = configuredLevel();
+    
+    private final String name;
+    
+    private Logger(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Get the logger of a class; keep it in a static final field
+     * @param owner Class that logs (its simple name is written with each line)
+     * @return Logger
+     */
+    public static Logger get(Class<?> owner) {
+        return new Logger(owner.getSimpleName());
+    }
+    
+    /**
+     * Change the threshold at runtime
+     * @param level Lowest level that is written
+     */
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+    
+    public static Level getLevel() {
+        return threshold;
+    }
+    
+    /**
+     * Log events dropped because the ring buffer was full
+     * @return Count since startup
+     */
+    public static long getDroppedCount() {
+        return AsyncLogAppender.INSTANCE.getDropped();
+    }
+    
+    /**
+     * Write out everything still buffered and stop the writer thread (called when the webapp stops)
+     */
+    public static void shutdown() {
+        AsyncLogAppender.INSTANCE.shutdown();
+    }
+    
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold.ordinal();
+    }
+    
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+    
+    public void debug(String message) {
+        log(Level.DEBUG, message, null, null, null, 0);
+    }
+    
+    public void debug(String template, Object arg) {
+        log(Level.DEBUG, template, arg, null, null, 1);
+    }
+    
+    public void debug(String template, Object arg1, Object arg2) {
+        log(Level.DEBUG, template, arg1, arg2, null, 2);
+    }
+    
+    public void debug(String template, Object arg1, Object arg2, Object arg3) {
+        log(Level.DEBUG, template, arg1, arg2, arg3, 3);
+    }
+    
+    public void debug(String template, Object... args) {
+        log(Level.DEBUG, template, args);
+    }
+    
+    public void debug(Supplier<String> message) {
+        log(Level.DEBUG, message);
+    }
+    
+    public void info(String message) {
+        log(Level.INFO, message, null, null, null, 0);
+    }
+    
+    public void info(String template, Object arg) {
+        log(Level.INFO, template, arg, null, null, 1);
+    }
+    
+    public void info(String template, Object arg1, Object arg2) {
+        log(Level.INFO, template, arg1, arg2, null, 2);
+    }
+    
+    public void info(String template, Object arg1, Object arg2, Object arg3) {
+        log(Level.INFO, template, arg1, arg2, arg3, 3);
+    }
+    
+    public void info(String template, Object... args) {
+        log(Level.INFO, template, args);
+    }
+    
+    public void info(Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+    
+    public void warn(String message) {
+        log(Level.WARN, message, null, null, null, 0);
+    }
+    
+    public void warn(String template, Object arg) {
+        log(Level.WARN, template, arg, null, null, 1);
+    }
+    
+    public void warn(String template, Object arg1, Object arg2) {
+        log(Level.WARN, template, arg1, arg2, null, 2);
+    }
+    
+    public void warn(String template, Object arg1, Object arg2, Object arg3) {
+        log(Level.WARN, template, arg1, arg2, arg3, 3);
+    }
+    
+    public void warn(String template, Object... args) {
+        log(Level.WARN, template, args);
+    }
+    
+    public void warn(Supplier<String> message) {
+        log(Level.WARN, message);
+    }
+    
+    public void error(String message) {
+        log(Level.ERROR, message, null, null, null, 0);
+    }
+    
+    public void error(String template, Object arg) {
+        log(Level.ERROR, template, arg, null, null, 1);
+    }
+    
+    public void error(String template, Object arg1, Object arg2) {
+        log(Level.ERROR, template, arg1, arg2, null, 2);
+    }
+    
+    public void error(String template, Object arg1, Object arg2, Object arg3) {
+        log(Level.ERROR, template, arg1, arg2, arg3, 3);
+    }
+    
+    public void error(String template, Object... args) {
+        log(Level.ERROR, template, args);
+    }
+    
+    public void error(Supplier<String> message) {
+        log(Level.ERROR, message);
+    }
+    
+    private void log(Level level, String template, Object arg1, Object arg2, Object arg3, int argCount) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        // A trailing Throwable is the event's exception, not a placeholder value
+        Throwable thrown = null;
+        Object last = argCount == 3 ? arg3 : argCount == 2 ? arg2 : arg1;
+        if (argCount > 0 && last instanceof Throwable) {
+            thrown = (Throwable) last;
+            argCount--;
+        }
+        AsyncLogAppender.INSTANCE.append(level, name, template, arg1, arg2, arg3, argCount, null, thrown);
+    }
+    
+    private void log(Level level, String template, Object[] args) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Throwable thrown = null;
+        int argCount = args.length;
+        if (argCount > 0 && args[argCount - 1] instanceof Throwable) {
+            thrown = (Throwable) args[argCount - 1];
+            argCount--;
+        }
+        AsyncLogAppender.INSTANCE.append(level, name, template, null, null, null, argCount, args, thrown);
+    }
+    
+    private void log(Level level, Supplier<String> message) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        AsyncLogAppender.INSTANCE.append(level, name, message.get(), null, null, null, 0, null, null);
+    }
+    
+    private static Level configuredLevel() {
+        String value = System.getProperty("pahanaedu.log.level");
+        if (value == null) {
+            value = System.getenv("PAHANAEDU_LOG_LEVEL");
+        }
+        if (value == null) {
+            return Level.INFO;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ Unknown log level '" + value + "' - using INFO");
+            return Level.INFO;
+        }
+    }
+}
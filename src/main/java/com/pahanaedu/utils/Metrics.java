@@ -0,0 +1,310 @@
+// File: src/main/java/com/pahanaedu/utils/Metrics.java
+package com.pahanaedu.utils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms, error counters and in-flight gauges for requests (per servlet
+ * and action, recorded by MetricsFilter), SQL statements (per named DAO timer) and
+ * password hashing (PasswordHasher), plus RateLimiter refusals, rendered in the Prometheus text format by MetricsServlet.
+ *
+ * Only the hot DAO statements have SQL timers (see the Metrics.sql fields in BookDAO,
+ * BillDAO, UserDAO and DashboardDAO); the request histograms cover the rest.
+ *
+ * Recording on an existing series allocates nothing: fixed bucket bounds, LongAdder
+ * counters and map lookups with strings the caller already holds. Series are created
+ * on first use; request series are capped per servlet because the action parameter
+ * comes from the client.
+ */
+public final class Metrics {
+    
+    // Bucket upper bounds in seconds (Prometheus "le"), tuned for 1 ms lookups up to 10 s reports
+    private static final double[] BUCKET_SECONDS = {
+        0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+    private static final long[] BUCKET_NANOS = new long[BUCKET_SECONDS.length];
+    static {
+        for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+            BUCKET_NANOS[i] = (long) (BUCKET_SECONDS[i] * 1_000_000_000L);
+        }
+    }
+    
+    private static final int MAX_ACTIONS_PER_SERVLET = 64;
+    private static final String NO_ACTION = "none";
+    private static final String OTHER_ACTION = "other";
+    
+    // servlet path -> action -> timer
+    private static final ConcurrentMap<String, ConcurrentMap<String, Timer>> REQUESTS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Timer> STATEMENTS = new ConcurrentHashMap<>();
+    // PasswordHasher: BCrypt time per operation, and the wait for a hashing thread
+    private static final ConcurrentMap<String, Timer> PASSWORD_HASHES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Timer> PASSWORD_HASH_QUEUE = new ConcurrentHashMap<>();
+    // RateLimiter refusals per limiter
+    private static final ConcurrentMap<String, LongAdder> RATE_LIMITED = new ConcurrentHashMap<>();
+    
+    private Metrics() {
+    }
+    
+    /**
+     * Get the timer of a servlet action
+     * @param servletPath e.g. "/admin"
+     * @param action Value of the action parameter (null for none)
+     * @return Timer (shared "other" timer once the servlet has MAX_ACTIONS_PER_SERVLET actions)
+     */
+    public static Timer request(String servletPath, String action) {
+        ConcurrentMap<String, Timer> actions = REQUESTS.get(servletPath);
+        if (actions == null) {
+            actions = REQUESTS.computeIfAbsent(servletPath, path -> new ConcurrentHashMap<>());
+        }
+        
+        String key = action != null ? action : NO_ACTION;
+        Timer timer = actions.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        if (actions.size() >= MAX_ACTIONS_PER_SERVLET) {
+            // Sprayed action values land here; only the first one creates the shared timer
+            timer = actions.get(OTHER_ACTION);
+            if (timer != null) {
+                return timer;
+            }
+            key = OTHER_ACTION;
+        }
+        return actions.computeIfAbsent(key, name -> new Timer());
+    }
+    
+    /**
+     * Get the timer of a SQL statement; DAOs keep it in a static final field
+     * @param statement Stable name, e.g. "book_by_reference"
+     * @return Timer
+     */
+    public static Timer sql(String statement) {
+        return timer(STATEMENTS, statement);
+    }
+    
+    /**
+     * Get the timer of a BCrypt operation
+     * @param operation e.g. "verify" or "hash"
+     * @return Timer
+     */
+    public static Timer passwordHash(String operation) {
+        return timer(PASSWORD_HASHES, operation);
+    }
+    
+    /**
+     * Get the queue timer of a hashing pool task: started on submit, stopped when a thread
+     * picks it up and failed when it is rejected, so in-flight is the queue depth and
+     * errors are the rejections
+     * @param operation e.g. "login"
+     * @return Timer
+     */
+    public static Timer passwordHashQueue(String operation) {
+        return timer(PASSWORD_HASH_QUEUE, operation);
+    }
+    
+    /**
+     * Get the refusal counter of a RateLimiter
+     * @param limiter e.g. "login_email"
+     * @return Counter
+     */
+    public static LongAdder rateLimited(String limiter) {
+        return RATE_LIMITED.computeIfAbsent(limiter, name -> new LongAdder());
+    }
+    
+    private static Timer timer(ConcurrentMap<String, Timer> timers, String name) {
+        Timer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, key -> new Timer());
+    }
+    
+    /**
+     * Render every series in the Prometheus text exposition format (version 0.0.4)
+     * @return Metrics text
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        
+        header(out, "pahanaedu_http_request_duration_seconds", "histogram", "Request latency per servlet and action");
+        for (Map.Entry<String, ConcurrentMap<String, Timer>> servlet : REQUESTS.entrySet()) {
+            for (Map.Entry<String, Timer> action : servlet.getValue().entrySet()) {
+                action.getValue().writeHistogram(out, "pahanaedu_http_request_duration_seconds",
+                        requestLabels(servlet.getKey(), action.getKey()));
+            }
+        }
+        // Each metric family is one contiguous group in the exposition format
+        header(out, "pahanaedu_http_request_errors_total", "counter", "Requests that failed (exception or 5xx)");
+        for (Map.Entry<String, ConcurrentMap<String, Timer>> servlet : REQUESTS.entrySet()) {
+            for (Map.Entry<String, Timer> action : servlet.getValue().entrySet()) {
+                sample(out, "pahanaedu_http_request_errors_total", requestLabels(servlet.getKey(), action.getKey()),
+                        action.getValue().errors.sum());
+            }
+        }
+        header(out, "pahanaedu_http_requests_in_flight", "gauge", "Requests being processed");
+        for (Map.Entry<String, ConcurrentMap<String, Timer>> servlet : REQUESTS.entrySet()) {
+            for (Map.Entry<String, Timer> action : servlet.getValue().entrySet()) {
+                sample(out, "pahanaedu_http_requests_in_flight", requestLabels(servlet.getKey(), action.getKey()),
+                        action.getValue().inFlight.sum());
+            }
+        }
+        
+        writeTimers(out, "pahanaedu_sql", "statement", STATEMENTS,
+                "SQL statement latency per DAO statement", "SQL statements that threw", "SQL statements executing");
+        writeTimers(out, "pahanaedu_password_hash", "operation", PASSWORD_HASHES,
+                "BCrypt time per operation", "BCrypt calls that threw", "BCrypt operations running");
+        writeTimers(out, "pahanaedu_password_hash_queue", "operation", PASSWORD_HASH_QUEUE,
+                "Wait for a password hashing thread", "Tasks rejected because the hashing queue was full",
+                "Tasks waiting for a password hashing thread");
+        
+        header(out, "pahanaedu_rate_limited_total", "counter", "Requests refused by a rate limiter");
+        for (Map.Entry<String, LongAdder> limiter : RATE_LIMITED.entrySet()) {
+            sample(out, "pahanaedu_rate_limited_total", labels("limiter", limiter.getKey()), limiter.getValue().sum());
+        }
+        
+        header(out, "pahanaedu_log_dropped_total", "counter", "Log events dropped because the log buffer was full");
+        out.append("pahanaedu_log_dropped_total ").append(Logger.getDroppedCount()).append('\n');
+        
+        return out.toString();
+    }
+    
+    private static String requestLabels(String servlet, String action) {
+        return "servlet=\"" + escape(servlet) + "\",action=\"" + escape(action) + "\"";
+    }
+    
+    // <prefix>_duration_seconds histogram, <prefix>_errors_total and <prefix>_in_flight, one label
+    private static void writeTimers(StringBuilder out, String prefix, String label, ConcurrentMap<String, Timer> timers,
+                                    String durationHelp, String errorsHelp, String inFlightHelp) {
+        header(out, prefix + "_duration_seconds", "histogram", durationHelp);
+        for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+            timer.getValue().writeHistogram(out, prefix + "_duration_seconds", labels(label, timer.getKey()));
+        }
+        header(out, prefix + "_errors_total", "counter", errorsHelp);
+        for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+            sample(out, prefix + "_errors_total", labels(label, timer.getKey()), timer.getValue().errors.sum());
+        }
+        header(out, prefix + "_in_flight", "gauge", inFlightHelp);
+        for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+            sample(out, prefix + "_in_flight", labels(label, timer.getKey()), timer.getValue().inFlight.sum());
+        }
+    }
+    
+    private static String labels(String label, String value) {
+        return label + "=\"" + escape(value) + "\"";
+    }
+    
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+    
+    private static void sample(StringBuilder out, String name, String labels, Object value) {
+        out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+    
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    /**
+     * Latency histogram, error counter and in-flight gauge of one series.
+     *
+     *   try (ResultSet rs = TIMER.executeQuery(stmt)) { ... }
+     *
+     * or, around several statements:
+     *
+     *   long started = TIMER.start();
+     *   try { ... TIMER.stop(started); } catch (SQLException e) { TIMER.fail(started); ... }
+     */
+    public static final class Timer {
+        private final LongAdder[] buckets = new LongAdder[BUCKET_NANOS.length + 1];   // last one is +Inf
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder inFlight = new LongAdder();
+        
+        Timer() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+        
+        /**
+         * Mark the start of an operation
+         * @return Start time to pass to stop() or fail()
+         */
+        public long start() {
+            inFlight.increment();
+            return System.nanoTime();
+        }
+        
+        /**
+         * Record a successful operation
+         * @param started Value returned by start()
+         */
+        public void stop(long started) {
+            inFlight.decrement();
+            record(System.nanoTime() - started);
+        }
+        
+        /**
+         * Record a failed operation (counted in the histogram and as an error)
+         * @param started Value returned by start()
+         */
+        public void fail(long started) {
+            errors.increment();
+            stop(started);
+        }
+        
+        /**
+         * Execute a query and time it (until the first rows are back, not the fetch)
+         * @param stmt Prepared statement with its parameters bound
+         * @return Result set
+         */
+        public ResultSet executeQuery(PreparedStatement stmt) throws SQLException {
+            long started = start();
+            try {
+                ResultSet rs = stmt.executeQuery();
+                stop(started);
+                return rs;
+            } catch (SQLException | RuntimeException e) {
+                fail(started);
+                throw e;
+            }
+        }
+        
+        public long getCount() {
+            return count.sum();
+        }
+        
+        public long getErrors() {
+            return errors.sum();
+        }
+        
+        private void record(long nanos) {
+            int bucket = 0;
+            while (bucket < BUCKET_NANOS.length && nanos > BUCKET_NANOS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            sumNanos.add(nanos);
+        }
+        
+        // Buckets are cumulative in the exposition format
+        private void writeHistogram(StringBuilder out, String name, String labels) {
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i].sum();
+                out.append(name).append("_bucket{").append(labels).append(",le=\"")
+                   .append(i < BUCKET_SECONDS.length ? String.valueOf(BUCKET_SECONDS[i]) : "+Inf")
+                   .append("\"} ").append(cumulative).append('\n');
+            }
+            out.append(name).append("_sum{").append(labels).append("} ").append(sumNanos.sum() / 1e9).append('\n');
+            out.append(name).append("_count{").append(labels).append("} ").append(cumulative).append('\n');
+        }
+    }
+}
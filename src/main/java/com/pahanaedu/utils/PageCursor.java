@@ -0,0 +1,112 @@
+// File: src/main/java/com/pahanaedu/utils/PageCursor.java
+package com.pahanaedu.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor: the sort key of the last row of a page.
+ *
+ * Encoded as URL-safe Base64 of "millis.nanos:id" (or ":id" when the list is
+ * ordered by ID only) so clients pass it back unchanged and never build it.
+ */
+public class PageCursor {
+    
+    private final Timestamp createdAt;
+    private final int id;
+    
+    public PageCursor(Timestamp createdAt, int id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    /**
+     * Encode this cursor for a JSON response
+     * @return URL-safe token
+     */
+    public String encode() {
+        String key = createdAt != null
+                ? createdAt.getTime() + "." + createdAt.getNanos() + ":" + id
+                : ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Parse a page size request parameter
+     * @param value Raw "limit" parameter
+     * @param defaultLimit Used when the parameter is missing or not a number
+     * @param maxLimit Upper bound
+     * @return Page size between 1 and maxLimit
+     */
+    public static int parseLimit(String value, int defaultLimit, int maxLimit) {
+        int limit = defaultLimit;
+        if (value != null && !value.trim().isEmpty()) {
+            try {
+                limit = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                limit = defaultLimit;
+            }
+        }
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+    
+    /**
+     * Decode a cursor sent back by a client
+     * @param token Cursor from a previous page (null or empty for the first page)
+     * @return PageCursor, or null for the first page
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            
+            int id = Integer.parseInt(key.substring(separator + 1));
+            if (separator == 0) {
+                return new PageCursor(null, id);
+            }
+            
+            String time = key.substring(0, separator);
+            int dot = time.indexOf('.');
+            Timestamp createdAt = new Timestamp(Long.parseLong(dot < 0 ? time : time.substring(0, dot)));
+            if (dot >= 0) {
+                createdAt.setNanos(Integer.parseInt(time.substring(dot + 1)));
+            }
+            return new PageCursor(createdAt, id);
+        } catch (IllegalArgumentException e) {
+            // Covers bad Base64, NumberFormatException and nanos out of range
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+    
+    /**
+     * Decode a cursor for a list ordered by created_at, then ID (e.g. bills)
+     * @param token Cursor from a previous page (null or empty for the first page)
+     * @return PageCursor with a createdAt, or null for the first page
+     * @throws IllegalArgumentException if the token is invalid or carries no timestamp -
+     *         binding a NULL created_at would silently return an empty page
+     */
+    public static PageCursor decodeTimed(String token) {
+        PageCursor cursor = decode(token);
+        if (cursor != null && cursor.createdAt == null) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,175 @@
+// File: src/main/java/com/pahanaedu/utils/PasswordHasher.java
+package com.pahanaedu.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * BCrypt on a dedicated, bounded pool instead of Tomcat's request threads.
+ *
+ * One BCrypt call at cost 12 burns a core for a few hundred milliseconds, so a burst of
+ * logins at shift change used to occupy request threads and cores that checkout needs.
+ * The pool has one thread per core (pahanaedu.hash.threads) and a fixed queue
+ * (pahanaedu.hash.queueDepth, default 8 tasks per thread, i.e. roughly two seconds of
+ * work); anything beyond that is rejected at once with RejectedExecutionException,
+ * which the servlets answer with 503 + Retry-After instead of letting requests pile up.
+ *
+ * LoginServlet, SignupServlet and ResetPasswordServlet submit their whole request with
+ * execute() from an async request, so no request thread waits on BCrypt. hash() and
+ * verify() run inline on a hashing thread; elsewhere (admin account creation) they
+ * submit and wait.
+ * Timings are exported through Metrics.passwordHash() and Metrics.passwordHashQueue().
+ */
+public final class PasswordHasher {
+    
+    private static final Logger LOG = Logger.get(PasswordHasher.class);
+    
+    // Cost factor 12 is recommended for production
+    public static final int BCRYPT_COST = 12;
+    
+    private static final int THREADS = Settings.intSetting("pahanaedu.hash.threads", Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_DEPTH = Settings.intSetting("pahanaedu.hash.queueDepth", THREADS * 8);
+    
+    private static final Metrics.Timer VERIFY_TIMER = Metrics.passwordHash("verify");
+    private static final Metrics.Timer HASH_TIMER = Metrics.passwordHash("hash");
+    
+    private static final ThreadPoolExecutor POOL = createPool();
+    
+    private PasswordHasher() {
+    }
+    
+    /**
+     * Run a task on a hashing thread (the caller typically holds an AsyncContext)
+     * @param operation Queue metric label, e.g. "login"
+     * @param task Task; it must not throw
+     * @throws RejectedExecutionException when the queue is full or the pool is shut down
+     */
+    public static void execute(String operation, Runnable task) {
+        Metrics.Timer queue = Metrics.passwordHashQueue(operation);
+        long queued = queue.start();
+        try {
+            POOL.execute(() -> {
+                queue.stop(queued);
+                task.run();
+            });
+        } catch (RejectedExecutionException e) {
+            queue.fail(queued);
+            throw e;
+        }
+    }
+    
+    /**
+     * Hash a password with a fresh salt
+     * @param plainTextPassword Plain text password
+     * @return BCrypt hash
+     * @throws RejectedExecutionException when the hashing pool is saturated
+     */
+    public static String hash(String plainTextPassword) {
+        return onPool("hash", () -> {
+            long started = HASH_TIMER.start();
+            try {
+                String hashed = BCrypt.hashpw(plainTextPassword, BCrypt.gensalt(BCRYPT_COST));
+                HASH_TIMER.stop(started);
+                return hashed;
+            } catch (RuntimeException e) {
+                HASH_TIMER.fail(started);
+                throw e;
+            }
+        });
+    }
+    
+    /**
+     * Check a password against a stored hash
+     * @param plainTextPassword Plain text password from user input
+     * @param hashedPassword Stored BCrypt hash
+     * @return true if the password matches
+     * @throws RejectedExecutionException when the hashing pool is saturated
+     */
+    public static boolean verify(String plainTextPassword, String hashedPassword) {
+        return onPool("verify", () -> {
+            long started = VERIFY_TIMER.start();
+            try {
+                boolean matches = BCrypt.checkpw(plainTextPassword, hashedPassword);
+                VERIFY_TIMER.stop(started);
+                return matches;
+            } catch (RuntimeException e) {
+                VERIFY_TIMER.fail(started);
+                throw e;
+            }
+        });
+    }
+    
+    /**
+     * Stop the hashing threads (called when the webapp stops)
+     */
+    public static void shutdown() {
+        POOL.shutdown();
+        try {
+            if (!POOL.awaitTermination(5, TimeUnit.SECONDS)) {
+                POOL.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            POOL.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // Inline on a hashing thread (never wait on our own pool), otherwise submit and wait
+    private static <T> T onPool(String operation, Callable<T> work) {
+        try {
+            if (Thread.currentThread() instanceof HashingThread) {
+                return work.call();
+            }
+            
+            Metrics.Timer queue = Metrics.passwordHashQueue(operation);
+            long queued = queue.start();
+            Future<T> result;
+            try {
+                result = POOL.submit(() -> {
+                    queue.stop(queued);
+                    return work.call();
+                });
+            } catch (RejectedExecutionException e) {
+                queue.fail(queued);
+                throw e;
+            }
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static ThreadPoolExecutor createPool() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_DEPTH),
+                runnable -> new HashingThread(runnable, "pahanaedu-bcrypt-" + count.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        LOG.info("🔐 Password hashing pool: {} thread(s), queue depth {}", THREADS, QUEUE_DEPTH);
+        return pool;
+    }
+    
+    // Marks pool threads so nested hash()/verify() calls run inline
+    private static final class HashingThread extends Thread {
+        HashingThread(Runnable runnable, String name) {
+            super(runnable, name);
+            setDaemon(true);
+        }
+    }
+}
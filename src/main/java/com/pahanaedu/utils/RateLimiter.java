@@ -0,0 +1,119 @@
+// File: src/main/java/com/pahanaedu/utils/RateLimiter.java
+package com.pahanaedu.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory token buckets, one per key (an email address, a client IP).
+ *
+ * A bucket holds up to {@code burst} tokens and refills at one token per
+ * {@code refillInterval}; each attempt takes a token and is refused when none is left.
+ * Keys are spread over 16 stripes, each an access-ordered map behind its own lock, so
+ * concurrent logins rarely contend. Each stripe keeps at most maxKeys / 16 buckets and
+ * evicts the least recently used one, which keeps memory flat under spraying; an
+ * evicted key simply starts again with a full bucket.
+ *
+ * Refusals are counted in Metrics under the limiter's name.
+ */
+public final class RateLimiter {
+    
+    private static final int STRIPES = 16;
+    
+    private final double burst;
+    private final long nanosPerToken;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder rejected;
+    
+    /**
+     * @param name Metric label, e.g. "login_email"
+     * @param burst Attempts allowed at once
+     * @param refillInterval Time to earn back one attempt
+     * @param unit Unit of refillInterval
+     * @param maxKeys Buckets kept in memory across all stripes
+     */
+    public RateLimiter(String name, int burst, long refillInterval, TimeUnit unit, int maxKeys) {
+        this.burst = burst;
+        this.nanosPerToken = unit.toNanos(refillInterval);
+        this.rejected = Metrics.rateLimited(name);
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+    
+    /**
+     * Take one token for a key
+     * @param key e.g. a normalised email address
+     * @return 0 when allowed, otherwise nanoseconds until the next token
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        Stripe stripe = stripes[stripeIndex(key)];
+        long waitNanos;
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(burst, now);
+                stripe.put(key, bucket);
+            }
+            waitNanos = bucket.take(now, burst, nanosPerToken);
+        }
+        if (waitNanos > 0) {
+            rejected.increment();
+        }
+        return waitNanos;
+    }
+    
+    /**
+     * Refusals since startup
+     * @return Count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    private static int stripeIndex(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+    
+    // Least recently used bucket goes first once the stripe is full
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private static final long serialVersionUID = 1L;
+        private final int maxKeys;
+        
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxKeys;
+        }
+    }
+    
+    // Guarded by its stripe's lock
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+        
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+        
+        long take(long now, double burst, long nanosPerToken) {
+            tokens = Math.min(burst, tokens + (double) (now - refilledAt) / nanosPerToken);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) ((1 - tokens) * nanosPerToken));
+        }
+    }
+}
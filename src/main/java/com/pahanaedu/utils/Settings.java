@@ -0,0 +1,44 @@
+// File: src/main/java/com/pahanaedu/utils/Settings.java
+package com.pahanaedu.utils;
+
+/**
+ * Tuning knobs read from system properties (-Dpahanaedu.*), e.g. pool sizes,
+ * rate limits and startup checks. Database settings have their own lookup in DatabaseConnection.
+ */
+public final class Settings {
+    
+    private static final Logger LOG = Logger.get(Settings.class);
+    
+    private Settings() {
+    }
+    
+    /**
+     * Read a positive integer setting
+     * @param property System property, e.g. "pahanaedu.hash.threads"
+     * @param defaultValue Used when the property is missing or not a number
+     * @return The value, at least 1
+     */
+    public static int intSetting(String property, int defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            LOG.warn("⚠️ Invalid {} '{}' - using {}", property, value, defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Read an on/off setting
+     * @param property System property, e.g. "pahanaedu.planCheck.failStartup"
+     * @param defaultValue Used when the property is missing
+     * @return true for "true" (any case), false for anything else
+     */
+    public static boolean booleanSetting(String property, boolean defaultValue) {
+        String value = System.getProperty(property);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+}
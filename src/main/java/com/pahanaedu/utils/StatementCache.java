@@ -0,0 +1,225 @@
+// File: src/main/java/com/pahanaedu/utils/StatementCache.java
+package com.pahanaedu.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for one pooled physical connection, keyed by SQL text.
+ *
+ * A cached statement is handed out as a proxy: close() closes any result sets it
+ * produced, clears its parameters and resets fetch size and max rows, but keeps the (server-side) prepared statement
+ * open so the next DAO call with the same SQL only binds and executes.
+ * Only used by the thread currently holding the connection, so it is not synchronized.
+ */
+class StatementCache {
+    
+    // Shared by every pooled connection
+    static final LongAdder HITS = new LongAdder();
+    static final LongAdder MISSES = new LongAdder();
+    static final LongAdder EVICTIONS = new LongAdder();
+    
+    private static final String GENERATED_KEYS_PREFIX = "\u0000keys:";
+    
+    private final Connection physical;
+    private final int capacity;
+    private final Map<String, CachedStatement> statements;
+    private final List<PreparedStatement> overflowStatements = new ArrayList<>();
+    
+    StatementCache(Connection physical, int capacity) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(capacity * 2, 0.75f, true);
+    }
+    
+    /**
+     * Get a prepared statement for the SQL, preparing it only on a cache miss
+     * @param sql SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     * @param owner Connection proxy returned from getConnection() on the statement
+     * @return PreparedStatement (a cached proxy, or a plain statement if the cached one is busy)
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys, Connection owner) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? GENERATED_KEYS_PREFIX + sql : sql;
+        
+        CachedStatement cached = statements.get(key);
+        if (cached != null) {
+            if (cached.handler != null) {
+                // Same SQL already open on this connection (nested use) - fall back to an uncached statement
+                MISSES.increment();
+                PreparedStatement overflow = physical.prepareStatement(sql, autoGeneratedKeys);
+                overflowStatements.add(overflow);
+                return overflow;
+            }
+            HITS.increment();
+            return cached.checkout(owner);
+        }
+        
+        MISSES.increment();
+        // Make room first, so eviction can never reach the statement about to be handed out
+        evictForInsert();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        cached = new CachedStatement(key, statement);
+        statements.put(key, cached);
+        return cached.checkout(owner);
+    }
+    
+    /**
+     * Reset every statement still checked out and close uncached overflow statements
+     * (called when the connection returns to the pool)
+     */
+    void releaseAll() {
+        for (PreparedStatement overflow : overflowStatements) {
+            closeQuietly(overflow);
+        }
+        overflowStatements.clear();
+        
+        List<CachedStatement> busy = new ArrayList<>();
+        for (CachedStatement cached : statements.values()) {
+            if (cached.handler != null) {
+                busy.add(cached);
+            }
+        }
+        for (CachedStatement cached : busy) {
+            cached.handler.closeLogically();
+        }
+    }
+    
+    // Evict free statements, eldest first, until one more fits; busy ones stay (the cache may briefly exceed capacity)
+    private void evictForInsert() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (statements.size() >= capacity && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next();
+            if (eldest.handler == null) {
+                iterator.remove();
+                closeQuietly(eldest.statement);
+                EVICTIONS.increment();
+            }
+        }
+    }
+    
+    private void discard(CachedStatement cached) {
+        statements.remove(cached.key);
+        closeQuietly(cached.statement);
+    }
+    
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Statement is being discarded anyway
+        }
+    }
+    
+    // Physical statement plus the handler of its current checkout (null when free)
+    private final class CachedStatement {
+        final String key;
+        final PreparedStatement statement;
+        StatementHandler handler;
+        
+        CachedStatement(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+        
+        PreparedStatement checkout(Connection owner) {
+            handler = new StatementHandler(this, owner);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    StatementCache.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    handler);
+        }
+    }
+    
+    private final class StatementHandler implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection owner;
+        private final List<ResultSet> openResultSets = new ArrayList<>(2);
+        private boolean closed;
+        private boolean limitsChanged;  // setFetchSize/setMaxRows called, e.g. streaming with Integer.MIN_VALUE
+        
+        StatementHandler(CachedStatement cached, Connection owner) {
+            this.cached = cached;
+            this.owner = owner;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    closeLogically();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedPreparedStatement[" + cached.statement + "]";
+                default:
+                    break;
+            }
+            
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            if ("setFetchSize".equals(method.getName()) || "setMaxRows".equals(method.getName())) {
+                limitsChanged = true;
+            }
+            
+            Object result;
+            try {
+                result = method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            
+            if (result instanceof ResultSet) {
+                openResultSets.add((ResultSet) result);
+            }
+            return result;
+        }
+        
+        // Return the statement to the cache instead of closing it
+        void closeLogically() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            
+            try {
+                for (ResultSet resultSet : openResultSets) {
+                    resultSet.close();
+                }
+                openResultSets.clear();
+                cached.statement.clearParameters();
+                cached.statement.clearBatch();
+                // The next checkout must not inherit a streaming fetch size or a row limit
+                if (limitsChanged) {
+                    cached.statement.setFetchSize(0);
+                    cached.statement.setMaxRows(0);
+                }
+                cached.handler = null;
+            } catch (SQLException e) {
+                cached.handler = null;
+                discard(cached);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+// File: src/main/java/com/pahanaedu/utils/TtlCache.java
+package com.pahanaedu.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small bounded read-through cache: LRU eviction, per-entry TTL and explicit invalidation.
+ *
+ * Loads run outside the lock. A load that started before an invalidation is not
+ * stored, so a write followed by invalidate() can never be overwritten by an older read.
+ * Null values are not cached.
+ */
+public class TtlCache<K, V> {
+    
+    private final String name;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    
+    // Bumped by every invalidation; loads started under an older generation are discarded
+    private long generation;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+    
+    public TtlCache(String name, int maxEntries, long ttlMillis) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > TtlCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Get a value, loading it on a miss or after it expired
+     * @param key Cache key
+     * @param loader Called outside the lock on a miss; may return null (not cached)
+     * @return Cached or freshly loaded value
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        
+        V value = loader.apply(key);
+        
+        if (value != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * Get a value only if it is cached and fresh (counts as a hit or miss, never loads)
+     * @param key Cache key
+     * @return Value or null
+     */
+    public synchronized V getIfPresent(K key) {
+        return lookup(key);
+    }
+    
+    public synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations++;
+        }
+    }
+    
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+    
+    /**
+     * Get hit/miss/eviction counters
+     * @return CacheStats snapshot
+     */
+    public synchronized CacheStats getStats() {
+        CacheStats stats = new CacheStats();
+        stats.name = name;
+        stats.size = entries.size();
+        stats.maxEntries = maxEntries;
+        stats.ttlSeconds = ttlMillis / 1000;
+        stats.hits = hits;
+        stats.misses = misses;
+        stats.hitRatio = hits + misses > 0 ? hits / (double) (hits + misses) : 0.0;
+        stats.evictions = evictions;
+        stats.expirations = expirations;
+        stats.invalidations = invalidations;
+        return stats;
+    }
+    
+    // Called with the lock held
+    private V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+    
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+        
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    // Cache counters for the admin endpoint
+    public static class CacheStats {
+        public String name;
+        public int size;
+        public int maxEntries;
+        public long ttlSeconds;
+        public long hits;
+        public long misses;
+        public double hitRatio;
+        public long evictions;
+        public long expirations;
+        public long invalidations;
+    }
+}
@@ -549,7 +549,7 @@
             <div class="search-form">
                 <div class="search-group">
                     <label>Search Books</label>
-                    <input type="text" id="searchInput" class="search-input" placeholder="Search by title, author, or reference no..." onkeyup="searchBooks()">
+                    <input type="text" id="searchInput" class="search-input" placeholder="Search by title, author, or any part of a reference no...">
                 </div>
                 <div class="search-group">
                     <label>Category</label>
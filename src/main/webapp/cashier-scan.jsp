@@ -455,7 +455,7 @@
                 </div>
                 
                 <div class="manual-input">
-                    <input type="text" id="manualInput" placeholder="Enter reference number..." maxlength="50">
+                    <input type="text" id="manualInput" placeholder="Enter reference number (separate several with commas)..." maxlength="1000">
                     <button id="searchBtn" class="btn btn-primary">🔍 Search</button>
                 </div>
                 
@@ -12,6 +12,7 @@
         // State management
         state: {
             bills: [],
+            nextCursor: null,
             cashiers: [],
             initialized: false
         },
@@ -69,14 +70,27 @@
                 });
         },
 
+        // Fetch one keyset page of bills (cursor = nextCursor of the previous page)
+        async fetchBillsPage(cursor) {
+            let url = 'admin?action=getBillsPage&limit=100';
+            if (cursor) url += '&cursor=' + encodeURIComponent(cursor);
+            
+            const response = await fetch(url);
+            if (!response.ok) throw new Error('Failed to fetch bills');
+            
+            const page = await response.json();
+            if (!page || !Array.isArray(page.items)) {
+                throw new Error(page && page.message ? page.message : 'Invalid bills response');
+            }
+            return page;
+        },
+
         // Load bills with proper error handling
         async loadBills() {
             try {
-                const response = await fetch('bills?action=getAllBills');
-                if (!response.ok) throw new Error('Failed to fetch bills');
-                
-                const bills = await response.json();
-                this.state.bills = Array.isArray(bills) ? bills : [];
+                const page = await this.fetchBillsPage(null);
+                this.state.bills = page.items;
+                this.state.nextCursor = page.nextCursor || null;
                 this.displayBills();
                 this.updateBillingStats();
                 console.log(`📊 Loaded ${this.state.bills.length} bills`);
@@ -84,12 +98,30 @@
             } catch (error) {
                 console.error('❌ Error loading bills:', error);
                 this.state.bills = [];
+                this.state.nextCursor = null;
                 this.displayBills(); // Show empty state
                 this.updateBillingStats();
                 return [];
             }
         },
 
+        // Append the next page of bills
+        async loadMoreBills() {
+            if (!this.state.nextCursor) return;
+            
+            try {
+                const page = await this.fetchBillsPage(this.state.nextCursor);
+                this.state.bills = this.state.bills.concat(page.items);
+                this.state.nextCursor = page.nextCursor || null;
+                this.displayBills();
+                this.updateBillingStats();
+                console.log(`📊 Loaded ${page.items.length} more bills`);
+            } catch (error) {
+                console.error('❌ Error loading more bills:', error);
+                this.showNotification('Failed to load more bills', 'error');
+            }
+        },
+
         // Display bills in table
         displayBills() {
             const tableBody = document.querySelector('#billsTable tbody');
@@ -148,7 +180,15 @@
                     </td>
                 </tr>
                 `;
-            }).join('');
+            }).join('') + (this.state.nextCursor ? `
+                <tr>
+                    <td colspan="8" style="text-align: center; padding: 15px;">
+                        <button class="btn-secondary" onclick="window.shoppingBilling.loadMoreBills()">
+                            <i class="fas fa-chevron-down"></i> Load more bills
+                        </button>
+                    </td>
+                </tr>
+            ` : '');
         },
 
         // Update billing stats
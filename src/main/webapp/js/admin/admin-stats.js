@@ -14,56 +14,32 @@ window.adminStats = (function() {
     function loadStats() {
         console.log('📊 Loading stats...');
         
-        return Promise.all([
-            window.adminCore.makeApiCall('admin?action=getStats'),
-            window.adminCore.makeApiCall('admin?action=getOutOfStockBooks'),
-            window.adminCore.makeApiCall('admin?action=getLowStockBooks')
-        ])
-        .then(([statsResponse, outOfStockResponse, lowStockResponse]) => {
+        // One aggregate request - the out-of-stock / low-stock counts come back with the stats
+        return window.adminCore.makeApiCall('admin?action=getStats')
+        .then(statsResponse => {
             console.log('📊 Stats response:', statsResponse);
-            console.log('📊 Out of stock response:', outOfStockResponse);
-            console.log('📊 Low stock response:', lowStockResponse);
             
-            // Handle stats response
-            if (statsResponse.totalCustomers !== undefined) {
-                window.adminCore.data.stats = {
-                    totalCustomers: statsResponse.totalCustomers || 0,
-                    totalCashiers: statsResponse.totalCashiers || 0,
-                    totalUsers: statsResponse.totalUsers || 0,
-                    totalBooks: statsResponse.totalBooks || 0,
-                    totalRevenue: 125000,
-                    totalOrders: 48
-                };
-            } else if (statsResponse.success && statsResponse.data) {
-                window.adminCore.data.stats = {
-                    totalCustomers: statsResponse.data.totalCustomers || 0,
-                    totalCashiers: statsResponse.data.totalCashiers || 0,
-                    totalUsers: statsResponse.data.totalUsers || 0,
-                    totalBooks: statsResponse.data.totalBooks || 0,
-                    totalRevenue: 125000,
-                    totalOrders: 48
-                };
-            }
+            const data = statsResponse.totalCustomers !== undefined
+                ? statsResponse
+                : (statsResponse.success && statsResponse.data ? statsResponse.data : {});
             
-            // Handle out of stock books
-            let outOfStockBooks = [];
-            if (Array.isArray(outOfStockResponse)) {
-                outOfStockBooks = outOfStockResponse;
-            } else if (outOfStockResponse.success && Array.isArray(outOfStockResponse.data)) {
-                outOfStockBooks = outOfStockResponse.data;
-            }
-            
-            // Handle low stock books
-            let lowStockBooks = [];
-            if (Array.isArray(lowStockResponse)) {
-                lowStockBooks = lowStockResponse;
-            } else if (lowStockResponse.success && Array.isArray(lowStockResponse.data)) {
-                lowStockBooks = lowStockResponse.data;
-            }
-            
-            // Update inventory stats
-            window.adminCore.data.stats.outOfStockBooks = outOfStockBooks.length;
-            window.adminCore.data.stats.lowStockBooks = lowStockBooks.length;
+            window.adminCore.data.stats = {
+                totalCustomers: data.totalCustomers || 0,
+                totalCashiers: data.totalCashiers || 0,
+                totalUsers: data.totalUsers || 0,
+                totalBooks: data.totalBooks || 0,
+                outOfStockBooks: data.outOfStockBooks || 0,
+                lowStockBooks: data.lowStockBooks || 0,
+                todaySales: parseFloat(data.todaySales || 0),
+                todayBills: data.todayBills || 0,
+                weekSales: parseFloat(data.weekSales || 0),
+                weekBills: data.weekBills || 0,
+                monthSales: parseFloat(data.monthSales || 0),
+                monthBills: data.monthBills || 0,
+                // Revenue / orders cards show the current month
+                totalRevenue: parseFloat(data.monthSales || 0),
+                totalOrders: data.monthBills || 0
+            };
             
             console.log('✅ All stats loaded:', window.adminCore.data.stats);
             updateStats();
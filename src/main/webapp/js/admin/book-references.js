@@ -33,7 +33,7 @@ function initializeSystem() {
 function loadBooksData() {
     console.log('📊 Loading books data...');
     
-    fetch('admin?action=getBooks')
+    fetch('admin?action=getBooks&includeImages=false')
         .then(response => response.json())
         .then(data => {
             console.log('📚 Books data received:', data);
@@ -269,24 +269,74 @@ function generateReferenceNumber(bookId) {
 // SEARCH AND FILTER
 // ==============================================================================
 
+let searchSequence = 0;
+const SEARCH_LIMIT = 200; // Server maximum per search
+
 function searchBooks() {
     const searchInput = document.getElementById('searchInput');
     if (!searchInput) return;
     
-    const searchTerm = searchInput.value.toLowerCase();
+    const searchTerm = searchInput.value.trim();
+    const sequence = ++searchSequence;
+    
+    if (!searchTerm) {
+        applyFilters(null);
+        return;
+    }
+    
+    // Ranked matches come from the server-side search index. The category and stock
+    // filters go with the query so they apply before the server's 200-book limit.
+    const params = new URLSearchParams({ action: 'searchBooks', limit: SEARCH_LIMIT, q: searchTerm });
+    const categoryFilter = document.getElementById('categoryFilter');
+    const stockFilter = document.getElementById('stockFilter');
+    if (categoryFilter && categoryFilter.value) params.set('categoryId', categoryFilter.value);
+    if (stockFilter && stockFilter.value) params.set('stock', stockFilter.value);
+    
+    fetch(`admin?${params}`)
+        .then(response => response.json())
+        .then(data => {
+            if (sequence !== searchSequence) return; // A newer search is in flight
+            
+            if (!data || !Array.isArray(data.books)) {
+                throw new Error(data && data.message ? data.message : 'Invalid search response');
+            }
+            applyFilters(data.books.map(book => book.id));
+            if (data.total > data.books.length) {
+                showNotification(`Showing the best ${data.books.length} of ${data.total} matches - refine the search to see the rest`, 'info');
+            }
+        })
+        .catch(error => {
+            if (sequence !== searchSequence) return;
+            console.error('❌ Search failed, filtering locally:', error);
+            applyFilters(localSearch(searchTerm.toLowerCase()));
+        });
+}
+
+// Substring match on the loaded books (used when the search endpoint is unavailable)
+function localSearch(searchTerm) {
+    return allBooks
+        .filter(book =>
+            book.title.toLowerCase().includes(searchTerm) ||
+            book.author.toLowerCase().includes(searchTerm) ||
+            (book.referenceNo && book.referenceNo.toLowerCase().includes(searchTerm)))
+        .map(book => book.id);
+}
+
+// rankedIds: matching book IDs in relevance order, or null when there is no search text
+function applyFilters(rankedIds) {
     const categoryFilter = document.getElementById('categoryFilter');
     const stockFilter = document.getElementById('stockFilter');
     
     const categoryValue = categoryFilter ? categoryFilter.value : '';
     const stockValue = stockFilter ? stockFilter.value : '';
     
-    filteredBooks = allBooks.filter(book => {
-        // Text search
-        const matchesSearch = !searchTerm || 
-            book.title.toLowerCase().includes(searchTerm) ||
-            book.author.toLowerCase().includes(searchTerm) ||
-            (book.referenceNo && book.referenceNo.toLowerCase().includes(searchTerm));
-        
+    let candidates = allBooks;
+    if (rankedIds) {
+        const booksById = new Map(allBooks.map(book => [book.id, book]));
+        candidates = rankedIds.map(id => booksById.get(id)).filter(book => book);
+    }
+    
+    filteredBooks = candidates.filter(book => {
         // Category filter
         const matchesCategory = !categoryValue || 
             book.categoryId == categoryValue;
@@ -297,7 +347,7 @@ function searchBooks() {
             (stockValue === 'low' && book.stock > 0 && book.stock <= 5) ||
             (stockValue === 'out' && book.stock === 0);
         
-        return matchesSearch && matchesCategory && matchesStock;
+        return matchesCategory && matchesStock;
     });
     
     displayBooks();
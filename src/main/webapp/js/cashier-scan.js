@@ -557,6 +557,14 @@ function searchProduct() {
         return;
     }
     
+    // Several references (e.g. a pasted booklist) are resolved in one request. Only commas,
+    // semicolons and line breaks separate them - a title like "harry potter" stays one search
+    const references = reference.split(/[\r\n,;]+/).map(ref => ref.trim()).filter(ref => ref);
+    if (references.length > 1) {
+        resolveBasket(references);
+        return;
+    }
+    
     console.log('🔍 Searching:', reference);
     showNotification('Searching product...', 'info');
     
@@ -580,6 +588,10 @@ function searchProduct() {
                 currentProduct = data.data;
                 displayProduct(data.data);
                 showNotification('Product found! ✅', 'success');
+            } else if (Array.isArray(data.data) && data.data.some(candidate => candidate.referenceNo)) {
+                currentProduct = null;
+                displaySuggestions(reference, data.data.filter(candidate => candidate.referenceNo));
+                showNotification('Product not found - did you mean one of these?', 'warning');
             } else {
                 currentProduct = null;
                 productInfo.classList.remove('visible');
@@ -598,6 +610,85 @@ function searchProduct() {
         });
 }
 
+// Resolve a whole list of references in one request and add the available books to the bill
+function resolveBasket(references) {
+    console.log('🔍 Resolving basket:', references.length, 'references');
+    showNotification(`Looking up ${references.length} items...`, 'info');
+    
+    const params = new URLSearchParams();
+    params.append('action', 'searchMultiple');
+    references.forEach(ref => params.append('references[]', ref));
+    
+    fetch('productSearch', {
+        method: 'POST',
+        headers: {
+            'Content-Type': 'application/x-www-form-urlencoded',
+        },
+        body: params
+    })
+        .then(response => response.json())
+        .then(data => {
+            console.log('📦 Basket response:', data);
+            
+            if (!data.success || !data.data) {
+                showNotification(data.message || 'Lookup failed ❌', 'error');
+                return;
+            }
+            
+            const result = data.data;
+            const added = result.foundProducts.filter(product => addProductToBill(product)).length;
+            updateBillDisplay();
+            
+            // Leave the unresolved references in the box so they can be fixed one by one
+            manualInput.value = result.notFoundReferences.join(' ');
+            manualInput.focus();
+            productInfo.classList.remove('visible');
+            
+            if (result.notFoundReferences.length > 0) {
+                showNotification(`Added ${added} items, ${result.notFoundReferences.length} not available ⚠️`, 'warning');
+            } else {
+                showNotification(`Added ${added} items to bill! 🛒`, 'success');
+            }
+        })
+        .catch(error => {
+            console.error('❌ Basket lookup error:', error);
+            showNotification('Search failed. Check connection.', 'error');
+        });
+}
+
+// Show "did you mean" candidates for a mistyped reference
+function displaySuggestions(reference, candidates) {
+    productInfo.classList.add('visible');
+    productInfo.innerHTML = `
+        <div style="padding: 10px;">
+            <p style="margin-bottom: 10px;">No product with reference <strong>${escapeHtml(reference)}</strong>. Did you mean:</p>
+            ${candidates.map(candidate => `
+                <button type="button" class="btn btn-primary suggestion-btn" data-reference="${escapeHtml(candidate.referenceNo)}"
+                        style="display: block; width: 100%; margin: 5px 0; text-align: left;">
+                    ${escapeHtml(candidate.referenceNo)} - ${escapeHtml(candidate.title)}
+                    <span style="font-size: 12px; opacity: 0.8;">(${candidate.stock > 0 ? `${candidate.stock} in stock` : 'out of stock'})</span>
+                </button>
+            `).join('')}
+        </div>
+    `;
+    
+    productInfo.querySelectorAll('.suggestion-btn').forEach(button => {
+        button.addEventListener('click', () => {
+            manualInput.value = button.dataset.reference;
+            searchProduct();
+        });
+    });
+}
+
+function escapeHtml(value) {
+    return String(value == null ? '' : value)
+        .replace(/&/g, '&amp;')
+        .replace(/</g, '&lt;')
+        .replace(/>/g, '&gt;')
+        .replace(/"/g, '&quot;')
+        .replace(/'/g, '&#39;');
+}
+
 // Display product information
 function displayProduct(product) {
     const hasOffer = product.offerPrice && product.offerPrice > 0 && product.offerPrice < product.price;
@@ -669,27 +760,9 @@ function addToBill() {
     
     console.log('🛒 Adding to bill:', currentProduct.title);
     
-    // Check if product already exists
-    const existingItem = billItems.find(item => item.id === currentProduct.id);
-    
-    if (existingItem) {
-        if (existingItem.quantity >= currentProduct.stock) {
-            showNotification('Maximum stock reached', 'warning');
-            return;
-        }
-        existingItem.quantity++;
-    } else {
-        const effectivePrice = (currentProduct.offerPrice && currentProduct.offerPrice > 0 && currentProduct.offerPrice < currentProduct.price) 
-            ? currentProduct.offerPrice : currentProduct.price;
-        
-        billItems.push({
-            id: currentProduct.id,
-            title: currentProduct.title,
-            referenceNo: currentProduct.referenceNo,
-            price: parseFloat(effectivePrice),
-            quantity: 1,
-            maxStock: currentProduct.stock
-        });
+    if (!addProductToBill(currentProduct)) {
+        showNotification('Maximum stock reached', 'warning');
+        return;
     }
     
     updateBillDisplay();
@@ -709,6 +782,32 @@ function addToBill() {
     }, 1000);
 }
 
+// Add one unit of a product to the bill items (false if no stock is left)
+function addProductToBill(product) {
+    // Check if product already exists
+    const existingItem = billItems.find(item => item.id === product.id);
+    
+    if (existingItem) {
+        if (existingItem.quantity >= product.stock) {
+            return false;
+        }
+        existingItem.quantity++;
+    } else {
+        const effectivePrice = (product.offerPrice && product.offerPrice > 0 && product.offerPrice < product.price) 
+            ? product.offerPrice : product.price;
+        
+        billItems.push({
+            id: product.id,
+            title: product.title,
+            referenceNo: product.referenceNo,
+            price: parseFloat(effectivePrice),
+            quantity: 1,
+            maxStock: product.stock
+        });
+    }
+    return true;
+}
+
 // Update bill display
 function updateBillDisplay() {
     if (billItems.length === 0) {